@@ -0,0 +1,80 @@
+package br.edu.utfpr.bankapi.audit;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.money.Money;
+
+/**
+ * Registro de uma transação por várias threads ao mesmo tempo: o
+ * {@code System.out.println} usado antes (toString das entidades e a trava do
+ * PrintStream) contra o {@link AuditLog} sobre os loggers assíncronos. Nos
+ * dois casos o console descarta o texto, para medir apenas o custo na thread
+ * da requisição; com o ring buffer cheio o AuditLog descarta eventos em vez de
+ * esperar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AuditLogBenchmark {
+
+    @Param({ "stdout", "audit" })
+    String sink;
+
+    Transaction transaction;
+
+    AuditLog auditLog;
+
+    PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // O console é trocado antes de o Log4j ser iniciado pelo AuditLog
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream(), true));
+        auditLog = new AuditLog(1.0);
+
+        transaction = new Transaction(new Account("Lauro Lima", 12347, Money.ofUnits(1000), 0),
+                new Account("Pedro Pina", 12348, Money.ofUnits(1000), 0), Money.ofUnits(150),
+                TransactionType.TRANSFER);
+        transaction.setId(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LogManager.shutdown();
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public void log() {
+        if (sink.equals("stdout"))
+            System.out.println(transaction);
+        else
+            auditLog.transaction(transaction);
+    }
+}
@@ -0,0 +1,160 @@
+package br.edu.utfpr.bankapi.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.server.WebFilter;
+
+import br.edu.utfpr.bankapi.Application;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import jakarta.servlet.Filter;
+
+/**
+ * Carga de transferências por HTTP, comparando a API servlet com threads de
+ * plataforma (pool do Tomcat), com threads virtuais e a variante reativa
+ * (WebFlux + R2DBC). Mais clientes simultâneos que threads no Tomcat; o JMH
+ * reporta os percentis de latência (p0.99) e, ao fim de cada iteração, é
+ * impresso o máximo de transferências em andamento ao mesmo tempo no
+ * servidor. Usa um H2 em memória (modo PostgreSQL) como banco.
+ *
+ * As threads virtuais exigem Java 21: ./mvnw -Pbenchmark,java21 ...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(512)
+@Fork(1)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+public class TransferLoadBenchmark {
+
+    private static final long FIRST_ACCOUNT = 100_000;
+
+    private static final int ACCOUNTS = 1_000;
+
+    /**
+     * Transferências em andamento no servidor e o máximo observado.
+     */
+    @Configuration
+    static class InFlight {
+
+        static final AtomicInteger current = new AtomicInteger();
+
+        static final AtomicInteger max = new AtomicInteger();
+
+        @Bean
+        FilterRegistrationBean<Filter> inFlightFilter() {
+            var registration = new FilterRegistrationBean<Filter>((request, response, chain) -> {
+                max.accumulateAndGet(current.incrementAndGet(), Math::max);
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    current.decrementAndGet();
+                }
+            });
+            registration.addUrlPatterns("/transaction/transfer");
+            return registration;
+        }
+
+        @Bean
+        WebFilter inFlightWebFilter() {
+            return (exchange, chain) -> {
+                if (!exchange.getRequest().getPath().value().equals("/transaction/transfer"))
+                    return chain.filter(exchange);
+
+                max.accumulateAndGet(current.incrementAndGet(), Math::max);
+                return chain.filter(exchange).doFinally(signal -> current.decrementAndGet());
+            };
+        }
+    }
+
+    @Param({ "platform", "virtual", "reactive" })
+    String stack;
+
+    ConfigurableApplicationContext context;
+
+    HttpClient client;
+
+    URI uri;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(Application.class, InFlight.class)
+                .profiles(stack.equals("reactive") ? new String[] { "reactive" } : new String[0])
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:load;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.sql.init.mode=never",
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + stack.equals("virtual"),
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///load;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "--spring.r2dbc.username=sa",
+                        "--spring.r2dbc.password=",
+                        "--spring.r2dbc.pool.max-size=20");
+
+        var accounts = context.getBean(AccountRepository.class);
+        for (int i = 0; i < ACCOUNTS; i++)
+            accounts.save(new Account("Conta " + i, FIRST_ACCOUNT + i, 0, Money.ofUnits(10_000_000_000L)));
+
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        uri = URI.create("http://localhost:" + port + "/transaction/transfer");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        System.out.println("Máximo de transferências simultâneas no servidor: " + InFlight.max.getAndSet(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int transfer() throws IOException, InterruptedException {
+        var random = ThreadLocalRandom.current();
+        int source = random.nextInt(ACCOUNTS);
+        int receiver = (source + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+        var body = "{\"sourceAccountNumber\":" + (FIRST_ACCOUNT + source)
+                + ",\"receiverAccountNumber\":" + (FIRST_ACCOUNT + receiver) + ",\"amount\":1}";
+
+        var request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,97 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.edu.utfpr.bankapi.mapper.AccountMapper;
+import br.edu.utfpr.bankapi.mapper.TransactionMapper;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Custo da conversão de DTOs em entidades por {@link BeanUtils#copyProperties},
+ * como era feito nos serviços, comparado aos mappers escritos campo a campo, e
+ * da serialização de uma {@link Transaction} em JSON. Para medir também as
+ * alocações por operação, execute com {@code -prof gc}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MappingBenchmark {
+
+    TransferDTO transferDTO = new TransferDTO(12345, 12346, 150);
+
+    AccountDTO accountDTO = new AccountDTO("John Doe", 12345L, 0, 500);
+
+    Transaction transaction;
+
+    // Mesma configuração de datas do ObjectMapper do Spring Boot
+    ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Setup
+    public void setup() {
+        var source = new Account("John Doe", 12345, 1000, 500);
+        source.setId(1);
+        var receiver = new Account("Jane Roe", 12346, 200, 0);
+        receiver.setId(2);
+
+        transaction = new Transaction(source, receiver, 150, TransactionType.TRANSFER);
+        transaction.setId(42);
+    }
+
+    @Benchmark
+    public Transaction copyPropertiesTransfer() {
+        var transaction = new Transaction();
+        transaction.setType(TransactionType.TRANSFER);
+        BeanUtils.copyProperties(transferDTO, transaction);
+        return transaction;
+    }
+
+    @Benchmark
+    public Account copyPropertiesAccount() {
+        var account = new Account();
+        BeanUtils.copyProperties(accountDTO, account);
+        return account;
+    }
+
+    @Benchmark
+    public Transaction mapperTransfer() {
+        return TransactionMapper.toEntity(transferDTO);
+    }
+
+    @Benchmark
+    public Account mapperAccount() {
+        return AccountMapper.toEntity(accountDTO);
+    }
+
+    @Benchmark
+    public byte[] serializeTransaction() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transaction);
+    }
+
+    @Benchmark
+    public byte[] serializeTransactionResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(TransactionMapper.toResponse(transaction));
+    }
+}
@@ -0,0 +1,65 @@
+package br.edu.utfpr.bankapi.idempotency;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.model.Transaction;
+
+/**
+ * Custo da Idempotency-Key no caminho de uma transação: uma chave nova
+ * (execução da operação) e uma repetição (resposta em memória).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IdempotencyStoreBenchmark {
+
+    IdempotencyStore store;
+
+    TransferDTO dto = new TransferDTO(12345, 67890, 100);
+
+    Transaction transaction = new Transaction();
+
+    AtomicLong keys = new AtomicLong();
+
+    @Setup
+    public void setup() throws Exception {
+        store = new IdempotencyStore(Duration.ofHours(1), 10_000_000, false, null, new ObjectMapper());
+        store.execute("repetida", dto, () -> transaction);
+    }
+
+    @Benchmark
+    public Object semChave() throws Exception {
+        return transaction;
+    }
+
+    @Benchmark
+    public Object chaveNova() throws Exception {
+        return store.execute("chave-" + keys.incrementAndGet(), dto, () -> transaction).body();
+    }
+
+    @Benchmark
+    public Object chaveRepetida() throws Exception {
+        return store.execute("repetida", dto, () -> transaction).body();
+    }
+}
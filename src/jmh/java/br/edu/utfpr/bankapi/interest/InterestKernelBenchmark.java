@@ -0,0 +1,70 @@
+package br.edu.utfpr.bankapi.interest;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.edu.utfpr.bankapi.service.InterestCalculator;
+
+/**
+ * Juros de um bloco de 10.000 saldos, em nanossegundos por conta: uma chamada
+ * a {@link InterestCalculator#calcularJurosCentavos} por conta contra os
+ * kernels sobre arrays. O kernel {@code vector} exige o perfil vector
+ * ({@code mvn -Pbenchmark,vector -DskipTests verify}); sem ele, mede o
+ * escalar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(InterestKernelBenchmark.SIZE)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InterestKernelBenchmark {
+
+    static final int SIZE = 10_000;
+
+    @Param({ "calculator", "scalar", "vector" })
+    String kernel;
+
+    long[] balances = new long[SIZE];
+
+    long[] interest = new long[SIZE];
+
+    float taxa = 0.5f;
+
+    double factor = InterestCalculator.fator(taxa, 1);
+
+    InterestKernel implementation;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        for (int i = 0; i < SIZE; i++)
+            balances[i] = random.nextInt(100_000_000);
+        implementation = kernel.equals("vector") ? InterestKernel.create() : new ScalarInterestKernel();
+    }
+
+    @Benchmark
+    public long[] accrue() {
+        if (kernel.equals("calculator")) {
+            for (int i = 0; i < SIZE; i++)
+                interest[i] = InterestCalculator.calcularJurosCentavos(balances[i], taxa, 1);
+        } else {
+            implementation.accrue(balances, interest, SIZE, factor);
+        }
+        return interest;
+    }
+}
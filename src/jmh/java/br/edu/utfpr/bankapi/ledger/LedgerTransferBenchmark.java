@@ -0,0 +1,103 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.edu.utfpr.bankapi.Application;
+import br.edu.utfpr.bankapi.concurrency.OptimisticRetryExecutor;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.service.TransactionService;
+
+/**
+ * Transferências por segundo entre poucas contas "quentes", comparando o
+ * caminho JPA (versão otimista com repetição, ou sempre com travas
+ * pessimistas) com o modo ledger. Usa um H2 em memória como banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class LedgerTransferBenchmark {
+
+    private static final long FIRST_ACCOUNT = 100_000;
+
+    @Param({ "jpa", "jpa-pessimistic", "ledger" })
+    String mode;
+
+    @Param({ "2", "64" })
+    int hotAccounts;
+
+    ConfigurableApplicationContext context;
+
+    TransactionService transactionService;
+
+    OptimisticRetryExecutor retryExecutor;
+
+    LedgerEngine ledgerEngine;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(Application.class)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.sql.init.mode=never",
+                        "--server.port=0",
+                        "--bankapi.ledger.enabled=" + mode.equals("ledger"),
+                        "--bankapi.concurrency.mode=" + (mode.equals("jpa-pessimistic") ? "PESSIMISTIC" : "OPTIMISTIC"));
+
+        var accounts = context.getBean(AccountRepository.class);
+        for (int i = 0; i < hotAccounts; i++)
+            accounts.save(new Account("Conta " + i, FIRST_ACCOUNT + i, 0, Money.ofUnits(10_000_000_000L)));
+
+        transactionService = context.getBean(TransactionService.class);
+        retryExecutor = context.getBean(OptimisticRetryExecutor.class);
+        ledgerEngine = mode.equals("ledger") ? context.getBean(LedgerEngine.class) : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Transaction transfer() throws Exception {
+        var random = ThreadLocalRandom.current();
+        int source = random.nextInt(hotAccounts);
+        int receiver = (source + 1 + random.nextInt(hotAccounts - 1)) % hotAccounts;
+        var dto = new TransferDTO(FIRST_ACCOUNT + source, FIRST_ACCOUNT + receiver, 1);
+
+        return ledgerEngine != null
+                ? ledgerEngine.transfer(dto)
+                : retryExecutor.execute(lock -> transactionService.transfer(dto, lock),
+                        dto.sourceAccountNumber(), dto.receiverAccountNumber());
+    }
+}
@@ -0,0 +1,81 @@
+package br.edu.utfpr.bankapi.money;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validação de saldo, débito e crédito de uma transferência (ida e volta entre
+ * duas contas) com {@code double}, {@link BigDecimal} e centavos em
+ * {@code long} via {@link Money}. Execute com {@code -prof gc} para comparar as
+ * alocações.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MoneyBenchmark {
+
+    double doubleSource = 1_000.00, doubleReceiver = 200.00, doubleLimit = 500.00, doubleAmount = 150.25;
+
+    BigDecimal decimalSource = new BigDecimal("1000.00"), decimalReceiver = new BigDecimal("200.00"),
+            decimalLimit = new BigDecimal("500.00"), decimalAmount = new BigDecimal("150.25");
+
+    long moneySource = 100_000, moneyReceiver = 20_000, moneyLimit = 50_000, moneyAmount = 15_025;
+
+    @Benchmark
+    public double doubleTransfer() {
+        if (doubleSource + doubleLimit < doubleAmount)
+            throw new IllegalStateException();
+        doubleSource -= doubleAmount;
+        doubleReceiver += doubleAmount;
+
+        if (doubleReceiver + doubleLimit < doubleAmount)
+            throw new IllegalStateException();
+        doubleReceiver -= doubleAmount;
+        doubleSource += doubleAmount;
+
+        return doubleSource;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTransfer() {
+        if (decimalSource.add(decimalLimit).compareTo(decimalAmount) < 0)
+            throw new IllegalStateException();
+        decimalSource = decimalSource.subtract(decimalAmount);
+        decimalReceiver = decimalReceiver.add(decimalAmount);
+
+        if (decimalReceiver.add(decimalLimit).compareTo(decimalAmount) < 0)
+            throw new IllegalStateException();
+        decimalReceiver = decimalReceiver.subtract(decimalAmount);
+        decimalSource = decimalSource.add(decimalAmount);
+
+        return decimalSource;
+    }
+
+    @Benchmark
+    public long moneyTransfer() {
+        if (Money.add(moneySource, moneyLimit) < moneyAmount)
+            throw new IllegalStateException();
+        moneySource = Money.subtract(moneySource, moneyAmount);
+        moneyReceiver = Money.add(moneyReceiver, moneyAmount);
+
+        if (Money.add(moneyReceiver, moneyLimit) < moneyAmount)
+            throw new IllegalStateException();
+        moneyReceiver = Money.subtract(moneyReceiver, moneyAmount);
+        moneySource = Money.add(moneySource, moneyAmount);
+
+        return moneySource;
+    }
+}
@@ -0,0 +1,79 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+/**
+ * Repositórios em memória para os benchmarks dos serviços, implementando
+ * apenas os métodos usados nos caminhos medidos. Sem banco, o benchmark mede o
+ * custo da própria aplicação: validações, mapeamento e regras de negócio.
+ */
+final class InMemoryRepositories {
+
+    private final Map<Long, Account> accountsById = new ConcurrentHashMap<>();
+
+    private final Map<Long, Account> accountsByNumber = new ConcurrentHashMap<>();
+
+    private final AtomicLong ids = new AtomicLong();
+
+    final AccountRepository accountRepository = (AccountRepository) Proxy.newProxyInstance(
+            AccountRepository.class.getClassLoader(), new Class<?>[] { AccountRepository.class },
+            (proxy, method, args) -> switch (method.getName()) {
+                case "save" -> add((Account) args[0]);
+                case "getByNumber" -> Optional.ofNullable(accountsByNumber.get((Long) args[0]));
+                case "findById" -> Optional.ofNullable(accountsById.get((Long) args[0]));
+                case "getReferenceById" -> accountsById.get((Long) args[0]);
+                case "findByNumberIn" -> {
+                    var found = new ArrayList<Account>();
+                    for (var number : (Collection<?>) args[0]) {
+                        var account = accountsByNumber.get((Long) number);
+                        if (account != null)
+                            found.add(account);
+                    }
+                    yield found;
+                }
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "InMemoryAccountRepository";
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+
+    final TransactionRepository transactionRepository = (TransactionRepository) Proxy.newProxyInstance(
+            TransactionRepository.class.getClassLoader(), new Class<?>[] { TransactionRepository.class },
+            (proxy, method, args) -> switch (method.getName()) {
+                // As transações não são guardadas, evitando que a memória cresça
+                // durante a medição
+                case "save" -> {
+                    ((Transaction) args[0]).setId(ids.incrementAndGet());
+                    yield args[0];
+                }
+                case "saveAll" -> {
+                    for (var transaction : (Iterable<?>) args[0])
+                        ((Transaction) transaction).setId(ids.incrementAndGet());
+                    yield args[0];
+                }
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "InMemoryTransactionRepository";
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+
+    private Account add(Account account) {
+        if (account.getId() == 0)
+            account.setId(ids.incrementAndGet());
+
+        accountsById.put(account.getId(), account);
+        accountsByNumber.put(account.getNumber(), account);
+        return account;
+    }
+}
@@ -0,0 +1,100 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo de {@link InterestCalculator#calcularJuros} para prazos curtos e longos,
+ * sobre {@code double} e sobre centavos.
+ *
+ * {@code calcularJurosOriginal} é a implementação anterior ao cache de fatores
+ * e ao arredondamento sem alocação ({@code Math.pow} e {@code BigDecimal} a
+ * cada chamada). O setup falha se o resultado atual de algum dos valores
+ * medidos não for idêntico, bit a bit, ao dela.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InterestCalculatorBenchmark {
+
+    static final int BATCH = 1024;
+
+    @Param({ "12", "360" })
+    int prazo;
+
+    double valor = 15_432.87;
+
+    long valorCentavos = 1_543_287;
+
+    float taxa = 1.25f;
+
+    double[] valores = new double[BATCH];
+
+    double[] juros = new double[BATCH];
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        for (int i = 0; i < BATCH; i++)
+            valores[i] = random.nextInt(10_000_000) / 100.0;
+
+        InterestCalculator.calcularJuros(valores, taxa, prazo, juros);
+        for (int i = 0; i < BATCH; i++) {
+            double esperado = calcularJurosOriginal(valores[i], taxa, prazo);
+            if (Double.doubleToRawLongBits(juros[i]) != Double.doubleToRawLongBits(esperado)
+                    || Double.doubleToRawLongBits(InterestCalculator.calcularJuros(valores[i], taxa, prazo))
+                            != Double.doubleToRawLongBits(esperado))
+                throw new IllegalStateException("Resultado diferente para " + valores[i] + ": " + juros[i]
+                        + " != " + esperado);
+        }
+    }
+
+    @Benchmark
+    public double calcularJuros() {
+        return InterestCalculator.calcularJuros(valor, taxa, prazo);
+    }
+
+    @Benchmark
+    public double calcularJurosOriginal() {
+        return calcularJurosOriginal(valor, taxa, prazo);
+    }
+
+    @Benchmark
+    public long calcularJurosCentavos() {
+        return InterestCalculator.calcularJurosCentavos(valorCentavos, taxa, prazo);
+    }
+
+    /**
+     * Tempo por valor de um lote de {@value #BATCH}.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double[] calcularJurosLote() {
+        InterestCalculator.calcularJuros(valores, taxa, prazo, juros);
+        return juros;
+    }
+
+    private static double calcularJurosOriginal(double valor, float taxa, int prazo) {
+        float taxaDecimal = taxa / 100;
+        double juros = valor * Math.pow(1 + taxaDecimal, prazo) - valor;
+        return new BigDecimal(juros).setScale(2, RoundingMode.HALF_EVEN).doubleValue();
+    }
+}
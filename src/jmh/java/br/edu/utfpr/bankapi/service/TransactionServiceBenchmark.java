@@ -0,0 +1,103 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.edu.utfpr.bankapi.audit.AuditLog;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Custo de uma transferência, depósito e saque no {@link TransactionService},
+ * com repositórios em memória.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TransactionServiceBenchmark {
+
+    private static final long FIRST_ACCOUNT = 100_000;
+
+    @Param({ "1000" })
+    int accounts;
+
+    TransactionService service;
+
+    PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var repositories = new InMemoryRepositories();
+        for (int i = 0; i < accounts; i++)
+            repositories.accountRepository.save(
+                    new Account("Conta " + i, FIRST_ACCOUNT + i, 0, Money.ofUnits(10_000_000_000L)));
+
+        var accountValidation = new AvailableAccountValidation();
+        ReflectionTestUtils.setField(accountValidation, "accountRepository", repositories.accountRepository);
+
+        service = new TransactionService();
+        ReflectionTestUtils.setField(service, "transactionRepository", repositories.transactionRepository);
+        ReflectionTestUtils.setField(service, "accountRepository", repositories.accountRepository);
+        ReflectionTestUtils.setField(service, "availableAccountValidation", accountValidation);
+        ReflectionTestUtils.setField(service, "availableBalanceValidation", new AvailableBalanceValidation());
+        ReflectionTestUtils.setField(service, "transactionMetrics", new TransactionMetrics(new SimpleMeterRegistry()));
+
+        // O log de auditoria escreve no console; a publicação dos eventos
+        // continua sendo medida, mas a escrita não polui a saída do JMH. O
+        // console é trocado antes de o Log4j ser iniciado pelo AuditLog
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        ReflectionTestUtils.setField(service, "auditLog", new AuditLog(1.0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public Transaction transfer() throws NotFoundException {
+        var random = ThreadLocalRandom.current();
+        return service.transfer(new TransferDTO(FIRST_ACCOUNT + random.nextInt(accounts),
+                FIRST_ACCOUNT + random.nextInt(accounts), 1));
+    }
+
+    @Benchmark
+    public Transaction deposit() throws NotFoundException {
+        return service.deposit(new DepositDTO(FIRST_ACCOUNT + ThreadLocalRandom.current().nextInt(accounts), 1));
+    }
+
+    @Benchmark
+    public Transaction withdraw() throws NotFoundException {
+        return service.withdraw(new WithdrawDTO(FIRST_ACCOUNT + ThreadLocalRandom.current().nextInt(accounts), 1));
+    }
+}
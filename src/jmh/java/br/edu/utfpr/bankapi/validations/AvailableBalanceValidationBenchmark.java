@@ -0,0 +1,60 @@
+package br.edu.utfpr.bankapi.validations;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Custo de {@link AvailableBalanceValidation#validate} com saldo suficiente e
+ * sem saldo (quando a exceção é criada).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AvailableBalanceValidationBenchmark {
+
+    AvailableBalanceValidation validation = new AvailableBalanceValidation();
+
+    Transaction comSaldo;
+
+    Transaction semSaldo;
+
+    @Setup
+    public void setup() {
+        var account = new Account("John Doe", 12345, 1000, 500);
+        comSaldo = new Transaction(account, null, 500, TransactionType.WITHDRAW);
+        semSaldo = new Transaction(account, null, 1600, TransactionType.WITHDRAW);
+    }
+
+    @Benchmark
+    public void comSaldo() {
+        validation.validate(comSaldo);
+    }
+
+    @Benchmark
+    public Object semSaldo() {
+        try {
+            validation.validate(semSaldo);
+            return null;
+        } catch (WithoutBalanceException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package br.edu.utfpr.bankapi.audit;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.StringMapMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+
+/**
+ * Registro das transações e alterações de contas no logger
+ * {@code bankapi.audit}.
+ *
+ * Cada evento é uma mensagem de campos (chave e valor) com apenas os dados
+ * necessários, copiados no momento da chamada: nenhuma entidade é passada ao
+ * log nem convertida em texto na thread da requisição. A formatação em JSON é
+ * feita pela thread dos loggers assíncronos (ver log4j2.xml). Dentro de uma
+ * transação o evento só é registrado depois do commit; se ela for desfeita,
+ * nada é registrado. Com
+ * bankapi.audit.sample-rate abaixo de 1 apenas essa fração dos eventos é
+ * registrada.
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger log = LogManager.getLogger("bankapi.audit");
+
+    private final double sampleRate;
+
+    public AuditLog(@Value("${bankapi.audit.sample-rate:1.0}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public void transaction(Transaction transaction) {
+        if (!enabled())
+            return;
+
+        var message = new StringMapMessage(6)
+                .with("event", "transaction")
+                .with("type", transaction.getType().name())
+                .with("id", transaction.getId())
+                .with("amountCents", transaction.getAmount());
+        if (transaction.getSourceAccount() != null)
+            message.with("sourceAccount", transaction.getSourceAccount().getNumber());
+        if (transaction.getReceiverAccount() != null)
+            message.with("receiverAccount", transaction.getReceiverAccount().getNumber());
+        write(message);
+    }
+
+    /**
+     * @param action operação realizada na conta (create, update)
+     */
+    public void account(String action, Account account) {
+        if (!enabled())
+            return;
+
+        write(new StringMapMessage(4)
+                .with("event", "account")
+                .with("action", action)
+                .with("id", account.getId())
+                .with("number", account.getNumber()));
+    }
+
+    private void write(Message message) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            log.info(message);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                log.info(message);
+            }
+        });
+    }
+
+    private boolean enabled() {
+        return log.isInfoEnabled()
+                && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
@@ -0,0 +1,99 @@
+package br.edu.utfpr.bankapi.concurrency;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.edu.utfpr.bankapi.dto.AccountContentionDTO;
+
+/**
+ * Tentativas e conflitos de concorrência otimista por conta.
+ *
+ * As contagens valem por uma janela de {@code bankapi.concurrency.window}: a
+ * entrada da conta expira ao fim da janela e a contagem recomeça. Uma conta é
+ * considerada "quente" quando, com ao menos {@code min-samples} tentativas na
+ * janela, a taxa de conflitos passa de {@code pessimistic-threshold}; suas
+ * operações passam então a usar travas pessimistas até a janela expirar.
+ */
+@Component
+public class AccountContention {
+
+    private static final class Stats {
+        final LongAdder attempts = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+
+        double conflictRate() {
+            long total = attempts.sum();
+            return total == 0 ? 0 : (double) conflicts.sum() / total;
+        }
+    }
+
+    private final Cache<Long, Stats> stats;
+
+    private final double threshold;
+
+    private final long minSamples;
+
+    @Autowired
+    public AccountContention(@Value("${bankapi.concurrency.window:1m}") Duration window,
+            @Value("${bankapi.concurrency.maximum-size:10000}") long maximumSize,
+            @Value("${bankapi.concurrency.pessimistic-threshold:0.3}") double threshold,
+            @Value("${bankapi.concurrency.min-samples:20}") long minSamples) {
+        this.stats = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(window)
+                .build();
+        this.threshold = threshold;
+        this.minSamples = minSamples;
+    }
+
+    /**
+     * Registra uma tentativa otimista envolvendo as contas.
+     *
+     * @param conflict se a tentativa falhou por conflito de versão
+     */
+    public void record(boolean conflict, long... numbers) {
+        for (long number : numbers) {
+            var entry = stats.get(number, key -> new Stats());
+            entry.attempts.increment();
+            if (conflict)
+                entry.conflicts.increment();
+        }
+    }
+
+    /**
+     * @return se alguma das contas passou do limite de conflitos na janela
+     */
+    public boolean isHot(long... numbers) {
+        for (long number : numbers) {
+            if (isHot(stats.getIfPresent(number)))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * As contas com mais conflitos na janela corrente.
+     */
+    public List<AccountContentionDTO> top(int limit) {
+        return stats.asMap().entrySet().stream()
+                .filter(e -> e.getValue().conflicts.sum() > 0)
+                .map(e -> new AccountContentionDTO(e.getKey(), e.getValue().attempts.sum(),
+                        e.getValue().conflicts.sum(), e.getValue().conflictRate(), isHot(e.getValue())))
+                .sorted(Comparator.comparingLong(AccountContentionDTO::conflicts).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private boolean isHot(Stats entry) {
+        return entry != null && entry.attempts.sum() >= minSamples && entry.conflictRate() > threshold;
+    }
+}
@@ -0,0 +1,30 @@
+package br.edu.utfpr.bankapi.concurrency;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.dto.AccountContentionDTO;
+
+/**
+ * Expõe em /actuator/contention as contas com mais conflitos de versão.
+ */
+@Component
+@Endpoint(id = "contention")
+public class ContentionEndpoint {
+
+    private static final int LIMIT = 50;
+
+    private final AccountContention contention;
+
+    public ContentionEndpoint(AccountContention contention) {
+        this.contention = contention;
+    }
+
+    @ReadOperation
+    public List<AccountContentionDTO> contention() {
+        return contention.top(LIMIT);
+    }
+}
@@ -0,0 +1,138 @@
+package br.edu.utfpr.bankapi.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Repetição das operações que falham por conflito de concorrência.
+ *
+ * {@code Account} tem coluna de versão: duas transações que alteram a mesma
+ * conta ao mesmo tempo não perdem atualizações, mas a segunda a gravar falha
+ * no commit. A operação é então repetida (numa nova transação) até
+ * {@code bankapi.concurrency.max-attempts} vezes, com espera exponencial e
+ * aleatória entre as tentativas. Esgotadas as tentativas, ou quando alguma das
+ * contas está com taxa de conflitos acima do limite ({@link AccountContention}),
+ * a operação é executada com travas pessimistas.
+ *
+ * Deve envolver a transação, nunca ser chamado dentro dela.
+ */
+@Component
+public class OptimisticRetryExecutor {
+
+    public enum Mode {
+        /** Versão otimista, com repetição e troca para travas nas contas quentes */
+        OPTIMISTIC,
+        /** Sempre com travas pessimistas (SELECT ... FOR UPDATE) */
+        PESSIMISTIC
+    }
+
+    /**
+     * Operação transacional a executar.
+     */
+    @FunctionalInterface
+    public interface Operation<T> {
+        /**
+         * @param lock se as contas devem ser lidas com trava pessimista
+         */
+        T call(boolean lock) throws Exception;
+    }
+
+    private final AccountContention contention;
+
+    private final Mode mode;
+
+    private final int maxAttempts;
+
+    private final long backoffNanos;
+
+    private final long maxBackoffNanos;
+
+    private final Counter conflicts;
+
+    private final Counter exhausted;
+
+    private final Counter hot;
+
+    public OptimisticRetryExecutor(AccountContention contention, MeterRegistry registry,
+            @Value("${bankapi.concurrency.mode:OPTIMISTIC}") Mode mode,
+            @Value("${bankapi.concurrency.max-attempts:5}") int maxAttempts,
+            @Value("${bankapi.concurrency.backoff:5ms}") Duration backoff,
+            @Value("${bankapi.concurrency.max-backoff:200ms}") Duration maxBackoff) {
+        this.contention = contention;
+        this.mode = mode;
+        this.maxAttempts = maxAttempts;
+        this.backoffNanos = backoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.conflicts = Counter.builder("bankapi.concurrency.conflicts")
+                .description("Tentativas que falharam por conflito de versão")
+                .register(registry);
+        this.exhausted = Counter.builder("bankapi.concurrency.fallback")
+                .description("Operações executadas com travas após esgotar as tentativas")
+                .tag("reason", "exhausted")
+                .register(registry);
+        this.hot = Counter.builder("bankapi.concurrency.fallback")
+                .description("Operações executadas com travas por envolverem contas quentes")
+                .tag("reason", "hot")
+                .register(registry);
+    }
+
+    /**
+     * Executa a operação, repetindo-a em caso de conflito.
+     *
+     * @param operation operação transacional
+     * @param accounts  números das contas alteradas pela operação
+     * @return o resultado da operação
+     * @throws Exception a exceção lançada pela operação
+     */
+    public <T> T execute(Operation<T> operation, long... accounts) throws Exception {
+        boolean lock = mode == Mode.PESSIMISTIC;
+        if (!lock && contention.isHot(accounts)) {
+            hot.increment();
+            lock = true;
+        }
+
+        for (int attempt = 1;; attempt++) {
+            try {
+                var result = operation.call(lock);
+                if (!lock)
+                    contention.record(false, accounts);
+                return result;
+            } catch (ConcurrencyFailureException e) {
+                conflicts.increment();
+
+                // Com as contas travadas o conflito não vem da versão: não há o
+                // que repetir
+                if (lock)
+                    throw e;
+
+                contention.record(true, accounts);
+
+                if (attempt >= maxAttempts) {
+                    // Última tentativa, com travas
+                    exhausted.increment();
+                    lock = true;
+                } else {
+                    pause(attempt);
+                }
+            }
+        }
+    }
+
+    /**
+     * Espera exponencial com jitter completo: um tempo aleatório entre zero e
+     * {@code backoff * 2^(attempt - 1)}, limitado a {@code max-backoff}.
+     */
+    private void pause(int attempt) throws InterruptedException {
+        long ceiling = Math.min(maxBackoffNanos, backoffNanos << Math.min(attempt - 1, 20));
+        if (ceiling > 0)
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+}
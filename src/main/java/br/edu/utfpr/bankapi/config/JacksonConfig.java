@@ -0,0 +1,19 @@
+package br.edu.utfpr.bankapi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Serializa proxies do Hibernate (contas obtidas por referência) pelo seu
+     * conteúdo, sem tentar carregar associações fora de uma transação.
+     */
+    @Bean
+    public Hibernate6Module hibernate6Module() {
+        return new Hibernate6Module();
+    }
+}
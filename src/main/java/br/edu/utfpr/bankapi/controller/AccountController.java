@@ -1,9 +1,20 @@
 package br.edu.utfpr.bankapi.controller;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,39 +22,84 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.AccountResponseDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
-import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.importer.AccountImportReader;
+import br.edu.utfpr.bankapi.importer.AccountImporter;
+import br.edu.utfpr.bankapi.mapper.AccountMapper;
 import br.edu.utfpr.bankapi.service.AccountService;
+import br.edu.utfpr.bankapi.service.TransactionService;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/account")
 public class AccountController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     /**
      * Injeta o serviço para atuar com a Conta.
      */
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private TransactionService transactionService;
+
+    /**
+     * Shard de cada conta; sem bankapi.sharding.urls há um único shard.
+     */
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private AccountImporter accountImporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<Object> create(@RequestBody @Valid AccountDTO dto) {
         try {
-            var res = accountService.save(dto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(res);
+            var res = shardRouter.route(dto.number(), () -> accountService.save(dto));
+            return ResponseEntity.status(HttpStatus.CREATED).body(AccountMapper.toResponse(res));
         } catch (Exception exception) {
             return ResponseEntity.badRequest().body(exception.getMessage());
         }
     }
 
+    /**
+     * Com shards o número só pode ser trocado por outro do mesmo shard; caso
+     * contrário a resposta é 400. Como o id não indica o shard, a conta é
+     * procurada antes em todos eles.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<Object> update(@PathVariable("id") long id, @RequestBody @Valid AccountDTO dto) {
         try {
-            var res = accountService.update(id, dto);
-            return ResponseEntity.ok(res);
+            if (shardRouter.shards() > 1) {
+                var current = shardRouter.each(() -> accountService.getById(id)).stream()
+                        .flatMap(Optional::stream)
+                        .findFirst()
+                        .orElseThrow(NotFoundException::new);
+                if (!shardRouter.sameShard(current.getNumber(), dto.number()))
+                    return ResponseEntity.badRequest()
+                            .body("O número da conta só pode ser alterado para outro do mesmo shard");
+            }
+
+            var res = shardRouter.route(dto.number(), () -> accountService.update(id, dto));
+            return ResponseEntity.ok(AccountMapper.toResponse(res));
         } catch (NotFoundException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
         } catch (Exception ex) {
@@ -51,18 +107,127 @@ public class AccountController {
         }
     }
 
+    /**
+     * Importa contas de um arquivo CSV ou NDJSON enviado no corpo da requisição.
+     * A resposta é um NDJSON com as linhas recusadas e o andamento, escrito
+     * enquanto o arquivo é lido.
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson" })
+    public void importAccounts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        var contentType = MediaType.parseMediaType(request.getContentType());
+        var format = contentType.isCompatibleWith(TEXT_CSV)
+                ? AccountImportReader.Format.CSV
+                : AccountImportReader.Format.NDJSON;
+        var charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        var out = response.getWriter();
+
+        try {
+            accountImporter.importAccounts(new InputStreamReader(request.getInputStream(), charset), format,
+                    event -> {
+                        try {
+                            out.write(objectMapper.writeValueAsString(event));
+                            out.write('\n');
+                            if (event.line() == null)
+                                out.flush();
+                        } catch (JsonProcessingException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IllegalArgumentException ex) {
+            // Cabeçalho inválido: nada foi escrito ainda
+            if (response.isCommitted())
+                throw ex;
+
+            response.reset();
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write(ex.getMessage());
+        }
+    }
+
     @GetMapping
-    public List<Account> getAll() {
-        return accountService.getAll();
+    public List<AccountResponseDTO> getAll() {
+        var accounts = new ArrayList<AccountResponseDTO>();
+        for (var shard : shardRouter.each(accountService::getAll))
+            accounts.addAll(AccountMapper.toResponse(shard));
+        return accounts;
+    }
+
+    /**
+     * Lista as contas em páginas, usando o cursor devolvido pela página anterior.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<Object> getPage(@RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "100") int size) {
+        if (size < 1 || size > 1000)
+            return ResponseEntity.badRequest().body("size deve estar entre 1 e 1000");
+
+        try {
+            var pages = shardRouter.each(() -> accountService.getPage(cursor, size));
+            return ResponseEntity.ok(AccountMapper.toResponse(accountService.merge(pages, size)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * Lista todas as contas em NDJSON (uma conta por linha), escrevendo cada
+     * linha à medida que é lida do banco.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        StreamingResponseBody body = out -> shardRouter.each(() -> {
+            accountService.streamAll(account -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(AccountMapper.toResponse(account)));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return null;
+        });
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{number}")
     public ResponseEntity<Object> getByNumber(@PathVariable("number") long number) {
-        var res = accountService.getByNumber(number);
+        var res = shardRouter.route(number, () -> accountService.getByNumber(number));
 
         return res.isPresent()
-                ? ResponseEntity.ok(res.get())
+                ? ResponseEntity.ok(AccountMapper.toResponse(res.get()))
                 : ResponseEntity.notFound().build();
     }
 
+    /**
+     * Extrato da conta no intervalo [from, to). Sem datas, retorna os últimos 30
+     * dias.
+     */
+    @GetMapping("/{number}/transactions")
+    public ResponseEntity<Object> getStatement(@PathVariable("number") long number,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "100") int size) {
+        if (size < 1 || size > 1000)
+            return ResponseEntity.badRequest().body("size deve estar entre 1 e 1000");
+
+        var end = to != null ? to : LocalDateTime.now();
+        var start = from != null ? from : end.minusDays(30);
+
+        try {
+            return ResponseEntity.ok(shardRouter.route(number,
+                    () -> transactionService.statement(number, start, end, cursor, size)));
+        } catch (NotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
 }
@@ -0,0 +1,79 @@
+package br.edu.utfpr.bankapi.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.utfpr.bankapi.dto.LoanDTO;
+import br.edu.utfpr.bankapi.dto.LoanSimulationsDTO;
+import br.edu.utfpr.bankapi.dto.LoanSummaryDTO;
+import br.edu.utfpr.bankapi.loan.LoanSimulator;
+import jakarta.validation.Valid;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/loan")
+public class LoanController {
+
+    @Autowired
+    private LoanSimulator loanSimulator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Tabela de parcelas do empréstimo em NDJSON (uma parcela por linha),
+     * escrita à medida que cada parcela é calculada.
+     */
+    @PostMapping(value = "/schedule", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> schedule(@RequestBody @Valid LoanDTO dto) {
+        StreamingResponseBody body = out -> loanSimulator.schedule(dto).forEach(installment -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(installment));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Resumo de cada simulação em NDJSON, na ordem recebida. As simulações são
+     * calculadas em paralelo.
+     */
+    @PostMapping(value = "/simulations", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> simulations(@RequestBody @Valid LoanSimulationsDTO dto)
+            throws InterruptedException {
+        List<LoanSummaryDTO> summaries;
+        try {
+            summaries = loanSimulator.summarize(dto.loans());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(out -> out.write(ex.getMessage().getBytes(StandardCharsets.UTF_8)));
+        }
+
+        StreamingResponseBody body = out -> {
+            for (var summary : summaries) {
+                out.write(objectMapper.writeValueAsBytes(summary));
+                out.write('\n');
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
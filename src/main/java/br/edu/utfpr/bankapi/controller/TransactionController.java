@@ -1,53 +1,228 @@
 package br.edu.utfpr.bankapi.controller;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.Callable;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.edu.utfpr.bankapi.concurrency.OptimisticRetryExecutor;
 import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.dto.TransferBatchDTO;
+import br.edu.utfpr.bankapi.dto.TransferBatchItemDTO;
+import br.edu.utfpr.bankapi.dto.TransferBatchMode;
+import br.edu.utfpr.bankapi.dto.TransferBatchResultDTO;
 import br.edu.utfpr.bankapi.dto.TransferDTO;
 import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.IdempotencyKeyInProgressException;
+import br.edu.utfpr.bankapi.exception.IdempotencyKeyReuseException;
+import br.edu.utfpr.bankapi.groupcommit.GroupCommitPipeline;
+import br.edu.utfpr.bankapi.idempotency.IdempotencyStore;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
+import br.edu.utfpr.bankapi.mapper.TransactionMapper;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics;
+import br.edu.utfpr.bankapi.model.IdempotencyRecord;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
 import br.edu.utfpr.bankapi.service.TransactionService;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+import br.edu.utfpr.bankapi.shard.ShardTransfers;
 import jakarta.validation.Valid;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/transaction")
 public class TransactionController {
 
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    private TransactionMetrics transactionMetrics;
+
+    /**
+     * Shard de cada conta; sem bankapi.sharding.urls há um único shard.
+     */
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardTransfers shardTransfers;
+
+    /**
+     * Motor em memória, presente apenas com bankapi.ledger.enabled=true.
+     */
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    /**
+     * Group commit, presente apenas com bankapi.group-commit.enabled=true.
+     */
+    @Autowired(required = false)
+    private GroupCommitPipeline groupCommit;
+
+    @Value("${bankapi.transfer-batch.mode:ATOMIC}")
+    private TransferBatchMode defaultBatchMode;
+
+    @Value("${bankapi.transfer-batch.max-size:10000}")
+    private int maxBatchSize;
+
     @PostMapping("/transfer")
-    public ResponseEntity<Object> transfer(@RequestBody @Valid TransferDTO dto) {
-        try {
-            var res = transactionService.transfer(dto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(res);
-        } catch (Exception exception) {
-            return ResponseEntity.badRequest().body(exception.getMessage());
-        }
+    public ResponseEntity<Object> transfer(@RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key,
+            @RequestBody @Valid TransferDTO dto) {
+        return execute(key, dto, TransactionType.TRANSFER, () -> transfer(dto));
     }
 
     @PostMapping("/deposit")
-    public ResponseEntity<Object> deposit(@RequestBody @Valid DepositDTO dto) {
-        try {
-            var res = transactionService.deposit(dto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(res);
-        } catch (Exception exception) {
-            return ResponseEntity.badRequest().body(exception.getMessage());
-        }
+    public ResponseEntity<Object> deposit(@RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key,
+            @RequestBody @Valid DepositDTO dto) {
+        return execute(key, dto, TransactionType.DEPOSIT, () -> ledgerEngine != null
+                ? ledgerEngine.deposit(dto)
+                : retryExecutor.execute(lock -> shardRouter.route(dto.receiverAccountNumber(),
+                        () -> commit(() -> transactionService.deposit(dto, lock))), dto.receiverAccountNumber()));
     }
 
     @PostMapping("/withdraw")
-    public ResponseEntity<Object> withdraw(@RequestBody @Valid WithdrawDTO dto) {
+    public ResponseEntity<Object> withdraw(@RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key,
+            @RequestBody @Valid WithdrawDTO dto) {
+        return execute(key, dto, TransactionType.WITHDRAW, () -> ledgerEngine != null
+                ? ledgerEngine.withdraw(dto)
+                : retryExecutor.execute(lock -> shardRouter.route(dto.sourceAccountNumber(),
+                        () -> commit(() -> transactionService.withdraw(dto, lock))), dto.sourceAccountNumber()));
+    }
+
+    /**
+     * Lote de transferências numa única transação, repetido pelo
+     * {@link OptimisticRetryExecutor} em caso de conflito de versão. No modo
+     * ledger, ou com contas em shards diferentes, apenas o modo BEST_EFFORT é
+     * aceito, aplicando as transferências uma a uma.
+     */
+    @PostMapping("/transfer/batch")
+    public ResponseEntity<Object> transferBatch(@RequestBody @Valid TransferBatchDTO dto) {
+        var mode = dto.mode() != null ? dto.mode() : defaultBatchMode;
+
+        if (dto.transfers().size() > maxBatchSize)
+            return ResponseEntity.badRequest().body("O lote deve ter no máximo " + maxBatchSize + " transferências");
+
+        if (ledgerEngine == null) {
+            var numbers = new HashSet<Long>();
+            for (var transfer : dto.transfers()) {
+                numbers.add(transfer.sourceAccountNumber());
+                numbers.add(transfer.receiverAccountNumber());
+            }
+
+            int shard = shardRouter.shardOf(numbers);
+            if (shard >= 0) {
+                try {
+                    var result = retryExecutor.execute(lock -> shardRouter.on(shard,
+                            () -> transactionService.transferBatch(dto.transfers(), mode, lock)),
+                            numbers.stream().mapToLong(Long::longValue).toArray());
+                    return ResponseEntity.status(result.committed() ? HttpStatus.CREATED : HttpStatus.UNPROCESSABLE_ENTITY)
+                            .body(result);
+                } catch (Exception exception) {
+                    return ResponseEntity.badRequest().body(exception.getMessage());
+                }
+            }
+
+            if (mode == TransferBatchMode.ATOMIC)
+                return ResponseEntity.badRequest().body("Modo ATOMIC indisponível para contas em shards diferentes");
+        } else if (mode == TransferBatchMode.ATOMIC) {
+            return ResponseEntity.badRequest().body("Modo ATOMIC indisponível no modo ledger");
+        }
+
+        var items = new ArrayList<TransferBatchItemDTO>(dto.transfers().size());
+        int succeeded = 0;
+        for (int i = 0; i < dto.transfers().size(); i++) {
+            try {
+                items.add(TransferBatchItemDTO.success(i, transfer(dto.transfers().get(i)).getId()));
+                succeeded++;
+            } catch (Exception exception) {
+                items.add(TransferBatchItemDTO.failure(i, exception.getMessage()));
+            }
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new TransferBatchResultDTO(mode, true, succeeded, items.size() - succeeded, items));
+    }
+
+    /**
+     * Transferência pelo motor em memória, numa transação do shard das contas
+     * ou, com as contas em shards diferentes, pela saga do
+     * {@link ShardTransfers}.
+     */
+    private Transaction transfer(TransferDTO dto) throws Exception {
+        if (ledgerEngine != null)
+            return ledgerEngine.transfer(dto);
+
+        if (!shardRouter.sameShard(dto.sourceAccountNumber(), dto.receiverAccountNumber()))
+            return shardTransfers.transfer(dto);
+
+        return retryExecutor.execute(lock -> shardRouter.route(dto.sourceAccountNumber(),
+                () -> commit(() -> transactionService.transfer(dto, lock))),
+                dto.sourceAccountNumber(), dto.receiverAccountNumber());
+    }
+
+    /**
+     * Executa a operação e monta a resposta. Com Idempotency-Key, repetições da
+     * requisição recebem a resposta original sem executar a operação de novo
+     * (nem contá-la nas métricas).
+     */
+    private ResponseEntity<Object> execute(String idempotencyKey, Object dto, TransactionType type,
+            Callable<Transaction> operation) {
+        Callable<TransactionResponseDTO> response = () -> TransactionMapper
+                .toResponse(transactionMetrics.count(type, operation));
+
+        if (idempotencyKey != null && idempotencyKey.length() > IdempotencyRecord.MAX_KEY_LENGTH)
+            return ResponseEntity.badRequest()
+                    .body(IDEMPOTENCY_KEY + " deve ter no máximo " + IdempotencyRecord.MAX_KEY_LENGTH + " caracteres");
+
         try {
-            var res = transactionService.withdraw(dto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(res);
+            if (idempotencyKey == null)
+                return ResponseEntity.status(HttpStatus.CREATED).body(response.call());
+
+            var res = idempotencyStore.execute(idempotencyKey, dto, response);
+            var builder = ResponseEntity.status(HttpStatus.CREATED)
+                    .header("Idempotent-Replayed", String.valueOf(res.replayed()));
+
+            // Respostas recuperadas do banco já estão em JSON
+            return res.body() instanceof String json
+                    ? builder.contentType(MediaType.APPLICATION_JSON).body(json)
+                    : builder.body(res.body());
+        } catch (IdempotencyKeyReuseException exception) {
+            return ResponseEntity.unprocessableEntity().body(exception.getMessage());
+        } catch (IdempotencyKeyInProgressException exception) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getMessage());
         } catch (Exception exception) {
             return ResponseEntity.badRequest().body(exception.getMessage());
         }
     }
+
+    /**
+     * Executa a operação pelo group commit quando ele está habilitado. Um
+     * conflito de versão desfaz o lote inteiro e cada operação dele é repetida
+     * pelo {@link OptimisticRetryExecutor}.
+     */
+    private Transaction commit(Callable<Transaction> operation) throws Exception {
+        return groupCommit != null
+                ? groupCommit.submit(operation)
+                : operation.call();
+    }
 }
@@ -0,0 +1,10 @@
+package br.edu.utfpr.bankapi.dto;
+
+/**
+ * Conflitos de concorrência otimista de uma conta na janela corrente.
+ *
+ * @param pessimistic se as operações da conta estão usando travas pessimistas
+ */
+public record AccountContentionDTO(long number, long attempts, long conflicts, double conflictRate,
+        boolean pessimistic) {
+}
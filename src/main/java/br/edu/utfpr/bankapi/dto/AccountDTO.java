@@ -1,8 +1,13 @@
 package br.edu.utfpr.bankapi.dto;
 
+import br.edu.utfpr.bankapi.money.JsonMoney;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
-public record AccountDTO(@NotBlank String name, @NotNull Long number, double balance, @Min(0) double specialLimit) {
+/**
+ * Os valores monetários estão em centavos; no JSON, em reais.
+ */
+public record AccountDTO(@NotBlank String name, @NotNull Long number, @JsonMoney long balance,
+        @JsonMoney @Min(0) long specialLimit) {
 }
@@ -0,0 +1,21 @@
+package br.edu.utfpr.bankapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Linha da resposta NDJSON da importação de contas: uma linha recusada
+ * ({@code reject}), o andamento após cada lote ({@code progress}) ou o
+ * resultado final ({@code done}).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AccountImportEventDTO(String type, Long line, Long number, String error, Long read, Long inserted,
+        Long rejected) {
+
+    public static AccountImportEventDTO reject(long line, Long number, String error) {
+        return new AccountImportEventDTO("reject", line, number, error, null, null, null);
+    }
+
+    public static AccountImportEventDTO progress(boolean done, long read, long inserted, long rejected) {
+        return new AccountImportEventDTO(done ? "done" : "progress", null, null, null, read, inserted, rejected);
+    }
+}
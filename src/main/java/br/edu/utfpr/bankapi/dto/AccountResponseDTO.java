@@ -0,0 +1,10 @@
+package br.edu.utfpr.bankapi.dto;
+
+import br.edu.utfpr.bankapi.money.JsonMoney;
+
+/**
+ * Conta devolvida pela API, com os mesmos campos do JSON da entidade.
+ */
+public record AccountResponseDTO(long id, String name, long number, @JsonMoney long balance,
+        @JsonMoney long specialLimit, @JsonMoney long balanceWithLimit) {
+}
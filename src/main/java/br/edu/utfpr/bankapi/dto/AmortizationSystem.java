@@ -0,0 +1,17 @@
+package br.edu.utfpr.bankapi.dto;
+
+/**
+ * Sistema de amortização de um empréstimo.
+ */
+public enum AmortizationSystem {
+    /**
+     * Tabela Price: parcelas iguais, com amortização crescente.
+     */
+    PRICE,
+
+    /**
+     * Sistema de Amortização Constante: amortização igual em todas as parcelas,
+     * com parcelas decrescentes.
+     */
+    SAC
+}
@@ -0,0 +1,11 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot dos saldos, com as transações anteriores a {@code cutoff}.
+ *
+ * @param accounts quantidade de contas no snapshot
+ */
+public record BalanceSnapshotDTO(long id, LocalDateTime cutoff, LocalDateTime createdAt, int accounts) {
+}
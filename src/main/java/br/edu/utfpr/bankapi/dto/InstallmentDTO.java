@@ -0,0 +1,13 @@
+package br.edu.utfpr.bankapi.dto;
+
+import br.edu.utfpr.bankapi.money.JsonMoney;
+
+/**
+ * Parcela de um empréstimo. Valores em centavos; no JSON, em reais.
+ *
+ * @param number  número da parcela, a partir de 1
+ * @param balance saldo devedor após o pagamento da parcela
+ */
+public record InstallmentDTO(int number, @JsonMoney long payment, @JsonMoney long interest,
+        @JsonMoney long amortization, @JsonMoney long balance) {
+}
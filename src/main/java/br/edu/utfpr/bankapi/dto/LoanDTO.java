@@ -0,0 +1,20 @@
+package br.edu.utfpr.bankapi.dto;
+
+import br.edu.utfpr.bankapi.money.JsonMoney;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Empréstimo a simular.
+ *
+ * @param principal valor emprestado em centavos, até 10 bilhões de reais; no
+ *                  JSON, em reais
+ * @param taxa      taxa de juros por período (mês ou dia), em porcentagem, até
+ *                  100%
+ * @param prazo     quantidade de períodos (parcelas)
+ */
+public record LoanDTO(@JsonMoney @Min(1) @Max(1_000_000_000_000L) long principal, @PositiveOrZero @Max(100) float taxa,
+        @Min(1) @Max(36_500) int prazo, @NotNull AmortizationSystem system) {
+}
@@ -0,0 +1,12 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+/**
+ * Várias simulações de empréstimo numa requisição.
+ */
+public record LoanSimulationsDTO(@NotEmpty List<@Valid LoanDTO> loans) {
+}
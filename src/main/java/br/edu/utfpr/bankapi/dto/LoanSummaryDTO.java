@@ -0,0 +1,13 @@
+package br.edu.utfpr.bankapi.dto;
+
+import br.edu.utfpr.bankapi.money.JsonMoney;
+
+/**
+ * Totais da simulação de um empréstimo. Valores em centavos; no JSON, em
+ * reais.
+ *
+ * @param index posição do empréstimo na requisição
+ */
+public record LoanSummaryDTO(int index, AmortizationSystem system, int prazo, @JsonMoney long firstPayment,
+        @JsonMoney long lastPayment, @JsonMoney long totalPaid, @JsonMoney long totalInterest) {
+}
@@ -0,0 +1,10 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.util.List;
+
+/**
+ * Página de uma consulta paginada por keyset. {@code nextCursor} é nulo na
+ * última página.
+ */
+public record PageDTO<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,24 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import br.edu.utfpr.bankapi.money.JsonMoney;
+
+/**
+ * Resultado da conferência dos saldos das contas com o diário de transações.
+ *
+ * @param snapshotId id do snapshot usado como base
+ * @param mismatches quantidade de contas com saldo divergente
+ * @param accounts   as primeiras contas divergentes
+ */
+public record ReconciliationDTO(long snapshotId, LocalDateTime cutoff, LocalDateTime finishedAt, long elapsedMillis,
+        long mismatches, List<Mismatch> accounts) {
+
+    /**
+     * @param balance  saldo em tb_account, em centavos
+     * @param expected saldo derivado do diário, em centavos
+     */
+    public record Mismatch(long id, long number, @JsonMoney long balance, @JsonMoney long expected) {
+    }
+}
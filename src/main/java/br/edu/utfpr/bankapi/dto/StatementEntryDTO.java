@@ -0,0 +1,14 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.time.LocalDateTime;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.money.JsonMoney;
+
+/**
+ * Lançamento do extrato de uma conta. Traz apenas os números das contas
+ * envolvidas, sem carregar as entidades {@code Account}.
+ */
+public record StatementEntryDTO(long id, TransactionType type, @JsonMoney long amount, LocalDateTime dateTime,
+        Long sourceAccountNumber, Long receiverAccountNumber) {
+}
@@ -0,0 +1,13 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.time.LocalDateTime;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.money.JsonMoney;
+
+/**
+ * Transação devolvida pela API, com os mesmos campos do JSON da entidade.
+ */
+public record TransactionResponseDTO(long id, AccountResponseDTO sourceAccount, AccountResponseDTO receiverAccount,
+        @JsonMoney long amount, TransactionType type, LocalDateTime dateTime) {
+}
@@ -0,0 +1,13 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+/**
+ * Lote de transferências. Sem {@code mode}, vale o modo padrão configurado em
+ * {@code bankapi.transfer-batch.mode}.
+ */
+public record TransferBatchDTO(@NotEmpty List<@Valid TransferDTO> transfers, TransferBatchMode mode) {
+}
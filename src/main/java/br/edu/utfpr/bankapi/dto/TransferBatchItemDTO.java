@@ -0,0 +1,15 @@
+package br.edu.utfpr.bankapi.dto;
+
+/**
+ * Resultado de uma transferência do lote, na mesma posição da requisição.
+ */
+public record TransferBatchItemDTO(int index, boolean success, Long transactionId, String error) {
+
+    public static TransferBatchItemDTO success(int index, long transactionId) {
+        return new TransferBatchItemDTO(index, true, transactionId, null);
+    }
+
+    public static TransferBatchItemDTO failure(int index, String error) {
+        return new TransferBatchItemDTO(index, false, null, error);
+    }
+}
@@ -0,0 +1,17 @@
+package br.edu.utfpr.bankapi.dto;
+
+/**
+ * Modo de execução de um lote de transferências.
+ */
+public enum TransferBatchMode {
+    /**
+     * Todas as transferências são aplicadas ou nenhuma é.
+     */
+    ATOMIC,
+
+    /**
+     * As transferências válidas são aplicadas e as demais são recusadas
+     * individualmente.
+     */
+    BEST_EFFORT
+}
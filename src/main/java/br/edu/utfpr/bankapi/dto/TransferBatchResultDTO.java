@@ -0,0 +1,11 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de um lote de transferências. Em modo ATOMIC, {@code committed} é
+ * falso quando alguma transferência foi recusada e nada foi aplicado.
+ */
+public record TransferBatchResultDTO(TransferBatchMode mode, boolean committed, int succeeded, int failed,
+        List<TransferBatchItemDTO> items) {
+}
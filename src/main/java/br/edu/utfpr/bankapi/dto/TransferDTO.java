@@ -1,4 +1,9 @@
 package br.edu.utfpr.bankapi.dto;
 
-public record TransferDTO(long sourceAccountNumber, long receiverAccountNumber, double amount) {
+import br.edu.utfpr.bankapi.money.JsonMoney;
+
+/**
+ * @param amount valor em centavos; no JSON, em reais ({@code 150.25})
+ */
+public record TransferDTO(long sourceAccountNumber, long receiverAccountNumber, @JsonMoney long amount) {
 }
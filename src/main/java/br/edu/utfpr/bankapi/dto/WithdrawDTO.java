@@ -1,5 +1,10 @@
 package br.edu.utfpr.bankapi.dto;
 
-public record WithdrawDTO(long sourceAccountNumber, double amount) {
+import br.edu.utfpr.bankapi.money.JsonMoney;
+
+/**
+ * @param amount valor em centavos; no JSON, em reais ({@code 150.25})
+ */
+public record WithdrawDTO(long sourceAccountNumber, @JsonMoney long amount) {
     
 }
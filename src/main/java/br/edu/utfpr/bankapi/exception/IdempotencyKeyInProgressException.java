@@ -0,0 +1,7 @@
+package br.edu.utfpr.bankapi.exception;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+    public IdempotencyKeyInProgressException(String key) {
+        super("Idempotency-Key " + key + " em processamento");
+    }
+}
@@ -0,0 +1,7 @@
+package br.edu.utfpr.bankapi.exception;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException(String key) {
+        super("Idempotency-Key " + key + " já utilizada com outra requisição");
+    }
+}
@@ -0,0 +1,211 @@
+package br.edu.utfpr.bankapi.groupcommit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.model.Transaction;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Group commit das operações de transferência, depósito e saque.
+ *
+ * As operações que chegam dentro de uma janela curta (até {@code max-size}
+ * operações ou {@code max-wait}) são executadas em sequência por uma única
+ * thread, dentro de uma só transação do banco. Cada chamador só recebe sua
+ * resposta depois que o commit do lote foi concluído.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapi.group-commit.enabled", havingValue = "true")
+public class GroupCommitPipeline {
+
+    private record Request(Callable<Transaction> operation, CompletableFuture<Transaction> result) {
+    }
+
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxSize;
+
+    private final long maxWaitNanos;
+
+    private final DistributionSummary batchSize;
+
+    private final Timer commitLatency;
+
+    private final Thread flusher = new Thread(this::run, "group-commit");
+
+    private volatile boolean running = true;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public GroupCommitPipeline(TransactionTemplate transactionTemplate, MeterRegistry registry,
+            @Value("${bankapi.group-commit.max-size:64}") int maxSize,
+            @Value("${bankapi.group-commit.max-wait:2ms}") Duration maxWait) {
+        this.transactionTemplate = transactionTemplate;
+        this.maxSize = maxSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.batchSize = DistributionSummary.builder("bankapi.group-commit.batch.size")
+                .description("Operações por commit")
+                .register(registry);
+        this.commitLatency = Timer.builder("bankapi.group-commit.commit")
+                .description("Tempo de execução e commit de um lote")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+
+        // O que sobrou na fila (flusher interrompido ou atrasado) não será
+        // mais executado: os chamadores recebem o erro em vez de esperar.
+        Request request;
+        while ((request = queue.poll()) != null)
+            request.result().completeExceptionally(stopped());
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("O group commit foi encerrado");
+    }
+
+    /**
+     * Enfileira a operação e aguarda o commit do lote em que ela foi incluída.
+     *
+     * @param operation operação transacional, normalmente uma chamada ao
+     *                  {@code TransactionService}
+     * @return o resultado da operação, já persistido
+     * @throws IllegalStateException se o pipeline já foi encerrado
+     * @throws Exception              a exceção lançada pela própria operação
+     */
+    public Transaction submit(Callable<Transaction> operation) throws Exception {
+        if (!running)
+            throw stopped();
+
+        var request = new Request(operation, new CompletableFuture<>());
+        queue.add(request);
+
+        // stop() pode ter esvaziado a fila entre a verificação e o add.
+        if (!running && queue.remove(request))
+            throw stopped();
+
+        try {
+            return request.result().get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    private void run() {
+        var batch = new ArrayList<Request>(maxSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxSize) {
+                    var next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null)
+                        break;
+                    batch.add(next);
+                }
+
+                execute(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void execute(List<Request> batch) {
+        var executed = new ArrayList<Request>(batch.size());
+        var results = new ArrayList<Transaction>(batch.size());
+        var pending = new ArrayList<Request>();
+        long start = System.nanoTime();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // As consultas das operações seguintes enxergam as contas já
+                // alteradas no contexto de persistência; o flush fica para o commit.
+                entityManager.setFlushMode(FlushModeType.COMMIT);
+
+                for (var request : batch) {
+                    if (status.isRollbackOnly()) {
+                        pending.add(request);
+                        continue;
+                    }
+
+                    try {
+                        var result = request.operation().call();
+
+                        if (status.isRollbackOnly()) {
+                            request.result().completeExceptionally(
+                                    new IllegalStateException("A operação marcou o lote para rollback"));
+                        } else {
+                            results.add(result);
+                            executed.add(request);
+                        }
+                    } catch (Exception e) {
+                        request.result().completeExceptionally(e);
+                    }
+                }
+
+                // Uma operação que falhou marcou a transação para rollback: as
+                // já executadas serão repetidas num novo lote, sem ela.
+                if (status.isRollbackOnly()) {
+                    status.setRollbackOnly();
+                    pending.addAll(0, executed);
+                    executed.clear();
+                }
+            });
+        } catch (RuntimeException e) {
+            executed.forEach(request -> request.result().completeExceptionally(e));
+            return;
+        }
+
+        if (!executed.isEmpty()) {
+            commitLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSize.record(executed.size());
+        }
+
+        for (int i = 0; i < executed.size(); i++)
+            executed.get(i).result().complete(results.get(i));
+
+        if (!pending.isEmpty())
+            execute(pending);
+    }
+}
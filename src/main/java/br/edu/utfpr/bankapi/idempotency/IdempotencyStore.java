@@ -0,0 +1,221 @@
+package br.edu.utfpr.bankapi.idempotency;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.edu.utfpr.bankapi.exception.IdempotencyKeyInProgressException;
+import br.edu.utfpr.bankapi.exception.IdempotencyKeyReuseException;
+import br.edu.utfpr.bankapi.model.IdempotencyRecord;
+import br.edu.utfpr.bankapi.repository.IdempotencyRecordRepository;
+
+/**
+ * Deduplicação de requisições pela Idempotency-Key.
+ *
+ * A primeira requisição com uma chave executa a operação; as repetições (mesmo
+ * concorrentes) aguardam e recebem a mesma resposta, sem executá-la de novo.
+ * Falhas não são guardadas, permitindo que o cliente tente novamente. As
+ * chaves expiram após {@code bankapi.idempotency.ttl} e, com
+ * {@code bankapi.idempotency.persistent=true}, também são reservadas no banco
+ * antes da execução e recebem a resposta depois dela; enquanto reservada por
+ * outra instância, a chave é recusada.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    /**
+     * Resposta da operação. {@code body} é a própria transação ou, quando
+     * recuperada do banco, o seu JSON.
+     */
+    public record Result(Object body, boolean replayed) {
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<Object> response) {
+    }
+
+    private final Cache<String, Entry> entries;
+
+    private final Duration ttl;
+
+    private final IdempotencyRecordRepository repository;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectMapper canonicalMapper;
+
+    @Autowired
+    public IdempotencyStore(@Value("${bankapi.idempotency.ttl:24h}") Duration ttl,
+            @Value("${bankapi.idempotency.maximum-size:1000000}") long maximumSize,
+            @Value("${bankapi.idempotency.persistent:false}") boolean persistent,
+            IdempotencyRecordRepository repository,
+            ObjectMapper objectMapper) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.ttl = ttl;
+        this.repository = persistent ? repository : null;
+        this.objectMapper = objectMapper;
+        this.canonicalMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .build();
+    }
+
+    /**
+     * Executa a operação uma única vez por chave.
+     *
+     * @param key       valor do cabeçalho Idempotency-Key
+     * @param request   corpo da requisição; repetir a chave com outro corpo é
+     *                  recusado
+     * @param operation operação a executar na primeira requisição
+     * @throws IdempotencyKeyReuseException      se a chave já foi usada com outro
+     *                                           corpo
+     * @throws IdempotencyKeyInProgressException se a chave está reservada por
+     *                                           outra instância
+     * @throws Exception                         a exceção lançada pela operação
+     */
+    public Result execute(String key, Object request, Callable<?> operation) throws Exception {
+        var fingerprint = fingerprint(request);
+        var entry = new Entry(fingerprint, new CompletableFuture<>());
+        var existing = entries.asMap().putIfAbsent(key, entry);
+
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint))
+                throw new IdempotencyKeyReuseException(key);
+
+            try {
+                return new Result(existing.response().get(), true);
+            } catch (ExecutionException e) {
+                // A execução original falhou e a chave foi liberada: tenta de novo
+                return execute(key, request, operation);
+            }
+        }
+
+        boolean reserved = false;
+        try {
+            if (repository != null) {
+                var stored = reserve(key, fingerprint);
+                if (stored.isPresent()) {
+                    if (!stored.get().getFingerprint().equals(fingerprint))
+                        throw new IdempotencyKeyReuseException(key);
+                    if (stored.get().getStatus() == IdempotencyRecord.Status.PENDING)
+                        throw new IdempotencyKeyInProgressException(key);
+
+                    entry.response().complete(stored.get().getResponse());
+                    return new Result(stored.get().getResponse(), true);
+                }
+                reserved = true;
+            }
+
+            var response = operation.call();
+            entry.response().complete(response);
+            persist(key, response);
+            return new Result(response, false);
+        } catch (Exception e) {
+            if (!entry.response().isDone()) {
+                if (reserved)
+                    release(key);
+                entries.asMap().remove(key, entry);
+                entry.response().completeExceptionally(e);
+            }
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bankapi.idempotency.purge-interval:PT1H}")
+    void purgeExpired() {
+        if (repository != null)
+            repository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+    }
+
+    /**
+     * Reserva a chave no banco antes da execução. Se ela já existe (gravada por
+     * esta ou por outra instância), devolve o registro existente.
+     */
+    private Optional<IdempotencyRecord> reserve(String key, String fingerprint) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                repository.reserve(key, fingerprint, LocalDateTime.now());
+                return Optional.empty();
+            } catch (DataIntegrityViolationException e) {
+                var stored = repository.findById(key);
+                if (stored.isPresent())
+                    return stored;
+
+                // Removida entre o insert e a leitura (a execução anterior
+                // falhou): tenta reservar mais uma vez
+                if (attempt == 2)
+                    throw e;
+            }
+        }
+    }
+
+    /**
+     * Libera a chave reservada quando a operação falha, permitindo que o cliente
+     * tente novamente.
+     */
+    private void release(String key) {
+        try {
+            repository.deleteById(key);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao liberar a Idempotency-Key {}", key, e);
+        }
+    }
+
+    /**
+     * Grava a resposta no banco. A operação já foi aplicada, então uma falha aqui
+     * não é repassada ao cliente: a chave continua valendo em memória e, no
+     * banco, é liberada, para que as repetições enviadas a outras instâncias não
+     * sejam recusadas como em andamento até ela expirar.
+     */
+    private void persist(String key, Object response) {
+        if (repository == null)
+            return;
+
+        try {
+            repository.complete(key, IdempotencyRecord.Status.COMPLETED, objectMapper.writeValueAsString(response));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Falha ao persistir a Idempotency-Key {}", key, e);
+            release(key);
+        }
+    }
+
+    /**
+     * SHA-256 do JSON da requisição com as propriedades em ordem alfabética,
+     * independente da implementação de {@code toString()} do DTO.
+     */
+    private String fingerprint(Object request) throws JsonProcessingException {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonicalMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
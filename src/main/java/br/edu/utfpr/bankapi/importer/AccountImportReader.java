@@ -0,0 +1,175 @@
+package br.edu.utfpr.bankapi.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.money.Money;
+
+/**
+ * Leitura incremental, linha a linha, das contas de um arquivo de importação.
+ *
+ * Aceita NDJSON (um {@link AccountDTO} por linha) ou CSV com cabeçalho contendo
+ * as colunas {@code name}, {@code number} e, opcionalmente,
+ * {@code specialLimit}. Apenas a linha corrente fica em memória.
+ */
+public class AccountImportReader implements Closeable {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    /**
+     * Linha lida do arquivo: a conta ou o motivo pelo qual não pôde ser lida.
+     */
+    public record Row(long line, AccountDTO account, String error) {
+    }
+
+    private final BufferedReader reader;
+
+    private final Format format;
+
+    private final ObjectReader json;
+
+    private long line;
+
+    private int nameColumn = -1;
+
+    private int numberColumn = -1;
+
+    private int specialLimitColumn = -1;
+
+    /**
+     * @throws IllegalArgumentException se o cabeçalho do CSV não tiver as colunas
+     *                                  obrigatórias
+     */
+    public AccountImportReader(Reader reader, Format format, ObjectMapper objectMapper) throws IOException {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 64 * 1024);
+        this.format = format;
+        this.json = objectMapper.readerFor(AccountDTO.class);
+
+        if (format == Format.CSV)
+            readHeader();
+    }
+
+    /**
+     * Lê a próxima linha não vazia.
+     *
+     * @return a linha lida ou nulo no fim do arquivo
+     */
+    public Row next() throws IOException {
+        var text = nextLine();
+        if (text == null)
+            return null;
+
+        return format == Format.CSV ? parseCsv(text) : parseJson(text);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String nextLine() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null)
+                return null;
+            line++;
+        } while (text.isBlank());
+
+        return text;
+    }
+
+    private void readHeader() throws IOException {
+        var header = nextLine();
+        var columns = header != null ? split(header) : List.<String>of();
+
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).trim().toLowerCase()) {
+                case "name" -> nameColumn = i;
+                case "number" -> numberColumn = i;
+                case "speciallimit", "special_limit" -> specialLimitColumn = i;
+                default -> {
+                    // Colunas desconhecidas (como balance) são ignoradas
+                }
+            }
+        }
+
+        if (nameColumn < 0 || numberColumn < 0)
+            throw new IllegalArgumentException("O cabeçalho do CSV deve conter as colunas name e number");
+    }
+
+    private Row parseJson(String text) {
+        try {
+            return new Row(line, json.readValue(text), null);
+        } catch (JsonProcessingException e) {
+            return new Row(line, null, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private Row parseCsv(String text) {
+        var fields = split(text);
+
+        try {
+            var name = field(fields, nameColumn);
+            var number = field(fields, numberColumn);
+            var specialLimit = field(fields, specialLimitColumn);
+
+            return new Row(line, new AccountDTO(name,
+                    number.isEmpty() ? null : Long.valueOf(number),
+                    0,
+                    specialLimit.isEmpty() ? 0 : Money.parse(specialLimit)), null);
+        } catch (NumberFormatException | ArithmeticException e) {
+            return new Row(line, null, "Valor numérico inválido: " + e.getMessage());
+        }
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column).trim() : "";
+    }
+
+    /**
+     * Separa os campos de uma linha CSV, aceitando campos entre aspas com
+     * vírgulas e aspas duplicadas no conteúdo.
+     */
+    static List<String> split(String text) {
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+}
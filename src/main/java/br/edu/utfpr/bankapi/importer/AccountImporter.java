@@ -0,0 +1,204 @@
+package br.edu.utfpr.bankapi.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.AccountImportEventDTO;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.shard.ShardRouter;
+import jakarta.validation.Validator;
+
+/**
+ * Importação de contas em massa.
+ *
+ * O arquivo é lido de forma incremental pelo {@link AccountImportReader} e as
+ * contas válidas são inseridas em lotes de {@code batch-size}, cada lote com um
+ * único comando e um commit. Números já cadastrados (no banco ou antes no mesmo
+ * arquivo) são ignorados pelo {@code ON CONFLICT} e reportados como recusados.
+ *
+ * Com shards, as contas de cada lote são separadas pelo shard do número e
+ * inseridas com um comando e um commit por shard.
+ *
+ * O comando de inserção usa {@code unnest} e {@code nextval} do PostgreSQL.
+ */
+@Component
+public class AccountImporter {
+
+    private static final String INSERT_SQL = """
+            insert into tb_account (id, name, number, balance, special_limit, version)
+            select nextval('tb_account_seq'), t.name, t.number, 0, t.special_limit, 0
+            from unnest(?::text[], ?::bigint[], ?::numeric[]) with ordinality as t(name, number, special_limit, pos)
+            order by t.pos
+            on conflict (number) do nothing
+            returning number
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Validator validator;
+
+    private final ObjectMapper objectMapper;
+
+    private final ShardRouter shardRouter;
+
+    private final int batchSize;
+
+    public AccountImporter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, Validator validator,
+            ObjectMapper objectMapper, ShardRouter shardRouter,
+            @Value("${bankapi.account-import.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Importa as contas do arquivo. Os saldos iniciam em zero, como no cadastro
+     * individual.
+     *
+     * @param input    conteúdo do arquivo
+     * @param format   formato do arquivo
+     * @param listener recebe as linhas recusadas e o andamento após cada lote
+     * @return o resultado final da importação
+     * @throws IllegalArgumentException se o cabeçalho do CSV for inválido
+     */
+    public AccountImportEventDTO importAccounts(Reader input, AccountImportReader.Format format,
+            Consumer<AccountImportEventDTO> listener) throws IOException {
+        long read = 0, inserted = 0, rejected = 0;
+        var batch = new ArrayList<AccountImportReader.Row>(batchSize);
+
+        try (var reader = new AccountImportReader(input, format, objectMapper)) {
+            AccountImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                read++;
+
+                var error = row.error() != null ? row.error() : validate(row.account());
+                if (error != null) {
+                    rejected++;
+                    listener.accept(AccountImportEventDTO.reject(row.line(),
+                            row.account() != null ? row.account().number() : null, error));
+                    continue;
+                }
+
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    long count = insert(batch, listener);
+                    inserted += count;
+                    rejected += batch.size() - count;
+                    batch.clear();
+                    listener.accept(AccountImportEventDTO.progress(false, read, inserted, rejected));
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            long count = insert(batch, listener);
+            inserted += count;
+            rejected += batch.size() - count;
+        }
+
+        var done = AccountImportEventDTO.progress(true, read, inserted, rejected);
+        listener.accept(done);
+        return done;
+    }
+
+    private String validate(AccountDTO account) {
+        var violations = validator.validate(account);
+        if (violations.isEmpty())
+            return null;
+
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Insere o lote num único comando e reporta as linhas cujo número já estava
+     * cadastrado.
+     *
+     * @return quantidade de contas inseridas
+     */
+    private long insert(List<AccountImportReader.Row> batch, Consumer<AccountImportEventDTO> listener) {
+        Set<Long> created;
+        if (shardRouter.shards() == 1) {
+            created = insertRows(batch);
+        } else {
+            var shards = new ArrayList<List<AccountImportReader.Row>>(shardRouter.shards());
+            for (int shard = 0; shard < shardRouter.shards(); shard++)
+                shards.add(new ArrayList<>());
+            for (var row : batch)
+                shards.get(shardRouter.shardOf(row.account().number())).add(row);
+
+            created = new HashSet<>(batch.size() * 2);
+            for (int shard = 0; shard < shards.size(); shard++) {
+                var rows = shards.get(shard);
+                if (!rows.isEmpty())
+                    created.addAll(shardRouter.on(shard, () -> insertRows(rows)));
+            }
+        }
+
+        // Apenas a primeira ocorrência de cada número inserido foi gravada
+        long count = 0;
+        for (var row : batch) {
+            if (created.remove(row.account().number())) {
+                count++;
+            } else {
+                listener.accept(AccountImportEventDTO.reject(row.line(), row.account().number(),
+                        "Conta " + row.account().number() + " já cadastrada"));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return números das contas inseridas
+     */
+    private Set<Long> insertRows(List<AccountImportReader.Row> batch) {
+        var names = new String[batch.size()];
+        var numbers = new Long[batch.size()];
+        var specialLimits = new BigDecimal[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            var account = batch.get(i).account();
+            names[i] = account.name();
+            numbers[i] = account.number();
+            specialLimits[i] = Money.toBigDecimal(account.specialLimit());
+        }
+
+        return transactionTemplate.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<Set<Long>>) con -> {
+                    try (var statement = con.prepareStatement(INSERT_SQL)) {
+                        statement.setArray(1, con.createArrayOf("text", names));
+                        statement.setArray(2, con.createArrayOf("bigint", numbers));
+                        statement.setArray(3, con.createArrayOf("numeric", specialLimits));
+
+                        var result = new HashSet<Long>(batch.size() * 2);
+                        try (var rs = statement.executeQuery()) {
+                            while (rs.next())
+                                result.add(rs.getLong(1));
+                        }
+                        return result;
+                    }
+                }));
+    }
+}
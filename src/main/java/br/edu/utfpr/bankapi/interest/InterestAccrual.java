@@ -0,0 +1,270 @@
+package br.edu.utfpr.bankapi.interest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.model.InterestAccrualRun;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.repository.InterestAccrualRunRepository;
+import br.edu.utfpr.bankapi.service.InterestCalculator;
+
+/**
+ * Crédito mensal de juros sobre o saldo positivo das contas.
+ *
+ * As contas são percorridas em ordem de id, em blocos de
+ * {@code bankapi.interest.chunk-size}. Para cada bloco, numa única transação:
+ * os saldos são lidos (e travados) para arrays de primitivos, os juros são
+ * calculados pelo {@link InterestKernel}, as transações do tipo INTEREST são
+ * inseridas e os saldos atualizados com um comando cada, e o
+ * {@link InterestAccrualRun} do mês, travado no início do bloco, avança até a
+ * última conta do bloco. Uma execução interrompida recomeça do bloco seguinte
+ * ao último gravado, sem creditar nenhuma conta duas vezes.
+ *
+ * Os comandos de inserção e atualização usam {@code unnest} e {@code nextval}
+ * do PostgreSQL. Indisponível no modo ledger, em que os saldos ficam em
+ * memória.
+ */
+@Service
+public class InterestAccrual {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestAccrual.class);
+
+    private static final String SELECT_SQL = """
+            select id, balance from tb_account
+            where id > ? and balance > 0
+            order by id
+            limit ?
+            for update
+            """;
+
+    private static final String INSERT_SQL = """
+            insert into tb_transaction (id, source_account_id, receiver_account_id, amount, type, date_time)
+            select nextval('tb_transaction_seq'), null, t.account_id, t.amount, 'INTEREST', ?
+            from unnest(?::bigint[], ?::numeric[]) as t(account_id, amount)
+            """;
+
+    private static final String UPDATE_SQL = """
+            update tb_account a set balance = a.balance + t.amount, version = a.version + 1
+            from unnest(?::bigint[], ?::numeric[]) as t(id, amount)
+            where a.id = t.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final InterestAccrualRunRepository repository;
+
+    private final InterestKernel kernel;
+
+    private final float rate;
+
+    private final int chunkSize;
+
+    private final boolean scheduled;
+
+    private final boolean ledger;
+
+    public InterestAccrual(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            InterestAccrualRunRepository repository,
+            @Value("${bankapi.interest.rate:0.5}") float rate,
+            @Value("${bankapi.interest.chunk-size:10000}") int chunkSize,
+            @Value("${bankapi.interest.kernel:scalar}") String kernel,
+            @Value("${bankapi.interest.enabled:false}") boolean scheduled,
+            @Value("${bankapi.ledger.enabled:false}") boolean ledger) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.repository = repository;
+        this.rate = rate;
+        this.chunkSize = chunkSize;
+        this.scheduled = scheduled;
+        this.ledger = ledger;
+
+        this.kernel = kernel.equals("vector") ? InterestKernel.create() : new ScalarInterestKernel();
+        if (kernel.equals("vector") && this.kernel instanceof ScalarInterestKernel)
+            log.warn("Kernel vetorial indisponível (perfil vector e --add-modules jdk.incubator.vector); "
+                    + "usando o escalar");
+    }
+
+    /**
+     * Credita os juros do mês em todas as contas, ou conclui uma execução
+     * interrompida. Um mês já concluído não é creditado de novo.
+     *
+     * Cada bloco trava a linha da execução (SELECT ... FOR UPDATE) e parte da
+     * última conta gravada nela: execuções simultâneas do mesmo mês, nesta ou
+     * em outras instâncias, se alternam entre os blocos sem creditar nenhuma
+     * conta duas vezes.
+     *
+     * @return a execução do mês
+     */
+    public InterestAccrualRun accrue(YearMonth period) {
+        if (ledger)
+            throw new IllegalStateException("Crédito de juros indisponível no modo ledger");
+
+        var run = start(period);
+        if (run.getFinishedAt() != null)
+            return run;
+
+        if (run.getLastAccountId() > 0)
+            log.info("Retomando o crédito de juros de {} após a conta de id {}", period, run.getLastAccountId());
+
+        long start = System.nanoTime();
+        var chunk = new Chunk(chunkSize, InterestCalculator.fator(run.getRate(), 1));
+        while (Boolean.TRUE.equals(transactionTemplate.execute(status -> chunk.accrue(locked(period)))))
+            ;
+
+        var finished = transactionTemplate.execute(status -> {
+            var current = locked(period);
+            if (current.getFinishedAt() == null)
+                current.setFinishedAt(LocalDateTime.now());
+            return current;
+        });
+        log.info("Juros de {} ({}% com o kernel {}): {} contas, {} creditados em {} ms", period, finished.getRate(),
+                kernel, finished.getAccounts(), Money.toBigDecimal(finished.getTotal()),
+                (System.nanoTime() - start) / 1_000_000);
+        return finished;
+    }
+
+    /**
+     * Obtém ou cria a execução do mês. Se outra instância criá-la ao mesmo
+     * tempo, a chave primária recusa a segunda e a gravada é lida.
+     */
+    private InterestAccrualRun start(YearMonth period) {
+        try {
+            return transactionTemplate.execute(status -> repository.findById(period.toString())
+                    .orElseGet(() -> repository.save(new InterestAccrualRun(period.toString(), rate))));
+        } catch (DataIntegrityViolationException e) {
+            return repository.findById(period.toString()).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * A execução do mês, travada até o fim da transação corrente.
+     */
+    private InterestAccrualRun locked(YearMonth period) {
+        return repository.findForUpdateByPeriod(period.toString()).orElseThrow();
+    }
+
+    /**
+     * Arrays de um bloco, reaproveitados entre os blocos da execução.
+     */
+    private class Chunk {
+        final long[] ids;
+        final long[] balances;
+        final long[] interest;
+        final double factor;
+        int length;
+
+        Chunk(int size, double factor) {
+            this.ids = new long[size];
+            this.balances = new long[size];
+            this.interest = new long[size];
+            this.factor = factor;
+        }
+
+        /**
+         * @param run execução do mês, travada na transação corrente
+         * @return false quando não há mais contas ou a execução já foi
+         *         concluída
+         */
+        boolean accrue(InterestAccrualRun run) {
+            if (run.getFinishedAt() != null)
+                return false;
+
+            length = 0;
+            jdbcTemplate.query(SELECT_SQL, (RowCallbackHandler) rs -> {
+                ids[length] = rs.getLong(1);
+                balances[length++] = Money.of(rs.getBigDecimal(2));
+            }, run.getLastAccountId(), ids.length);
+            if (length == 0)
+                return false;
+
+            kernel.accrue(balances, interest, length, factor);
+
+            // Apenas as contas com juros de pelo menos um centavo
+            int count = 0;
+            for (int i = 0; i < length; i++)
+                if (interest[i] > 0)
+                    count++;
+
+            var accountIds = new Long[count];
+            var amounts = new BigDecimal[count];
+            long total = 0;
+            for (int i = 0, j = 0; i < length; i++) {
+                if (interest[i] > 0) {
+                    accountIds[j] = ids[i];
+                    amounts[j++] = Money.toBigDecimal(interest[i]);
+                    total += interest[i];
+                }
+            }
+
+            if (count > 0)
+                post(accountIds, amounts);
+
+            run.setLastAccountId(ids[length - 1]);
+            run.setAccounts(run.getAccounts() + count);
+            run.setTotal(run.getTotal() + total);
+            return true;
+        }
+    }
+
+    private void post(Long[] accountIds, BigDecimal[] amounts) {
+        var now = LocalDateTime.now();
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            var ids = con.createArrayOf("bigint", accountIds);
+            var values = con.createArrayOf("numeric", amounts);
+            try (var insert = con.prepareStatement(INSERT_SQL); var update = con.prepareStatement(UPDATE_SQL)) {
+                insert.setObject(1, now);
+                insert.setArray(2, ids);
+                insert.setArray(3, values);
+                insert.executeUpdate();
+
+                update.setArray(1, ids);
+                update.setArray(2, values);
+                update.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * No primeiro dia de cada mês credita os juros do mês anterior.
+     */
+    @Scheduled(cron = "${bankapi.interest.cron:0 0 3 1 * *}")
+    void scheduledAccrual() {
+        if (scheduled)
+            accrue(YearMonth.now().minusMonths(1));
+    }
+
+    /**
+     * Conclui as execuções interrompidas por uma parada da aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void resume() {
+        if (!scheduled || ledger)
+            return;
+
+        var pending = repository.findByFinishedAtIsNullOrderByPeriod();
+        if (pending.isEmpty())
+            return;
+
+        var thread = new Thread(() -> pending.forEach(run -> accrue(YearMonth.parse(run.getPeriod()))),
+                "interest-accrual");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
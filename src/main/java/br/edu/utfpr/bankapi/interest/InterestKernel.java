@@ -0,0 +1,39 @@
+package br.edu.utfpr.bankapi.interest;
+
+/**
+ * Cálculo dos juros de um bloco de saldos, sobre arrays de primitivos.
+ *
+ * O resultado de cada posição é idêntico, bit a bit, ao de
+ * {@code InterestCalculator.calcularJurosCentavos} com o mesmo fator:
+ * {@code rint(saldo * fator - saldo)}. Saldos negativos ou zerados não
+ * rendem juros.
+ */
+public interface InterestKernel {
+
+    /**
+     * @param balances saldos em centavos
+     * @param interest recebe os juros em centavos de cada saldo
+     * @param length   quantidade de posições a calcular
+     * @param factor   fator de correção, ver
+     *                 {@code InterestCalculator.fator(float, int)}
+     */
+    void accrue(long[] balances, long[] interest, int length, double factor);
+
+    /**
+     * O kernel vetorial, quando a aplicação foi compilada com o perfil
+     * {@code vector} e executada com {@code --add-modules jdk.incubator.vector};
+     * caso contrário o escalar.
+     */
+    static InterestKernel create() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (InterestKernel) Class.forName("br.edu.utfpr.bankapi.interest.VectorInterestKernel")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Classe não compilada neste build: usa o kernel escalar
+            }
+        }
+        return new ScalarInterestKernel();
+    }
+}
@@ -0,0 +1,21 @@
+package br.edu.utfpr.bankapi.interest;
+
+/**
+ * Um saldo por vez; o laço simples permite ao JIT vetorizar parte das
+ * operações por conta própria.
+ */
+public class ScalarInterestKernel implements InterestKernel {
+
+    @Override
+    public void accrue(long[] balances, long[] interest, int length, double factor) {
+        for (int i = 0; i < length; i++) {
+            long balance = balances[i];
+            interest[i] = balance > 0 ? (long) Math.rint(balance * factor - balance) : 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,171 @@
+package br.edu.utfpr.bankapi.journal;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.model.BalanceSnapshot;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.repository.BalanceSnapshotRepository;
+
+/**
+ * Saldos derivados do diário de transações.
+ *
+ * A tabela tb_transaction é o diário: só recebe INSERTs, um por
+ * transferência, depósito ou saque. O saldo de cada conta é a soma dos seus
+ * créditos menos os seus débitos; para não somar o diário inteiro, snapshots
+ * periódicos guardam os saldos até um instante ({@code cutoff}) e a
+ * reconstrução soma apenas as transações posteriores ao último snapshot.
+ * Toda a agregação é feita no banco.
+ *
+ * As transações entram no snapshot pelo {@code date_time}, definido antes do
+ * commit; por isso o {@code cutoff} fica {@code bankapi.journal.snapshot.lag}
+ * atrás do relógio, tempo suficiente para as transações em andamento serem
+ * confirmadas.
+ *
+ * As transações de um novo snapshot são divididas em
+ * {@code bankapi.journal.chunks} intervalos de tempo, agregados por conta em
+ * paralelo ({@code bankapi.journal.parallelism} conexões) numa tabela de
+ * trabalho, com as linhas identificadas pela execução; só então, numa única
+ * transação, o snapshot é gravado somando esses movimentos aos saldos do
+ * snapshot anterior.
+ */
+@Service
+public class BalanceJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceJournal.class);
+
+    /**
+     * Início do intervalo do primeiro snapshot, anterior a qualquer transação.
+     */
+    private static final LocalDateTime GENESIS = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final BalanceSnapshotRepository repository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration lag;
+
+    private final boolean scheduled;
+
+    private final int parallelism;
+
+    private final int chunks;
+
+    public BalanceJournal(BalanceSnapshotRepository repository, TransactionTemplate transactionTemplate,
+            @Value("${bankapi.journal.snapshot.lag:5m}") Duration lag,
+            @Value("${bankapi.journal.snapshot.enabled:false}") boolean scheduled,
+            @Value("${bankapi.journal.parallelism:4}") int parallelism,
+            @Value("${bankapi.journal.chunks:32}") int chunks) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.lag = lag;
+        this.scheduled = scheduled;
+        this.parallelism = parallelism;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Grava um novo snapshot a partir do anterior. Execuções simultâneas (em
+     * outras instâncias) usam linhas próprias na tabela de trabalho; cada uma
+     * grava um snapshot correto a partir do anterior que leu.
+     *
+     * @return o snapshot, ou vazio se o último já cobre o instante atual menos
+     *         o atraso
+     */
+    public Optional<BalanceSnapshot> snapshot() {
+        var cutoff = LocalDateTime.now().minus(lag);
+        var previous = repository.findFirstByOrderByCutoffDesc();
+        if (previous.isPresent() && !previous.get().getCutoff().isBefore(cutoff))
+            return Optional.empty();
+
+        // Sem snapshot anterior o primeiro intervalo começa na primeira transação
+        var from = previous.map(BalanceSnapshot::getCutoff).orElseGet(repository::firstTransactionAt);
+        var runId = UUID.randomUUID().toString();
+        try {
+            Chunks.run("balance-journal", parallelism, flows(runId, from == null ? cutoff : from, cutoff));
+
+            return transactionTemplate.execute(status -> {
+                var snapshot = repository.save(new BalanceSnapshot(cutoff));
+                snapshot.setAccounts(repository.appendEntries(snapshot.getId(),
+                        previous.map(BalanceSnapshot::getId).orElse(0L), runId));
+                repository.clearFlows(runId);
+                return Optional.of(snapshot);
+            });
+        } catch (RuntimeException e) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> repository.clearFlows(runId));
+            } catch (RuntimeException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Divide [from, to) em intervalos de mesma duração, cada um agregado na sua
+     * própria transação.
+     */
+    private List<Callable<Integer>> flows(String runId, LocalDateTime from, LocalDateTime to) {
+        var tasks = new ArrayList<Callable<Integer>>(chunks);
+        if (!from.isBefore(to))
+            return tasks;
+
+        long step = Math.max(1, Duration.between(from, to).toNanos() / chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            var start = from.plusNanos(chunk * step);
+            var end = chunk == chunks - 1 ? to : start.plusNanos(step);
+            if (!start.isBefore(to))
+                break;
+
+            int id = chunk;
+            tasks.add(() -> transactionTemplate.execute(status -> repository.appendFlows(runId, id, start, end)));
+        }
+        return tasks;
+    }
+
+    public Optional<BalanceSnapshot> latest() {
+        return repository.findFirstByOrderByCutoffDesc();
+    }
+
+    /**
+     * Reconstrói os saldos de todas as contas a partir do último snapshot e das
+     * transações seguintes.
+     *
+     * @return saldo em centavos por id de conta; contas sem nenhuma transação
+     *         não aparecem
+     */
+    public Map<Long, Long> replay() {
+        var latest = repository.findFirstByOrderByCutoffDesc();
+        var rows = repository.replay(latest.map(BalanceSnapshot::getId).orElse(0L),
+                latest.map(BalanceSnapshot::getCutoff).orElse(GENESIS));
+
+        var balances = new HashMap<Long, Long>(rows.size() * 4 / 3 + 1);
+        for (var row : rows)
+            balances.put(((Number) row[0]).longValue(), Money.of((BigDecimal) row[1]));
+        return balances;
+    }
+
+    @Scheduled(fixedDelayString = "${bankapi.journal.snapshot.interval:PT1H}")
+    void scheduledSnapshot() {
+        if (!scheduled)
+            return;
+
+        snapshot().ifPresent(snapshot -> log.info("Snapshot {} dos saldos até {}: {} contas",
+                snapshot.getId(), snapshot.getCutoff(), snapshot.getAccounts()));
+    }
+}
@@ -0,0 +1,139 @@
+package br.edu.utfpr.bankapi.journal;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import br.edu.utfpr.bankapi.dto.ReconciliationDTO;
+import br.edu.utfpr.bankapi.dto.ReconciliationDTO.Mismatch;
+import br.edu.utfpr.bankapi.model.BalanceSnapshot;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.repository.BalanceSnapshotRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Conferência do saldo de cada conta (tb_account) com o saldo derivado do
+ * diário de transações.
+ *
+ * Primeiro é gravado um novo snapshot, somando ao anterior apenas as
+ * transações desde então ({@link BalanceJournal#snapshot()}); depois as contas
+ * são divididas em faixas de id, conferidas em paralelo: o saldo esperado é o
+ * do snapshot mais as poucas transações posteriores ao seu {@code cutoff}.
+ * Nenhuma etapa percorre o diário inteiro.
+ *
+ * As divergências são registradas no log, contadas na métrica
+ * {@code bankapi.reconciliation.mismatches} e expostas em
+ * /actuator/reconciliation.
+ */
+@Service
+public class BalanceReconciliation {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceReconciliation.class);
+
+    private final BalanceJournal journal;
+
+    private final BalanceSnapshotRepository repository;
+
+    private final boolean scheduled;
+
+    private final int parallelism;
+
+    private final int chunks;
+
+    private final int reportLimit;
+
+    private final AtomicLong mismatches = new AtomicLong();
+
+    private volatile ReconciliationDTO last;
+
+    public BalanceReconciliation(BalanceJournal journal, BalanceSnapshotRepository repository, MeterRegistry registry,
+            @Value("${bankapi.journal.reconciliation.enabled:false}") boolean scheduled,
+            @Value("${bankapi.journal.parallelism:4}") int parallelism,
+            @Value("${bankapi.journal.chunks:32}") int chunks,
+            @Value("${bankapi.journal.reconciliation.report-limit:100}") int reportLimit) {
+        this.journal = journal;
+        this.repository = repository;
+        this.scheduled = scheduled;
+        this.parallelism = parallelism;
+        this.chunks = chunks;
+        this.reportLimit = reportLimit;
+
+        Gauge.builder("bankapi.reconciliation.mismatches", mismatches, AtomicLong::get)
+                .description("Contas com saldo divergente do diário na última conferência")
+                .register(registry);
+    }
+
+    /**
+     * Grava um snapshot e confere todas as contas com ele.
+     *
+     * @return vazio se não há snapshot (nenhuma transação anterior ao atraso)
+     */
+    public Optional<ReconciliationDTO> reconcile() {
+        long start = System.nanoTime();
+        var snapshot = journal.snapshot().or(journal::latest);
+        if (snapshot.isEmpty())
+            return Optional.empty();
+
+        var found = new ArrayList<Mismatch>();
+        long count = 0;
+        for (var chunk : Chunks.run("balance-reconciliation", parallelism, ranges(snapshot.get()))) {
+            count += chunk.size();
+            for (var mismatch : chunk)
+                if (found.size() < reportLimit)
+                    found.add(mismatch);
+        }
+
+        var result = new ReconciliationDTO(snapshot.get().getId(), snapshot.get().getCutoff(), LocalDateTime.now(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis(), count, found);
+        for (var mismatch : found)
+            log.warn("Saldo divergente na conta {}: {} registrado, {} pelo diário", mismatch.number(),
+                    Money.toBigDecimal(mismatch.balance()), Money.toBigDecimal(mismatch.expected()));
+        log.info("Conferência dos saldos com o snapshot {} ({}): {} contas divergentes em {} ms", result.snapshotId(),
+                result.cutoff(), result.mismatches(), result.elapsedMillis());
+
+        mismatches.set(count);
+        last = result;
+        return Optional.of(result);
+    }
+
+    public Optional<ReconciliationDTO> last() {
+        return Optional.ofNullable(last);
+    }
+
+    /**
+     * Divide os ids de conta [0, maior id] em faixas de mesmo tamanho.
+     */
+    private List<Callable<List<Mismatch>>> ranges(BalanceSnapshot snapshot) {
+        long end = repository.maxAccountId() + 1;
+        long step = Math.max(1, (end + chunks - 1) / chunks);
+
+        var tasks = new ArrayList<Callable<List<Mismatch>>>(chunks);
+        for (long from = 0; from < end; from += step) {
+            long fromId = from;
+            long toId = Math.min(end, from + step);
+            tasks.add(() -> repository.mismatches(snapshot.getId(), snapshot.getCutoff(), fromId, toId).stream()
+                    .map(row -> new Mismatch(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                            Money.of((BigDecimal) row[2]), Money.of((BigDecimal) row[3])))
+                    .toList());
+        }
+        return tasks;
+    }
+
+    @Scheduled(cron = "${bankapi.journal.reconciliation.cron:0 30 2 * * *}")
+    void scheduledReconciliation() {
+        if (scheduled)
+            reconcile();
+    }
+}
@@ -0,0 +1,50 @@
+package br.edu.utfpr.bankapi.journal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Execução de partes independentes de um cálculo em um número fixo de
+ * threads, cada uma com a sua conexão ao banco.
+ */
+final class Chunks {
+
+    private Chunks() {
+    }
+
+    /**
+     * Executa as tarefas com no máximo {@code parallelism} delas ao mesmo
+     * tempo e devolve os resultados na ordem das tarefas. A primeira falha é
+     * relançada depois de todas terminarem.
+     */
+    static <T> List<T> run(String name, int parallelism, List<Callable<T>> tasks) {
+        if (tasks.isEmpty())
+            return List.of();
+
+        var counter = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()), runnable -> {
+            var thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            var results = new ArrayList<T>(tasks.size());
+            for (var future : executor.invokeAll(tasks))
+                results.add(future.get());
+            return results;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime)
+                throw runtime;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package br.edu.utfpr.bankapi.journal;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.dto.BalanceSnapshotDTO;
+import br.edu.utfpr.bankapi.model.BalanceSnapshot;
+import br.edu.utfpr.bankapi.shard.ShardingDisabled;
+
+/**
+ * Expõe em /actuator/journal o último snapshot dos saldos; um POST grava um
+ * novo snapshot. Indisponível com shards.
+ */
+@Component
+@Conditional(ShardingDisabled.class)
+@Endpoint(id = "journal")
+public class JournalEndpoint {
+
+    private final BalanceJournal journal;
+
+    public JournalEndpoint(BalanceJournal journal) {
+        this.journal = journal;
+    }
+
+    @ReadOperation
+    public BalanceSnapshotDTO latest() {
+        return journal.latest().map(JournalEndpoint::toDTO).orElse(null);
+    }
+
+    @WriteOperation
+    public BalanceSnapshotDTO snapshot() {
+        return journal.snapshot().or(journal::latest).map(JournalEndpoint::toDTO).orElse(null);
+    }
+
+    private static BalanceSnapshotDTO toDTO(BalanceSnapshot snapshot) {
+        return new BalanceSnapshotDTO(snapshot.getId(), snapshot.getCutoff(), snapshot.getCreatedAt(),
+                snapshot.getAccounts());
+    }
+}
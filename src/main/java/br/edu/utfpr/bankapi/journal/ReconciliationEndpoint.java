@@ -0,0 +1,36 @@
+package br.edu.utfpr.bankapi.journal;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.dto.ReconciliationDTO;
+import br.edu.utfpr.bankapi.shard.ShardingDisabled;
+
+/**
+ * Expõe em /actuator/reconciliation o resultado da última conferência dos
+ * saldos; um POST executa uma nova. Indisponível com shards.
+ */
+@Component
+@Conditional(ShardingDisabled.class)
+@Endpoint(id = "reconciliation")
+public class ReconciliationEndpoint {
+
+    private final BalanceReconciliation reconciliation;
+
+    public ReconciliationEndpoint(BalanceReconciliation reconciliation) {
+        this.reconciliation = reconciliation;
+    }
+
+    @ReadOperation
+    public ReconciliationDTO last() {
+        return reconciliation.last().orElse(null);
+    }
+
+    @WriteOperation
+    public ReconciliationDTO reconcile() {
+        return reconciliation.reconcile().orElse(null);
+    }
+}
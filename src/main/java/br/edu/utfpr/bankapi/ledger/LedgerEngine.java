@@ -0,0 +1,190 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+
+/**
+ * Motor de lançamentos em memória (modo ledger).
+ *
+ * Os saldos ficam em memória e cada conta é protegida por uma trava de um
+ * conjunto fixo (lock striping) escolhida pelo número da conta. Transferências
+ * adquirem as duas travas sempre na mesma ordem, evitando deadlocks. O banco de
+ * dados passa a ser um diário gravado de forma assíncrona pelo
+ * {@link LedgerJournal}.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapi.ledger.enabled", havingValue = "true")
+public class LedgerEngine {
+
+    private final Map<Long, Account> accounts = new ConcurrentHashMap<>();
+
+    private final ReentrantLock[] stripes;
+
+    private final AvailableAccountValidation availableAccountValidation;
+
+    private final AvailableBalanceValidation availableBalanceValidation;
+
+    private final LedgerJournal journal;
+
+    public LedgerEngine(AvailableAccountValidation availableAccountValidation,
+            AvailableBalanceValidation availableBalanceValidation,
+            LedgerJournal journal,
+            @Value("${bankapi.ledger.stripes:1024}") int stripes) {
+        this.availableAccountValidation = availableAccountValidation;
+        this.availableBalanceValidation = availableBalanceValidation;
+        this.journal = journal;
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++)
+            this.stripes[i] = new ReentrantLock();
+    }
+
+    public Transaction transfer(TransferDTO dto) throws NotFoundException {
+        // Valida e obtém as contas de ORIGEM e DESTINO da transferência
+        var source = load(dto.sourceAccountNumber());
+        var receiver = load(dto.receiverAccountNumber());
+
+        return withLocks(source.getNumber(), receiver.getNumber(), () -> {
+            var transaction = new Transaction(source, receiver, dto.amount(), TransactionType.TRANSFER);
+
+            // Verifica se a conta de origem possui saldo
+            availableBalanceValidation.validate(transaction);
+
+            source.setBalance(Money.subtract(source.getBalance(), dto.amount()));
+            receiver.setBalance(Money.add(receiver.getBalance(), dto.amount()));
+
+            return record(transaction);
+        });
+    }
+
+    public Transaction deposit(DepositDTO dto) throws NotFoundException {
+        var receiver = load(dto.receiverAccountNumber());
+
+        return withLocks(receiver.getNumber(), receiver.getNumber(), () -> {
+            var transaction = new Transaction(null, receiver, dto.amount(), TransactionType.DEPOSIT);
+
+            receiver.setBalance(Money.add(receiver.getBalance(), dto.amount()));
+
+            return record(transaction);
+        });
+    }
+
+    public Transaction withdraw(WithdrawDTO dto) throws NotFoundException {
+        var source = load(dto.sourceAccountNumber());
+
+        return withLocks(source.getNumber(), source.getNumber(), () -> {
+            var transaction = new Transaction(source, null, dto.amount(), TransactionType.WITHDRAW);
+
+            // Verifica se a conta de origem possui saldo
+            availableBalanceValidation.validate(transaction);
+
+            source.setBalance(Money.subtract(source.getBalance(), dto.amount()));
+
+            return record(transaction);
+        });
+    }
+
+    /**
+     * Atualiza os dados cadastrais de uma conta já carregada em memória,
+     * preservando o saldo mantido pelo ledger.
+     *
+     * @param previousNumber número da conta antes da alteração
+     * @param updated        conta com os novos dados
+     */
+    public void refresh(long previousNumber, Account updated) {
+        withLocks(previousNumber, updated.getNumber(), () -> {
+            var account = accounts.remove(previousNumber);
+
+            if (account != null) {
+                account.setName(updated.getName());
+                account.setNumber(updated.getNumber());
+                account.setSpecialLimit(updated.getSpecialLimit());
+                accounts.put(account.getNumber(), account);
+            }
+            return account;
+        });
+    }
+
+    /**
+     * Obtém a conta em memória, carregando-a do banco no primeiro acesso.
+     */
+    private Account load(long number) throws NotFoundException {
+        var account = accounts.get(number);
+
+        if (account != null)
+            return account;
+
+        var loaded = availableAccountValidation.validate(number);
+        return accounts.computeIfAbsent(number, n -> loaded);
+    }
+
+    /**
+     * Registra no diário uma cópia da transação com os saldos resultantes. Deve
+     * ser chamado com as travas das contas envolvidas adquiridas, garantindo que
+     * o diário receba os lançamentos de cada conta na ordem em que foram
+     * aplicados.
+     */
+    private Transaction record(Transaction transaction) {
+        var snapshot = new Transaction(snapshot(transaction.getSourceAccount()),
+                snapshot(transaction.getReceiverAccount()), transaction.getAmount(), transaction.getType());
+
+        journal.append(snapshot);
+        return snapshot;
+    }
+
+    private static Account snapshot(Account account) {
+        if (account == null)
+            return null;
+
+        var copy = new Account(account.getName(), account.getNumber(), account.getBalance(),
+                account.getSpecialLimit());
+        copy.setId(account.getId());
+        return copy;
+    }
+
+    /**
+     * Executa a ação com as travas das duas contas, adquiridas em ordem crescente
+     * de índice para evitar deadlocks entre transferências opostas.
+     */
+    private <T> T withLocks(long first, long second, Supplier<T> action) {
+        int a = stripe(first);
+        int b = stripe(second);
+        var lower = stripes[Math.min(a, b)];
+        var upper = stripes[Math.max(a, b)];
+
+        lower.lock();
+        try {
+            if (upper != lower)
+                upper.lock();
+            try {
+                return action.get();
+            } finally {
+                if (upper != lower)
+                    upper.unlock();
+            }
+        } finally {
+            lower.unlock();
+        }
+    }
+
+    private int stripe(long number) {
+        long h = number * 0x9E3779B97F4A7C15L;
+        return Math.floorMod((int) (h ^ (h >>> 32)), stripes.length);
+    }
+}
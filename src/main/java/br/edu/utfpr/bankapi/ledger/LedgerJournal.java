@@ -0,0 +1,382 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.message.StringMapMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.WalCheckpoint;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.repository.WalCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Diário assíncrono do modo ledger.
+ *
+ * Recebe as transações já aplicadas em memória pelo {@link LedgerEngine} e as
+ * grava no banco em lotes, numa única thread. Dentro de um lote apenas o
+ * último saldo de cada conta é escrito.
+ *
+ * Com o {@link WriteAheadLog} habilitado, cada transação é gravada nele antes
+ * de entrar na fila, e cada lote grava no banco, na mesma transação, o LSN do
+ * seu último registro. Na inicialização os registros posteriores a esse LSN
+ * são gravados no banco antes de o ledger começar a operar.
+ *
+ * Enquanto o banco está indisponível o lote é repetido indefinidamente. Um
+ * lote que o banco recusa por max-attempts tentativas é dividido ao meio, e
+ * cada metade gravada em separado, até isolar as transações recusadas: elas
+ * vão para o logger {@code bankapi.ledger.dead-letter} e o diário segue com as
+ * demais.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapi.ledger.enabled", havingValue = "true")
+public class LedgerJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerJournal.class);
+
+    private static final org.apache.logging.log4j.Logger deadLetter = LogManager
+            .getLogger("bankapi.ledger.dead-letter");
+
+    /**
+     * Transação na fila e o seu LSN no write-ahead log (0 sem ele).
+     */
+    private record Entry(long lsn, Transaction transaction) {
+    }
+
+    private final BlockingQueue<Entry> queue;
+
+    private final int batchSize;
+
+    private final int maxAttempts;
+
+    private final long retryBackoffMillis;
+
+    private final AccountRepository accountRepository;
+
+    private final TransactionRepository transactionRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final WalCheckpointRepository checkpointRepository;
+
+    private final WriteAheadLog wal;
+
+    /**
+     * Mantém a fila na mesma ordem dos LSNs.
+     */
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    /**
+     * Início (System.nanoTime) das falhas do lote atual; 0 enquanto o diário
+     * grava normalmente.
+     */
+    private final AtomicLong stalledSince = new AtomicLong();
+
+    private final Counter failures;
+
+    private final Counter deadLetters;
+
+    private final Thread writer = new Thread(this::run, "ledger-journal");
+
+    private volatile boolean running = true;
+
+    public LedgerJournal(AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            TransactionTemplate transactionTemplate,
+            WalCheckpointRepository checkpointRepository,
+            ObjectProvider<WriteAheadLog> wal,
+            MeterRegistry registry,
+            @Value("${bankapi.ledger.journal.capacity:65536}") int capacity,
+            @Value("${bankapi.ledger.journal.batch-size:500}") int batchSize,
+            @Value("${bankapi.ledger.journal.max-attempts:5}") int maxAttempts,
+            @Value("${bankapi.ledger.journal.retry-backoff:1s}") Duration retryBackoff) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.wal = wal.getIfAvailable();
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoff.toMillis();
+
+        Gauge.builder("bankapi.ledger.journal.pending", queue, BlockingQueue::size)
+                .description("Transações ainda não gravadas no banco")
+                .register(registry);
+        Gauge.builder("bankapi.ledger.journal.stalled", stalledSince, LedgerJournal::stalledSeconds)
+                .description("Tempo desde a primeira falha do lote atual (0 sem falhas)")
+                .baseUnit("seconds")
+                .register(registry);
+        this.failures = Counter.builder("bankapi.ledger.journal.failures")
+                .description("Tentativas de gravação de lotes que falharam")
+                .register(registry);
+        this.deadLetters = Counter.builder("bankapi.ledger.journal.dead.letters")
+                .description("Transações recusadas pelo banco e enviadas ao dead-letter")
+                .register(registry);
+    }
+
+    private static double stalledSeconds(AtomicLong stalledSince) {
+        long since = stalledSince.get();
+        return since == 0 ? 0 : (System.nanoTime() - since) / 1e9;
+    }
+
+    @PostConstruct
+    void start() {
+        if (wal != null)
+            recover();
+
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Grava no banco os registros do write-ahead log posteriores ao checkpoint.
+     */
+    private void recover() {
+        long checkpoint = checkpointRepository.findById(WalCheckpoint.ID).map(WalCheckpoint::getLsn).orElse(0L);
+        var batch = new ArrayList<Entry>(batchSize);
+        var recovered = new long[1];
+
+        wal.recover(checkpoint, (lsn, transaction) -> {
+            batch.add(new Entry(lsn, transaction));
+            recovered[0]++;
+            if (batch.size() == batchSize) {
+                writeRecovered(batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty())
+            writeRecovered(batch);
+
+        if (recovered[0] > 0)
+            log.info("{} transações recuperadas do write-ahead log após o LSN {}", recovered[0], checkpoint);
+    }
+
+    private void writeRecovered(List<Entry> batch) {
+        try {
+            writeWithRetry(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao recuperar o write-ahead log", e);
+        }
+    }
+
+    /**
+     * Enfileira a transação para gravação. Bloqueia quando a fila está cheia,
+     * aplicando contrapressão sobre as requisições. Com o write-ahead log,
+     * retorna depois de a transação ser gravada nele, conforme a política de
+     * fsync.
+     */
+    public void append(Transaction transaction) {
+        if (wal == null) {
+            put(new Entry(0, transaction));
+            return;
+        }
+
+        long lsn;
+        appendLock.lock();
+        try {
+            lsn = wal.write(transaction);
+            put(new Entry(lsn, transaction));
+        } finally {
+            appendLock.unlock();
+        }
+        wal.sync(lsn);
+    }
+
+    private void put(Entry entry) {
+        try {
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao gravar no diário", e);
+        }
+    }
+
+    /**
+     * Quantidade de transações ainda não gravadas no banco.
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private void run() {
+        var batch = new ArrayList<Entry>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeWithRetry(List<Entry> batch) throws InterruptedException {
+        var failure = attempt(batch, maxAttempts);
+        if (failure != null) {
+            log.error("Lote de {} transações recusado {} vezes, isolando as transações recusadas", batch.size(),
+                    maxAttempts, failure);
+            isolate(batch, failure);
+        }
+        stalledSince.set(0);
+    }
+
+    /**
+     * Divide ao meio um lote recusado e grava cada metade, uma tentativa por
+     * vez, até chegar às transações que o banco recusa sozinhas.
+     */
+    private void isolate(List<Entry> batch, RuntimeException failure) throws InterruptedException {
+        if (batch.size() == 1) {
+            deadLetter(batch.get(0), failure);
+            return;
+        }
+
+        int half = batch.size() / 2;
+        for (var part : List.of(batch.subList(0, half), batch.subList(half, batch.size()))) {
+            var partFailure = attempt(part, 1);
+            if (partFailure != null)
+                isolate(part, partFailure);
+        }
+    }
+
+    /**
+     * Tenta gravar o lote até attempts vezes. Falhas por indisponibilidade do
+     * banco não contam como tentativa: o lote é repetido até ele voltar.
+     *
+     * @return a última falha, ou null se o lote foi gravado
+     */
+    private RuntimeException attempt(List<Entry> batch, int attempts) throws InterruptedException {
+        int failed = 0;
+        while (true) {
+            try {
+                write(batch);
+                return null;
+            } catch (RuntimeException e) {
+                failures.increment();
+                stalledSince.compareAndSet(0, System.nanoTime());
+
+                if (!unavailable(e) && ++failed >= attempts)
+                    return e;
+
+                log.error("Falha ao gravar lote de {} transações no diário, tentando novamente", batch.size(), e);
+                Thread.sleep(retryBackoffMillis);
+            }
+        }
+    }
+
+    private static boolean unavailable(Throwable e) {
+        for (var cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CannotCreateTransactionException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransientDataAccessException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Registra a transação recusada com os saldos resultantes, para que possa
+     * ser conferida e gravada manualmente. Os saldos das contas continuam sendo
+     * gravados pelos lotes seguintes que as envolvam.
+     */
+    private void deadLetter(Entry entry, RuntimeException failure) {
+        var transaction = entry.transaction();
+        var message = new StringMapMessage(10)
+                .with("event", "dead-letter")
+                .with("lsn", entry.lsn())
+                .with("type", transaction.getType().name())
+                .with("amountCents", transaction.getAmount())
+                .with("dateTime", String.valueOf(transaction.getDateTime()))
+                .with("error", String.valueOf(failure.getMessage()));
+        if (transaction.getSourceAccount() != null)
+            message.with("sourceAccount", transaction.getSourceAccount().getNumber())
+                    .with("sourceBalanceCents", transaction.getSourceAccount().getBalance());
+        if (transaction.getReceiverAccount() != null)
+            message.with("receiverAccount", transaction.getReceiverAccount().getNumber())
+                    .with("receiverBalanceCents", transaction.getReceiverAccount().getBalance());
+
+        deadLetter.error(message);
+        deadLetters.increment();
+    }
+
+    private void write(List<Entry> batch) {
+        long lsn = batch.get(batch.size() - 1).lsn();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var balances = new LinkedHashMap<Long, Long>();
+            var entities = new ArrayList<Transaction>(batch.size());
+
+            for (var entry : batch) {
+                var transaction = entry.transaction();
+                var entity = new Transaction(reference(transaction.getSourceAccount(), balances),
+                        reference(transaction.getReceiverAccount(), balances),
+                        transaction.getAmount(), transaction.getType());
+                entity.setDateTime(transaction.getDateTime());
+                entities.add(entity);
+            }
+
+            // Apenas o saldo mais recente de cada conta precisa ser gravado
+            balances.forEach(accountRepository::updateBalance);
+            transactionRepository.saveAll(entities);
+
+            if (lsn > 0)
+                checkpointRepository.save(new WalCheckpoint(WalCheckpoint.ID, lsn));
+        });
+
+        // Os segmentos do write-ahead log já gravados no banco podem ser apagados
+        if (lsn > 0)
+            wal.release(lsn);
+    }
+
+    private Account reference(Account account, LinkedHashMap<Long, Long> balances) {
+        if (account == null)
+            return null;
+
+        balances.put(account.getId(), account.getBalance());
+        return accountRepository.getReferenceById(account.getId());
+    }
+}
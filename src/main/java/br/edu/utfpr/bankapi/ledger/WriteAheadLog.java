@@ -0,0 +1,408 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-ahead log do modo ledger.
+ *
+ * Cada transação aplicada em memória é gravada, antes da resposta, como um
+ * registro binário de tamanho fixo ({@value #RECORD_SIZE} bytes) num segmento
+ * pré-alocado e mapeado em memória. O registro leva um número de sequência
+ * (LSN), os saldos resultantes das contas e um CRC32C; a leitura na
+ * recuperação para no primeiro registro incompleto. Os segmentos cujos
+ * registros já foram gravados no banco são apagados por {@link #release}.
+ *
+ * Uma vez copiado para o mapeamento, o registro sobrevive à queda do processo
+ * (fica no cache de páginas do sistema operacional); a política de fsync
+ * define quando ele sobrevive também à queda da máquina:
+ * <ul>
+ * <li>PER_WRITE: cada gravação espera o seu fsync;</li>
+ * <li>GROUP: as gravações esperam um fsync feito por uma thread própria, que
+ * cobre todos os registros gravados até então;</li>
+ * <li>INTERVAL: a thread própria faz o fsync a cada {@code fsync-interval} e
+ * as gravações não esperam.</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = { "bankapi.ledger.enabled", "bankapi.ledger.wal.enabled" }, havingValue = "true")
+public class WriteAheadLog {
+
+    public enum FsyncPolicy {
+        PER_WRITE, GROUP, INTERVAL
+    }
+
+    static final int RECORD_SIZE = 64;
+
+    private static final int CRC_OFFSET = RECORD_SIZE - Integer.BYTES;
+
+    private static final Logger log = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private record Segment(long firstLsn, Path path) {
+    }
+
+    private final Path dir;
+
+    private final int segmentSize;
+
+    private final FsyncPolicy fsync;
+
+    private final long fsyncIntervalNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Há registros ainda sem fsync */
+    private final Condition pending = lock.newCondition();
+
+    /** O fsync avançou */
+    private final Condition synced = lock.newCondition();
+
+    private final List<Segment> segments = new ArrayList<>();
+
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+
+    private final CRC32C crc = new CRC32C();
+
+    private final Thread syncer = new Thread(this::runSyncer, "ledger-wal-sync");
+
+    private MappedByteBuffer segment;
+
+    private long nextLsn = 1;
+
+    private long writtenLsn;
+
+    private long durableLsn;
+
+    private volatile boolean running = true;
+
+    public WriteAheadLog(@Value("${bankapi.ledger.wal.dir:wal}") Path dir,
+            @Value("${bankapi.ledger.wal.segment-size:64MB}") DataSize segmentSize,
+            @Value("${bankapi.ledger.wal.fsync:GROUP}") FsyncPolicy fsync,
+            @Value("${bankapi.ledger.wal.fsync-interval:10ms}") Duration fsyncInterval) {
+        if (segmentSize.toBytes() < RECORD_SIZE || segmentSize.toBytes() > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Tamanho de segmento inválido: " + segmentSize);
+
+        this.dir = dir;
+        this.segmentSize = (int) (segmentSize.toBytes() / RECORD_SIZE * RECORD_SIZE);
+        this.fsync = fsync;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+    }
+
+    /**
+     * Lê os registros de todos os segmentos e prepara um novo segmento para as
+     * próximas gravações. Deve ser chamado uma vez, antes de qualquer
+     * gravação.
+     *
+     * @param checkpoint último LSN já gravado no banco; os registros até ele
+     *                   são ignorados
+     * @param consumer   recebe o LSN e a transação de cada registro posterior
+     *                   ao checkpoint, em ordem
+     * @return o último LSN válido
+     */
+    public long recover(long checkpoint, BiConsumer<Long, Transaction> consumer) {
+        try {
+            Files.createDirectories(dir);
+
+            var found = new ArrayList<Segment>();
+            try (var files = Files.list(dir)) {
+                files.filter(path -> path.getFileName().toString().matches("wal-\\d{20}\\.log"))
+                        .forEach(path -> found.add(new Segment(
+                                Long.parseLong(path.getFileName().toString().substring(4, 24)), path)));
+            }
+            found.sort(Comparator.comparingLong(Segment::firstLsn));
+
+            long expected = found.isEmpty() ? 1 : found.get(0).firstLsn();
+            for (var existing : found) {
+                if (existing.firstLsn() != expected) {
+                    log.warn("Segmento {} fora de sequência no write-ahead log, ignorado", existing.path());
+                    break;
+                }
+
+                try (var channel = FileChannel.open(existing.path(), StandardOpenOption.READ)) {
+                    var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    while (buffer.remaining() >= RECORD_SIZE) {
+                        var transaction = decode(buffer, expected);
+                        if (transaction == null)
+                            break;
+
+                        if (expected > checkpoint)
+                            consumer.accept(expected, transaction);
+                        expected++;
+                    }
+                }
+                segments.add(existing);
+            }
+
+            long last = expected - 1;
+            if (last < checkpoint) {
+                log.warn("Write-ahead log termina no LSN {}, antes do checkpoint {} do banco", last, checkpoint);
+
+                // Todos os registros já estão no banco. O novo segmento começa
+                // depois do checkpoint; se os antigos ficassem, a próxima
+                // recuperação veria um salto de LSN e ignoraria o novo
+                for (var old : segments)
+                    Files.delete(old.path());
+                segments.clear();
+            }
+
+            // Segmentos sem nenhum registro válido são recriados
+            for (var empty : segments.stream().filter(existing -> existing.firstLsn() > last).toList()) {
+                Files.delete(empty.path());
+                segments.remove(empty);
+            }
+
+            lock.lock();
+            try {
+                nextLsn = Math.max(last, checkpoint) + 1;
+                writtenLsn = nextLsn - 1;
+                durableLsn = writtenLsn;
+                roll();
+            } finally {
+                lock.unlock();
+            }
+
+            if (fsync != FsyncPolicy.PER_WRITE) {
+                syncer.setDaemon(true);
+                syncer.start();
+            }
+            return last;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Grava o registro da transação, sem esperar o fsync (ver {@link #sync}).
+     *
+     * @return o LSN do registro
+     */
+    public long write(Transaction transaction) {
+        lock.lock();
+        try {
+            if (!segment.hasRemaining())
+                roll();
+
+            long lsn = nextLsn++;
+            encode(lsn, transaction);
+            int position = segment.position();
+            segment.put(record.array(), 0, RECORD_SIZE);
+            writtenLsn = lsn;
+
+            if (fsync == FsyncPolicy.PER_WRITE) {
+                segment.force(position, RECORD_SIZE);
+                durableLsn = lsn;
+            } else if (fsync == FsyncPolicy.GROUP) {
+                pending.signal();
+            }
+            return lsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Espera o registro ser durável, conforme a política de fsync.
+     */
+    public void sync(long lsn) {
+        if (fsync != FsyncPolicy.GROUP)
+            return;
+
+        lock.lock();
+        try {
+            while (durableLsn < lsn) {
+                if (!running)
+                    throw new IllegalStateException("Write-ahead log encerrado");
+                synced.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apaga os segmentos cujos registros foram todos gravados no banco.
+     *
+     * @param checkpoint último LSN gravado no banco
+     */
+    public void release(long checkpoint) {
+        var released = new ArrayList<Segment>();
+
+        lock.lock();
+        try {
+            // O segmento corrente nunca é apagado
+            while (segments.size() > 1 && segments.get(1).firstLsn() <= checkpoint + 1)
+                released.add(segments.remove(0));
+        } finally {
+            lock.unlock();
+        }
+
+        for (var old : released) {
+            try {
+                Files.deleteIfExists(old.path());
+            } catch (IOException e) {
+                log.warn("Falha ao apagar o segmento {} do write-ahead log", old.path(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            pending.signalAll();
+            synced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (syncer.isAlive())
+            syncer.join(TimeUnit.SECONDS.toMillis(5));
+        if (segment != null)
+            segment.force();
+    }
+
+    /**
+     * Faz o fsync do segmento corrente e abre um novo a partir de nextLsn. Deve
+     * ser chamado com a trava adquirida.
+     */
+    private void roll() throws UncheckedIOException {
+        if (segment != null) {
+            segment.force();
+            durableLsn = writtenLsn;
+            synced.signalAll();
+        }
+
+        var path = dir.resolve(String.format("wal-%020d.log", nextLsn));
+        try (var channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // O mapeamento continua válido depois de o canal ser fechado
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments.add(new Segment(nextLsn, path));
+    }
+
+    private void runSyncer() {
+        while (true) {
+            MappedByteBuffer target;
+            long lsn;
+
+            lock.lock();
+            try {
+                if (fsync == FsyncPolicy.GROUP) {
+                    while (running && durableLsn == writtenLsn)
+                        pending.awaitUninterruptibly();
+                } else {
+                    pending.awaitNanos(fsyncIntervalNanos);
+                }
+                if (!running)
+                    return;
+
+                target = segment;
+                lsn = writtenLsn;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            // Sem a trava: as gravações continuam durante o fsync
+            target.force();
+
+            lock.lock();
+            try {
+                if (lsn > durableLsn)
+                    durableLsn = lsn;
+                synced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void encode(long lsn, Transaction transaction) {
+        var source = transaction.getSourceAccount();
+        var receiver = transaction.getReceiverAccount();
+        var dateTime = transaction.getDateTime();
+
+        record.clear();
+        record.putLong(lsn)
+                .putLong(dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000)
+                .putLong(source != null ? source.getId() : 0)
+                .putLong(source != null ? source.getBalance() : 0)
+                .putLong(receiver != null ? receiver.getId() : 0)
+                .putLong(receiver != null ? receiver.getBalance() : 0)
+                .putLong(transaction.getAmount())
+                .put((byte) transaction.getType().ordinal());
+
+        crc.reset();
+        crc.update(record.array(), 0, CRC_OFFSET);
+        record.putInt(CRC_OFFSET, (int) crc.getValue());
+    }
+
+    /**
+     * Lê o próximo registro, se ele for válido e tiver o LSN esperado.
+     */
+    private Transaction decode(ByteBuffer buffer, long expectedLsn) {
+        int start = buffer.position();
+        buffer.get(record.array(), 0, RECORD_SIZE);
+
+        crc.reset();
+        crc.update(record.array(), 0, CRC_OFFSET);
+        record.clear();
+        if (record.getLong(0) != expectedLsn || record.getInt(CRC_OFFSET) != (int) crc.getValue()) {
+            buffer.position(start);
+            return null;
+        }
+
+        long micros = record.getLong(8);
+        var transaction = new Transaction(account(record.getLong(16), record.getLong(24)),
+                account(record.getLong(32), record.getLong(40)), record.getLong(48),
+                TransactionType.values()[record.get(56)]);
+        transaction.setDateTime(LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC));
+        return transaction;
+    }
+
+    private static Account account(long id, long balance) {
+        if (id == 0)
+            return null;
+
+        var account = new Account();
+        account.setId(id);
+        account.setBalance(balance);
+        return account;
+    }
+}
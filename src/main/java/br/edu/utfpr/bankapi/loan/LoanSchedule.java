@@ -0,0 +1,96 @@
+package br.edu.utfpr.bankapi.loan;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import br.edu.utfpr.bankapi.dto.AmortizationSystem;
+import br.edu.utfpr.bankapi.dto.InstallmentDTO;
+import br.edu.utfpr.bankapi.dto.LoanDTO;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.service.InterestCalculator;
+
+/**
+ * Tabela de parcelas de um empréstimo, gerada uma parcela por vez: guarda
+ * apenas o saldo devedor e o número da próxima parcela, de modo que um prazo
+ * longo (360 meses, ou milhares de dias) nunca é montado numa lista.
+ *
+ * Os valores são em centavos. Os juros de cada parcela são o saldo devedor
+ * vezes a taxa, arredondados pelo critério do banqueiro; a taxa por período é
+ * a mesma de {@link InterestCalculator} ({@code fator(taxa, 1) - 1}). A
+ * parcela fixa (Price) é arredondada para cima, de modo que toda parcela
+ * amortiza ao menos um centavo; a última amortiza o que restar do saldo,
+ * absorvendo os arredondamentos.
+ */
+public class LoanSchedule implements Iterator<InstallmentDTO> {
+
+    private final AmortizationSystem system;
+
+    private final int prazo;
+
+    private final double taxa;
+
+    /**
+     * Parcela fixa (Price) ou amortização fixa (SAC).
+     */
+    private final long fixed;
+
+    private long balance;
+
+    private int number;
+
+    public LoanSchedule(LoanDTO loan) {
+        this.system = loan.system();
+        this.prazo = loan.prazo();
+        this.taxa = InterestCalculator.fator(loan.taxa(), 1) - 1;
+        this.balance = loan.principal();
+
+        if (system == AmortizationSystem.SAC || taxa == 0) {
+            this.fixed = loan.principal() / prazo;
+        } else {
+            // PMT = P * i * (1 + i)^n / ((1 + i)^n - 1), arredondada para cima e
+            // ao menos um centavo acima dos juros da primeira parcela: em prazos
+            // longos PMT fica a menos de um centavo de P * i, e arredondar para
+            // o centavo mais próximo zeraria a amortização de todas as parcelas,
+            // deixando o principal inteiro para a última. Com (1 + i)^n fora do
+            // alcance do double vale só esse mínimo.
+            double fator = InterestCalculator.fator(loan.taxa(), prazo);
+            long minimum = Money.add((long) Math.rint(loan.principal() * taxa), 1);
+            this.fixed = Double.isInfinite(fator)
+                    ? minimum
+                    : Math.max(minimum, (long) Math.ceil(loan.principal() * taxa * fator / (fator - 1)));
+        }
+    }
+
+    public static Stream<InstallmentDTO> stream(LoanDTO loan) {
+        return StreamSupport.stream(Spliterators.spliterator(new LoanSchedule(loan), loan.prazo(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return number < prazo;
+    }
+
+    @Override
+    public InstallmentDTO next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        number++;
+        long interest = (long) Math.rint(balance * taxa);
+        long amortization;
+        if (number == prazo)
+            amortization = balance;
+        else if (system == AmortizationSystem.SAC || taxa == 0)
+            amortization = Math.min(fixed, balance);
+        else
+            amortization = Math.max(0, Math.min(fixed - interest, balance));
+
+        balance -= amortization;
+        return new InstallmentDTO(number, Money.add(amortization, interest), interest, amortization, balance);
+    }
+}
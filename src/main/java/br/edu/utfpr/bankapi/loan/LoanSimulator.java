@@ -0,0 +1,86 @@
+package br.edu.utfpr.bankapi.loan;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import br.edu.utfpr.bankapi.dto.InstallmentDTO;
+import br.edu.utfpr.bankapi.dto.LoanDTO;
+import br.edu.utfpr.bankapi.dto.LoanSummaryDTO;
+import br.edu.utfpr.bankapi.money.Money;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Simulação de empréstimos pelos sistemas Price e SAC.
+ *
+ * Uma simulação isolada devolve as parcelas como um {@link Stream}, gerado
+ * sob demanda pelo {@link LoanSchedule}. Várias simulações de uma vez são
+ * divididas entre as threads de um {@link ForkJoinPool} próprio
+ * ({@code bankapi.loan.parallelism}), para não ocupar o pool comum usado pelo
+ * restante da aplicação; de cada uma é devolvido apenas o resumo.
+ */
+@Service
+public class LoanSimulator {
+
+    private final ForkJoinPool pool;
+
+    private final int maxScenarios;
+
+    public LoanSimulator(@Value("${bankapi.loan.parallelism:0}") int parallelism,
+            @Value("${bankapi.loan.max-scenarios:10000}") int maxScenarios) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxScenarios = maxScenarios;
+    }
+
+    public Stream<InstallmentDTO> schedule(LoanDTO loan) {
+        return LoanSchedule.stream(loan);
+    }
+
+    public LoanSummaryDTO summarize(int index, LoanDTO loan) {
+        var schedule = new LoanSchedule(loan);
+        long first = 0, last = 0, paid = 0, interest = 0;
+        while (schedule.hasNext()) {
+            var installment = schedule.next();
+            if (installment.number() == 1)
+                first = installment.payment();
+            last = installment.payment();
+            paid = Money.add(paid, installment.payment());
+            interest = Money.add(interest, installment.interest());
+        }
+        return new LoanSummaryDTO(index, loan.system(), loan.prazo(), first, last, paid, interest);
+    }
+
+    /**
+     * Resume as simulações em paralelo, na ordem recebida.
+     *
+     * @throws IllegalArgumentException com mais de
+     *                                  {@code bankapi.loan.max-scenarios}
+     *                                  simulações
+     */
+    public List<LoanSummaryDTO> summarize(List<LoanDTO> loans) throws InterruptedException {
+        if (loans.size() > maxScenarios)
+            throw new IllegalArgumentException("Máximo de " + maxScenarios + " simulações por requisição");
+
+        try {
+            return pool.submit(() -> IntStream.range(0, loans.size())
+                    .parallel()
+                    .mapToObj(i -> summarize(i, loans.get(i)))
+                    .toList())
+                    .get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime)
+                throw runtime;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        pool.shutdown();
+    }
+}
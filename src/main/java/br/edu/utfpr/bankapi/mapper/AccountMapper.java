@@ -0,0 +1,42 @@
+package br.edu.utfpr.bankapi.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.AccountResponseDTO;
+import br.edu.utfpr.bankapi.dto.PageDTO;
+import br.edu.utfpr.bankapi.model.Account;
+
+/**
+ * Conversão entre os DTOs e a entidade {@link Account}, campo a campo, sem
+ * reflexão.
+ */
+public final class AccountMapper {
+
+    private AccountMapper() {
+    }
+
+    public static Account toEntity(AccountDTO dto) {
+        return new Account(dto.name(), dto.number(), dto.balance(), dto.specialLimit());
+    }
+
+    public static AccountResponseDTO toResponse(Account account) {
+        if (account == null)
+            return null;
+
+        return new AccountResponseDTO(account.getId(), account.getName(), account.getNumber(),
+                account.getBalance(), account.getSpecialLimit(), account.getBalanceWithLimit());
+    }
+
+    public static List<AccountResponseDTO> toResponse(List<Account> accounts) {
+        var res = new ArrayList<AccountResponseDTO>(accounts.size());
+        for (var account : accounts)
+            res.add(toResponse(account));
+        return res;
+    }
+
+    public static PageDTO<AccountResponseDTO> toResponse(PageDTO<Account> page) {
+        return new PageDTO<>(toResponse(page.items()), page.nextCursor());
+    }
+}
@@ -0,0 +1,37 @@
+package br.edu.utfpr.bankapi.mapper;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Conversão entre os DTOs de operação e a entidade {@link Transaction}, campo a
+ * campo, sem reflexão. As contas são definidas pelo serviço após a validação.
+ */
+public final class TransactionMapper {
+
+    private TransactionMapper() {
+    }
+
+    public static Transaction toEntity(TransferDTO dto) {
+        return new Transaction(null, null, dto.amount(), TransactionType.TRANSFER);
+    }
+
+    public static Transaction toEntity(DepositDTO dto) {
+        return new Transaction(null, null, dto.amount(), TransactionType.DEPOSIT);
+    }
+
+    public static Transaction toEntity(WithdrawDTO dto) {
+        return new Transaction(null, null, dto.amount(), TransactionType.WITHDRAW);
+    }
+
+    public static TransactionResponseDTO toResponse(Transaction transaction) {
+        return new TransactionResponseDTO(transaction.getId(),
+                AccountMapper.toResponse(transaction.getSourceAccount()),
+                AccountMapper.toResponse(transaction.getReceiverAccount()),
+                transaction.getAmount(), transaction.getType(), transaction.getDateTime());
+    }
+}
@@ -0,0 +1,141 @@
+package br.edu.utfpr.bankapi.metrics;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas das transferências, depósitos e saques.
+ *
+ * O tempo de cada fase de uma operação fica em
+ * {@code bankapi.transaction.phase} (tags {@code type} e {@code phase}) e o
+ * resultado das operações em {@code bankapi.transaction.outcome} (tags
+ * {@code type} e {@code outcome}). Os medidores são registrados uma única vez
+ * e mantidos em tabelas, sem consultas ao registro a cada operação.
+ */
+@Component
+public class TransactionMetrics {
+
+    public enum Phase {
+        /** Busca e validação das contas */
+        ACCOUNT_LOOKUP("account-lookup"),
+        /** Verificação de saldo, incluindo a leitura da conta quando adiada */
+        BALANCE_VALIDATION("balance-validation"),
+        /** UPDATEs condicionais de débito e crédito */
+        CONDITIONAL_UPDATE("conditional-update"),
+        /** Alteração dos saldos e gravação da transação */
+        PERSISTENCE("persistence"),
+        /** Flush e commit da transação do banco */
+        COMMIT("commit");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum Outcome {
+        SUCCESS("success"),
+        WITHOUT_BALANCE("without-balance"),
+        NOT_FOUND("not-found"),
+        ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Timer[][] phases = new Timer[TransactionType.values().length][Phase.values().length];
+
+    private final Counter[][] outcomes = new Counter[TransactionType.values().length][Outcome.values().length];
+
+    public TransactionMetrics(MeterRegistry registry) {
+        for (var type : TransactionType.values()) {
+            var typeTag = type.name().toLowerCase();
+
+            for (var phase : Phase.values())
+                phases[type.ordinal()][phase.ordinal()] = Timer.builder("bankapi.transaction.phase")
+                        .description("Tempo de cada fase das operações")
+                        .tags("type", typeTag, "phase", phase.tag)
+                        .register(registry);
+
+            for (var outcome : Outcome.values())
+                outcomes[type.ordinal()][outcome.ordinal()] = Counter.builder("bankapi.transaction.outcome")
+                        .description("Resultado das operações")
+                        .tags("type", typeTag, "outcome", outcome.tag)
+                        .register(registry);
+        }
+    }
+
+    /**
+     * Registra a fase iniciada em {@code start} (de {@link System#nanoTime()}).
+     *
+     * @return o instante final, início da fase seguinte
+     */
+    public long record(TransactionType type, Phase phase, long start) {
+        long end = System.nanoTime();
+        phases[type.ordinal()][phase.ordinal()].record(end - start, TimeUnit.NANOSECONDS);
+        return end;
+    }
+
+    /**
+     * Mede o flush e o commit da transação corrente, se houver. Com group
+     * commit cada operação do lote registra o tempo de commit do lote.
+     */
+    public void recordCommit(TransactionType type) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            long start;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                start = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED && start != 0)
+                    record(type, Phase.COMMIT, start);
+            }
+        });
+    }
+
+    /**
+     * Executa a operação contando o seu resultado.
+     */
+    public <T> T count(TransactionType type, Callable<T> operation) throws Exception {
+        try {
+            var result = operation.call();
+            increment(type, Outcome.SUCCESS);
+            return result;
+        } catch (WithoutBalanceException e) {
+            increment(type, Outcome.WITHOUT_BALANCE);
+            throw e;
+        } catch (NotFoundException e) {
+            increment(type, Outcome.NOT_FOUND);
+            throw e;
+        } catch (Exception e) {
+            increment(type, Outcome.ERROR);
+            throw e;
+        }
+    }
+
+    private void increment(TransactionType type, Outcome outcome) {
+        outcomes[type.ordinal()][outcome.ordinal()].increment();
+    }
+}
@@ -1,12 +1,18 @@
 package br.edu.utfpr.bankapi.model;
 
 import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.money.JsonMoney;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.money.MoneyConverter;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,7 +24,8 @@ import lombok.NoArgsConstructor;
 @Table(name = "tb_account")
 public class Account {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+    @SequenceGenerator(name = "account_seq", sequenceName = "tb_account_seq", allocationSize = 50)
     private long id;
 
     @Column(nullable = false)
@@ -28,17 +35,36 @@ public class Account {
     private long number;
     // private int checkDigit;
 
-    @Column(nullable = false)
-    private double balance;
+    /**
+     * Saldo em centavos.
+     */
+    @JsonMoney
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 19, scale = 2)
+    private long balance;
+
+    /**
+     * Limite especial em centavos.
+     */
+    @JsonMoney
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 19, scale = 2)
+    private long specialLimit;
 
+    /**
+     * Versão para a concorrência otimista: cada UPDATE confere e incrementa o
+     * valor, recusando a gravação de quem leu uma versão antiga.
+     */
+    @Version
     @Column(nullable = false)
-    private double specialLimit;
+    private long version;
 
-    public double getBalanceWithLimit() {
-        return balance + specialLimit;
+    @JsonMoney
+    public long getBalanceWithLimit() {
+        return Money.add(balance, specialLimit);
     }
 
-    public Account(String name, long number, double balance, double specialLimit) {
+    public Account(String name, long number, long balance, long specialLimit) {
         this.name = name;
         this.number = number;
         this.balance = balance;
@@ -0,0 +1,55 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.io.Serializable;
+
+import br.edu.utfpr.bankapi.money.MoneyConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Movimento líquido (créditos menos débitos) de uma conta em um dos
+ * intervalos de tempo em que as transações de um novo snapshot são divididas.
+ * Tabela de trabalho: as linhas são gravadas em paralelo, um intervalo por
+ * vez, somadas ao snapshot anterior e apagadas (ver BalanceJournal). Cada
+ * execução usa o seu próprio {@code run_id}, para que execuções simultâneas,
+ * em outras instâncias, não vejam nem apaguem as linhas umas das outras.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tb_balance_flow")
+public class BalanceFlow {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Embeddable
+    public static class Key implements Serializable {
+        @Column(name = "run_id", length = 36)
+        private String runId;
+
+        @Column(name = "chunk")
+        private int chunk;
+
+        @Column(name = "account_id")
+        private long accountId;
+    }
+
+    @EmbeddedId
+    private Key id;
+
+    /**
+     * Movimento em centavos.
+     */
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 19, scale = 2)
+    private long delta;
+}
@@ -0,0 +1,47 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Snapshot dos saldos derivados do diário de transações: os saldos das
+ * contas ({@link BalanceSnapshotEntry}) considerando todas as transações com
+ * {@code date_time} anterior a {@code cutoff}.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "tb_balance_snapshot", indexes = @Index(name = "idx_balance_snapshot_cutoff", columnList = "cutoff"))
+public class BalanceSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_snapshot_seq")
+    @SequenceGenerator(name = "balance_snapshot_seq", sequenceName = "tb_balance_snapshot_seq", allocationSize = 1)
+    private long id;
+
+    @Column(nullable = false)
+    private LocalDateTime cutoff;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Quantidade de contas no snapshot.
+     */
+    @Column(nullable = false)
+    private int accounts;
+
+    public BalanceSnapshot(LocalDateTime cutoff) {
+        this.cutoff = cutoff;
+        this.createdAt = LocalDateTime.now();
+    }
+}
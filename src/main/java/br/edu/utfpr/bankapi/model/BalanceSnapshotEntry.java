@@ -0,0 +1,48 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.io.Serializable;
+
+import br.edu.utfpr.bankapi.money.MoneyConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Saldo de uma conta em um {@link BalanceSnapshot}. As linhas são gravadas
+ * por INSERT ... SELECT no banco (ver BalanceSnapshotRepository).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tb_balance_snapshot_entry")
+public class BalanceSnapshotEntry {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Embeddable
+    public static class Key implements Serializable {
+        @Column(name = "snapshot_id")
+        private long snapshotId;
+
+        @Column(name = "account_id")
+        private long accountId;
+    }
+
+    @EmbeddedId
+    private Key id;
+
+    /**
+     * Saldo em centavos.
+     */
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 19, scale = 2)
+    private long balance;
+}
@@ -0,0 +1,60 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resposta já enviada para uma Idempotency-Key, persistida para sobreviver a
+ * reinícios da aplicação. A chave é reservada (PENDING) antes de a operação
+ * ser executada, para que outra instância não a execute também.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tb_idempotency_key", indexes = @Index(name = "idx_idempotency_created_at", columnList = "created_at"))
+public class IdempotencyRecord {
+
+    public static final int MAX_KEY_LENGTH = 128;
+
+    public enum Status {
+        /**
+         * Chave reservada, operação em execução.
+         */
+        PENDING,
+        /**
+         * Operação concluída; {@code response} contém a resposta.
+         */
+        COMPLETED
+    }
+
+    @Id
+    @Column(length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    /**
+     * SHA-256 do JSON canônico da requisição.
+     */
+    @Column(nullable = false, length = 512)
+    private String fingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(length = 4000)
+    private String response;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
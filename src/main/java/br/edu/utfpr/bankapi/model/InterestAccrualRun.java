@@ -0,0 +1,67 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.time.LocalDateTime;
+
+import br.edu.utfpr.bankapi.money.MoneyConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Execução do crédito de juros de um mês. Gravada junto com cada bloco de
+ * contas creditado, guarda até qual conta os juros já foram lançados, para a
+ * execução ser retomada desse ponto após uma falha.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "tb_interest_accrual_run")
+public class InterestAccrualRun {
+    /**
+     * Mês de referência (2024-05).
+     */
+    @Id
+    @Column(length = 7)
+    private String period;
+
+    /**
+     * Taxa mensal em porcentagem, fixada no início da execução.
+     */
+    @Column(nullable = false)
+    private float rate;
+
+    /**
+     * Maior id de conta já processado.
+     */
+    @Column(name = "last_account_id", nullable = false)
+    private long lastAccountId;
+
+    /**
+     * Quantidade de contas creditadas.
+     */
+    @Column(nullable = false)
+    private long accounts;
+
+    /**
+     * Total creditado em centavos.
+     */
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 19, scale = 2)
+    private long total;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public InterestAccrualRun(String period, float rate) {
+        this.period = period;
+        this.rate = rate;
+        this.startedAt = LocalDateTime.now();
+    }
+}
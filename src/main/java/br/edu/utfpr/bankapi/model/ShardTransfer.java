@@ -0,0 +1,107 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.time.LocalDateTime;
+
+import br.edu.utfpr.bankapi.money.MoneyConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Transferência entre contas de shards diferentes.
+ *
+ * No shard de origem é a saída (outbox), gravada junto com o débito e
+ * pendente até o crédito ser confirmado ou estornado. No shard de destino é a
+ * entrada, gravada junto com o crédito (ou com a recusa, se a conta de destino
+ * não existe), que impede que a mesma transferência seja creditada duas vezes
+ * ou creditada depois de estornada.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tb_shard_transfer", indexes = @Index(name = "idx_shard_transfer_status", columnList = "status, next_attempt_at"))
+public class ShardTransfer {
+
+    public enum Status {
+        /**
+         * Debitada na origem, crédito ainda não confirmado.
+         */
+        PENDING,
+        /**
+         * Creditada no destino.
+         */
+        COMPLETED,
+        /**
+         * Estornada na origem: a conta de destino não existe.
+         */
+        COMPENSATED,
+        /**
+         * Entrega abandonada após {@code bankapi.sharding.max-attempts}
+         * tentativas; o débito continua na origem e exige verificação manual.
+         */
+        FAILED,
+        /**
+         * Registro de entrada, no shard de destino.
+         */
+        RECEIVED,
+        /**
+         * Registro de entrada recusada, no shard de destino: a conta de destino
+         * não existia na entrega.
+         */
+        REJECTED
+    }
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "source_account_number", nullable = false)
+    private long sourceAccountNumber;
+
+    @Column(name = "receiver_account_number", nullable = false)
+    private long receiverAccountNumber;
+
+    /**
+     * Valor em centavos.
+     */
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 19, scale = 2)
+    private long amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Tentativas de entrega que falharam.
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 512)
+    private String lastError;
+
+    /**
+     * Próxima entrega pelo relay; adiada a cada falha.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    public ShardTransfer(String id, long sourceAccountNumber, long receiverAccountNumber, long amount,
+            Status status) {
+        this(id, sourceAccountNumber, receiverAccountNumber, amount, status, LocalDateTime.now(), 0, null, null);
+        this.nextAttemptAt = createdAt;
+    }
+}
@@ -2,23 +2,36 @@ package br.edu.utfpr.bankapi.model;
 
 import java.time.LocalDateTime;
 
+import br.edu.utfpr.bankapi.money.JsonMoney;
+import br.edu.utfpr.bankapi.money.MoneyConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "tb_transaction")
+@Table(name = "tb_transaction", indexes = {
+        // Extrato: lançamentos enviados e recebidos de uma conta, em ordem de data
+        @Index(name = "idx_transaction_source_date", columnList = "source_account_id, date_time"),
+        @Index(name = "idx_transaction_receiver_date", columnList = "receiver_account_id, date_time"),
+        // Diário: transações posteriores ao último snapshot dos saldos
+        @Index(name = "idx_transaction_date", columnList = "date_time")
+})
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "tb_transaction_seq", allocationSize = 50)
     private long id;
 
     @ManyToOne
@@ -29,18 +42,26 @@ public class Transaction {
     @JoinColumn(name = "receiver_account_id")
     private Account receiverAccount;
 
-    private double amount;
+    /**
+     * Valor em centavos.
+     */
+    @JsonMoney
+    @Convert(converter = MoneyConverter.class)
+    @Column(precision = 19, scale = 2)
+    private long amount;
 
     @Enumerated(EnumType.STRING)
     private TransactionType type;
 
+    @Column(name = "date_time")
     private LocalDateTime dateTime;
 
     public Transaction() {
         dateTime = LocalDateTime.now();
     }
 
-    public Transaction(Account sourceAccount, Account receiverAccount, double amount, TransactionType type) {
+    public Transaction(Account sourceAccount, Account receiverAccount, long amount, TransactionType type) {
+        this();
         this.sourceAccount = sourceAccount;
         this.receiverAccount = receiverAccount;
         this.amount = amount;
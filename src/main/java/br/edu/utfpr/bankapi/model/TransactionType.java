@@ -3,5 +3,14 @@ package br.edu.utfpr.bankapi.model;
 public enum TransactionType {
     TRANSFER,
     DEPOSIT,
-    WITHDRAW;
+    WITHDRAW,
+    /**
+     * Crédito de juros na conta de destino, sem conta de origem.
+     */
+    INTEREST,
+    /**
+     * Estorno, na conta de origem, de uma transferência entre shards cuja conta
+     * de destino não existe.
+     */
+    REVERSAL;
 }
@@ -0,0 +1,28 @@
+package br.edu.utfpr.bankapi.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Último registro do write-ahead log do modo ledger já gravado no banco,
+ * atualizado na mesma transação que grava o lote.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tb_wal_checkpoint")
+public class WalCheckpoint {
+    public static final int ID = 1;
+
+    @Id
+    private int id;
+
+    @Column(nullable = false)
+    private long lsn;
+}
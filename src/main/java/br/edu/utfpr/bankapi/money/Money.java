@@ -0,0 +1,96 @@
+package br.edu.utfpr.bankapi.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valores monetários em ponto fixo: um {@code long} com a quantidade de
+ * centavos (escala {@value #SCALE}).
+ *
+ * As operações trabalham apenas com {@code long}, sem alocação, e falham com
+ * {@link ArithmeticException} em caso de estouro em vez de perder precisão. A
+ * conversão para {@link BigDecimal} fica restrita às bordas: banco de dados,
+ * JSON e arquivos de importação.
+ */
+public final class Money {
+
+    /**
+     * Casas decimais da moeda.
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * Centavos em uma unidade da moeda.
+     */
+    public static final long UNIT = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Valor em centavos de uma quantia inteira da moeda, como
+     * {@code ofUnits(10)} para 10,00.
+     */
+    public static long ofUnits(long units) {
+        return Math.multiplyExact(units, UNIT);
+    }
+
+    /**
+     * Converte um valor decimal com no máximo {@value #SCALE} casas.
+     *
+     * @throws ArithmeticException se o valor tiver mais casas decimais ou não
+     *                             couber em um {@code long}
+     */
+    public static long of(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converte um valor decimal, arredondando para a escala da moeda pelo
+     * critério do banqueiro (HALF_EVEN).
+     */
+    public static long round(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Lê um valor no formato {@code 1234.56}.
+     *
+     * @throws NumberFormatException se o texto não for um número
+     * @throws ArithmeticException   se o valor tiver mais de {@value #SCALE}
+     *                               casas decimais
+     */
+    public static long parse(String value) {
+        return of(new BigDecimal(value));
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Formata o valor como {@code 1234.56}, sem passar por {@link BigDecimal}.
+     */
+    public static String toString(long cents) {
+        var sb = new StringBuilder(24);
+        if (cents < 0)
+            sb.append('-');
+
+        // Divide antes de tirar o sinal: Math.abs(Long.MIN_VALUE) é negativo
+        long units = Math.abs(cents / UNIT);
+        int fraction = (int) Math.abs(cents % UNIT);
+
+        sb.append(units).append('.');
+        if (fraction < 10)
+            sb.append('0');
+        return sb.append(fraction).toString();
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+}
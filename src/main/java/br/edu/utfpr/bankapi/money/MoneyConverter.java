@@ -0,0 +1,24 @@
+package br.edu.utfpr.bankapi.money;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava os valores em centavos como {@code NUMERIC(19, 2)}, mantendo a coluna
+ * legível em reais.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long cents) {
+        return cents != null ? Money.toBigDecimal(cents) : null;
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal value) {
+        return value != null ? Money.round(value) : null;
+    }
+}
@@ -0,0 +1,47 @@
+package br.edu.utfpr.bankapi.money;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+/**
+ * Lê um número decimal (ou texto com um número) como centavos. O texto do
+ * número é convertido diretamente, sem passar por {@code double}; valores com
+ * mais de duas casas decimais são recusados.
+ */
+public class MoneyDeserializer extends StdDeserializer<Long> {
+
+    public MoneyDeserializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        try {
+            if (p.hasToken(JsonToken.VALUE_NUMBER_INT))
+                return Money.ofUnits(p.getLongValue());
+            if (p.hasToken(JsonToken.VALUE_NUMBER_FLOAT))
+                return Money.of(p.getDecimalValue());
+            if (p.hasToken(JsonToken.VALUE_STRING))
+                return Money.parse(p.getText().trim());
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw InvalidFormatException.from(p, "Valor monetário inválido: " + p.getText(), p.getText(),
+                    Long.class);
+        }
+
+        return (Long) ctxt.handleUnexpectedToken(Long.class, p);
+    }
+
+    /**
+     * Os valores são {@code long}: ausentes ou nulos valem zero, como os demais
+     * campos primitivos.
+     */
+    @Override
+    public Long getNullValue(DeserializationContext ctxt) {
+        return 0L;
+    }
+}
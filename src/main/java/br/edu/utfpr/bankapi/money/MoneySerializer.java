@@ -0,0 +1,22 @@
+package br.edu.utfpr.bankapi.money;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Escreve o valor em centavos como número decimal.
+ */
+public class MoneySerializer extends StdSerializer<Long> {
+
+    public MoneySerializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public void serialize(Long cents, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeNumber(Money.toString(cents));
+    }
+}
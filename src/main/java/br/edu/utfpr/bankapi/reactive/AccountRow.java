@@ -0,0 +1,25 @@
+package br.edu.utfpr.bankapi.reactive;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import br.edu.utfpr.bankapi.dto.AccountResponseDTO;
+import br.edu.utfpr.bankapi.money.Money;
+
+/**
+ * Conta lida pelo R2DBC. Os valores chegam do banco em reais (NUMERIC) e são
+ * convertidos para centavos na resposta.
+ */
+@Table("tb_account")
+public record AccountRow(@Id Long id, String name, long number, BigDecimal balance,
+        @Column("special_limit") BigDecimal specialLimit, long version) {
+
+    public AccountResponseDTO toResponse() {
+        long balance = Money.of(this.balance);
+        long specialLimit = Money.of(this.specialLimit);
+        return new AccountResponseDTO(id, name, number, balance, specialLimit, Money.add(balance, specialLimit));
+    }
+}
@@ -0,0 +1,64 @@
+package br.edu.utfpr.bankapi.reactive;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.AccountResponseDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Variante reativa do {@code AccountController}, ativa com o perfil
+ * {@code reactive}. Cobre o cadastro e as consultas; importação, paginação e
+ * extrato continuam apenas na API servlet.
+ */
+@RestController
+@RequestMapping("/account")
+@Profile("reactive")
+public class ReactiveAccountController {
+
+    private final ReactiveAccountService accountService;
+
+    public ReactiveAccountController(ReactiveAccountService accountService) {
+        this.accountService = accountService;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> create(@RequestBody @Valid AccountDTO dto) {
+        return accountService.save(dto)
+                .map(account -> ResponseEntity.status(HttpStatus.CREATED).<Object>body(account.toResponse()))
+                .onErrorResume(exception -> Mono.just(ResponseEntity.badRequest().<Object>body(exception.getMessage())));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Object>> update(@PathVariable("id") long id, @RequestBody @Valid AccountDTO dto) {
+        return accountService.update(id, dto)
+                .map(account -> ResponseEntity.ok().<Object>body(account.toResponse()))
+                .onErrorResume(NotFoundException.class,
+                        exception -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).<Object>body(exception.getMessage())))
+                .onErrorResume(exception -> Mono.just(ResponseEntity.badRequest().<Object>body(exception.getMessage())));
+    }
+
+    @GetMapping
+    public Flux<AccountResponseDTO> getAll() {
+        return accountService.getAll().map(AccountRow::toResponse);
+    }
+
+    @GetMapping("/{number}")
+    public Mono<ResponseEntity<AccountResponseDTO>> getByNumber(@PathVariable("number") long number) {
+        return accountService.getByNumber(number)
+                .map(account -> ResponseEntity.ok(account.toResponse()))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,66 @@
+package br.edu.utfpr.bankapi.reactive;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Equivalente reativo do {@code AccountRepository}. Os ids vêm da mesma
+ * sequence usada pela JPA; cada {@code nextval} consome um bloco inteiro do
+ * otimizador da JPA, sem risco de repetir ids.
+ */
+public interface ReactiveAccountRepository extends ReactiveCrudRepository<AccountRow, Long> {
+
+    public Mono<AccountRow> findByNumber(long number);
+
+    public Mono<Boolean> existsByNumber(long number);
+
+    @Query("select nextval('tb_account_seq')")
+    public Mono<Long> nextId();
+
+    @Modifying
+    @Query("""
+            insert into tb_account (id, name, number, balance, special_limit, version)
+            values (:id, :name, :number, 0, :specialLimit, 0)
+            """)
+    public Mono<Integer> insert(long id, String name, long number, BigDecimal specialLimit);
+
+    /**
+     * @return 1 se a conta foi alterada; 0 se ela não existe
+     */
+    @Modifying
+    @Query("""
+            update tb_account set name = :name, number = :number, special_limit = :specialLimit,
+            version = version + 1 where id = :id
+            """)
+    public Mono<Integer> update(long id, String name, long number, BigDecimal specialLimit);
+
+    /**
+     * Debita o valor apenas se o saldo mais o limite especial comportarem o
+     * débito.
+     *
+     * @param amount valor em reais
+     * @return 1 se a conta foi debitada; 0 se ela não existe ou não tem saldo
+     */
+    @Modifying
+    @Query("""
+            update tb_account set balance = balance - :amount, version = version + 1
+            where number = :number and balance + special_limit >= :amount
+            """)
+    public Mono<Integer> debit(long number, BigDecimal amount);
+
+    /**
+     * @param amount valor em reais
+     * @return 1 se a conta foi creditada; 0 se ela não existe
+     */
+    @Modifying
+    @Query("""
+            update tb_account set balance = balance + :amount, version = version + 1
+            where number = :number
+            """)
+    public Mono<Integer> credit(long number, BigDecimal amount);
+}
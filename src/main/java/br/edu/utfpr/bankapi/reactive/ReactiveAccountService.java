@@ -0,0 +1,49 @@
+package br.edu.utfpr.bankapi.reactive;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.money.Money;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cadastro de contas sobre R2DBC.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveAccountService {
+
+    private final ReactiveAccountRepository accountRepository;
+
+    public ReactiveAccountService(ReactiveAccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    public Flux<AccountRow> getAll() {
+        return accountRepository.findAll();
+    }
+
+    public Mono<AccountRow> getByNumber(long number) {
+        return accountRepository.findByNumber(number);
+    }
+
+    /**
+     * Cria a conta com saldo 0, como o {@code AccountService}.
+     */
+    public Mono<AccountRow> save(AccountDTO dto) {
+        return accountRepository.nextId()
+                .flatMap(id -> accountRepository
+                        .insert(id, dto.name(), dto.number(), Money.toBigDecimal(dto.specialLimit()))
+                        .then(Mono.defer(() -> accountRepository.findById(id))));
+    }
+
+    public Mono<AccountRow> update(long id, AccountDTO dto) {
+        return accountRepository.update(id, dto.name(), dto.number(), Money.toBigDecimal(dto.specialLimit()))
+                .flatMap(rows -> rows > 0
+                        ? accountRepository.findById(id)
+                        : Mono.<AccountRow>error(new NotFoundException()));
+    }
+}
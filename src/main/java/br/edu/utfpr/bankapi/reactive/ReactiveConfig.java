@@ -0,0 +1,33 @@
+package br.edu.utfpr.bankapi.reactive;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import io.r2dbc.spi.ConnectionFactory;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    /**
+     * Netty, com poucas threads de event loop, em vez do Tomcat que também está
+     * no classpath por causa da API servlet.
+     */
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Transações do R2DBC. O gerenciador não é registrado como bean para não
+     * disputar com o da JPA os {@code @Transactional} dos serviços.
+     */
+    @Bean
+    TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
@@ -0,0 +1,54 @@
+package br.edu.utfpr.bankapi.reactive;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Mono;
+
+/**
+ * Variante reativa do {@code TransactionController}, ativa com o perfil
+ * {@code reactive}. Mesmas rotas e respostas: 201 com a transação ou 400 com a
+ * mensagem de erro.
+ */
+@RestController
+@RequestMapping("/transaction")
+@Profile("reactive")
+public class ReactiveTransactionController {
+
+    private final ReactiveTransactionService transactionService;
+
+    public ReactiveTransactionController(ReactiveTransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    @PostMapping("/transfer")
+    public Mono<ResponseEntity<Object>> transfer(@RequestBody @Valid TransferDTO dto) {
+        return respond(transactionService.transfer(dto));
+    }
+
+    @PostMapping("/deposit")
+    public Mono<ResponseEntity<Object>> deposit(@RequestBody @Valid DepositDTO dto) {
+        return respond(transactionService.deposit(dto));
+    }
+
+    @PostMapping("/withdraw")
+    public Mono<ResponseEntity<Object>> withdraw(@RequestBody @Valid WithdrawDTO dto) {
+        return respond(transactionService.withdraw(dto));
+    }
+
+    private static Mono<ResponseEntity<Object>> respond(Mono<TransactionResponseDTO> operation) {
+        return operation
+                .map(transaction -> ResponseEntity.status(HttpStatus.CREATED).<Object>body(transaction))
+                .onErrorResume(exception -> Mono.just(ResponseEntity.badRequest().<Object>body(exception.getMessage())));
+    }
+}
@@ -0,0 +1,27 @@
+package br.edu.utfpr.bankapi.reactive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Equivalente reativo do {@code TransactionRepository}.
+ */
+public interface ReactiveTransactionRepository extends ReactiveCrudRepository<TransactionRow, Long> {
+
+    @Query("select nextval('tb_transaction_seq')")
+    public Mono<Long> nextId();
+
+    @Modifying
+    @Query("""
+            insert into tb_transaction (id, source_account_id, receiver_account_id, amount, type, date_time)
+            values (:id, :sourceAccountId, :receiverAccountId, :amount, :type, :dateTime)
+            """)
+    public Mono<Integer> insert(long id, Long sourceAccountId, Long receiverAccountId, BigDecimal amount,
+            String type, LocalDateTime dateTime);
+}
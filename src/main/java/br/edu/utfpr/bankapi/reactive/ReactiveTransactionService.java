@@ -0,0 +1,124 @@
+package br.edu.utfpr.bankapi.reactive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.money.Money;
+import reactor.core.publisher.Mono;
+
+/**
+ * Transferências, depósitos e saques sem bloqueio, sobre R2DBC.
+ *
+ * Os saldos são alterados por UPDATEs condicionais: o débito só é aplicado se
+ * o saldo mais o limite especial comportarem o valor. As verificações do
+ * {@code AvailableAccountValidation} e do {@code AvailableBalanceValidation}
+ * produzem as mesmas exceções, na mesma ordem (conta de origem, conta de
+ * destino, saldo). Cada operação executa numa transação e qualquer erro a
+ * desfaz.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTransactionService {
+
+    private final ReactiveAccountRepository accountRepository;
+
+    private final ReactiveTransactionRepository transactionRepository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveTransactionService(ReactiveAccountRepository accountRepository,
+            ReactiveTransactionRepository transactionRepository,
+            TransactionalOperator transactionalOperator) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    public Mono<TransactionResponseDTO> transfer(TransferDTO dto) {
+        var amount = Money.toBigDecimal(dto.amount());
+
+        var operation = debit(dto.sourceAccountNumber(), amount, dto.receiverAccountNumber())
+                .then(Mono.defer(() -> credit(dto.receiverAccountNumber(), amount)))
+                .then(Mono.defer(() -> Mono.zip(account(dto.sourceAccountNumber()),
+                        account(dto.receiverAccountNumber()))))
+                .flatMap(accounts -> record(accounts.getT1(), accounts.getT2(), dto.amount(),
+                        TransactionType.TRANSFER));
+
+        return transactionalOperator.transactional(operation);
+    }
+
+    public Mono<TransactionResponseDTO> deposit(DepositDTO dto) {
+        var operation = credit(dto.receiverAccountNumber(), Money.toBigDecimal(dto.amount()))
+                .then(Mono.defer(() -> account(dto.receiverAccountNumber())))
+                .flatMap(receiver -> record(null, receiver, dto.amount(), TransactionType.DEPOSIT));
+
+        return transactionalOperator.transactional(operation);
+    }
+
+    public Mono<TransactionResponseDTO> withdraw(WithdrawDTO dto) {
+        var operation = debit(dto.sourceAccountNumber(), Money.toBigDecimal(dto.amount()), null)
+                .then(Mono.defer(() -> account(dto.sourceAccountNumber())))
+                .flatMap(source -> record(source, null, dto.amount(), TransactionType.WITHDRAW));
+
+        return transactionalOperator.transactional(operation);
+    }
+
+    /**
+     * Debita a conta. Só quando o comando não altera nenhuma linha as contas são
+     * consultadas, para distinguir a conta inexistente da falta de saldo.
+     *
+     * @param receiver conta de destino de uma transferência, verificada antes da
+     *                 falta de saldo; nulo nos saques
+     */
+    private Mono<Void> debit(long number, BigDecimal amount, Long receiver) {
+        return accountRepository.debit(number, amount)
+                .flatMap(rows -> rows > 0
+                        ? Mono.<Void>empty()
+                        : exists(number)
+                                .then(Mono.defer(() -> receiver != null ? exists(receiver) : Mono.<Void>empty()))
+                                .then(Mono.<Void>error(new WithoutBalanceException())));
+    }
+
+    private Mono<Void> credit(long number, BigDecimal amount) {
+        return accountRepository.credit(number, amount)
+                .flatMap(rows -> rows > 0 ? Mono.<Void>empty() : Mono.<Void>error(notFound(number)));
+    }
+
+    private Mono<Void> exists(long number) {
+        return accountRepository.existsByNumber(number)
+                .flatMap(exists -> exists ? Mono.<Void>empty() : Mono.<Void>error(notFound(number)));
+    }
+
+    private Mono<AccountRow> account(long number) {
+        return accountRepository.findByNumber(number)
+                .switchIfEmpty(Mono.error(() -> notFound(number)));
+    }
+
+    private Mono<TransactionResponseDTO> record(AccountRow source, AccountRow receiver, long amount,
+            TransactionType type) {
+        var dateTime = LocalDateTime.now();
+
+        return transactionRepository.nextId()
+                .flatMap(id -> transactionRepository.insert(id, source != null ? source.id() : null,
+                        receiver != null ? receiver.id() : null, Money.toBigDecimal(amount), type.name(), dateTime)
+                        .thenReturn(new TransactionResponseDTO(id,
+                                source != null ? source.toResponse() : null,
+                                receiver != null ? receiver.toResponse() : null,
+                                amount, type, dateTime)));
+    }
+
+    private static NotFoundException notFound(long number) {
+        return new NotFoundException("Conta " + number + " inexistente");
+    }
+}
@@ -0,0 +1,17 @@
+package br.edu.utfpr.bankapi.reactive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Transação lida pelo R2DBC; as contas são referenciadas apenas pelo id.
+ */
+@Table("tb_transaction")
+public record TransactionRow(@Id Long id, @Column("source_account_id") Long sourceAccountId,
+        @Column("receiver_account_id") Long receiverAccountId, BigDecimal amount, String type,
+        @Column("date_time") LocalDateTime dateTime) {
+}
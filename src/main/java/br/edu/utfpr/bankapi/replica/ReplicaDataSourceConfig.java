@@ -0,0 +1,80 @@
+package br.edu.utfpr.bankapi.replica;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fontes de dados com réplicas de leitura, ativadas por
+ * {@code bankapi.datasource.replica.urls}. O banco principal continua
+ * configurado por {@code spring.datasource.*}; as réplicas usam o mesmo
+ * usuário e senha.
+ */
+@Configuration
+@ConditionalOnProperty("bankapi.datasource.replica.urls")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        var dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (dataSource.getPoolName() == null)
+            dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+            DataSourceProperties properties, MeterRegistry registry,
+            @Value("${bankapi.datasource.replica.urls}") List<String> urls,
+            @Value("${bankapi.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${bankapi.datasource.replica.routed-packages:br.edu.utfpr.bankapi.service.}") List<String> routedPackages,
+            @Value("${bankapi.datasource.replica.selection:ROUND_ROBIN}") ReplicaRoutingDataSource.Selection selection,
+            @Value("${bankapi.datasource.replica.max-lag:10s}") Duration maxLag,
+            @Value("${bankapi.datasource.replica.lag-query:" + LAG_QUERY + "}") String lagQuery) {
+        var replicas = new ArrayList<HikariDataSource>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            var replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i).trim())
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, routedPackages, selection, maxLag, lagQuery,
+                registry);
+    }
+
+    /**
+     * Atraso da réplica no PostgreSQL: zero se ela já aplicou tudo o que
+     * recebeu (uma réplica sem escritas recentes não está atrasada), senão o
+     * tempo desde a última transação aplicada.
+     */
+    static final String LAG_QUERY = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+            + "else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
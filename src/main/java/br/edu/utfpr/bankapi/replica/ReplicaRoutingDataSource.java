@@ -0,0 +1,197 @@
+package br.edu.utfpr.bankapi.replica;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Encaminha as transações somente leitura ({@code @Transactional(readOnly =
+ * true)}) às réplicas e todo o resto ao banco principal.
+ *
+ * Só vão às réplicas as transações iniciadas por métodos das classes em
+ * {@code bankapi.datasource.replica.routed-packages} (o nome da transação é o
+ * do método anotado). As transações somente leitura que o Spring Data abre
+ * sozinho em cada chamada de repositório continuam no principal: componentes
+ * que leem fora de uma transação própria, como o ledger ao carregar saldos ou
+ * o diário ao procurar o último snapshot, precisam dos dados atuais.
+ *
+ * O atraso de replicação de cada réplica é consultado a cada
+ * {@code bankapi.datasource.replica.lag-check-interval}; réplicas com atraso
+ * acima de {@code max-lag}, ou que não respondem, deixam de receber leituras
+ * até a próxima verificação. Sem réplica disponível, as leituras vão ao
+ * principal. Entre as disponíveis, a escolha é alternada (ROUND_ROBIN) ou pela
+ * que tem menos conexões em uso (LEAST_LOADED).
+ *
+ * A conexão é escolhida quando a transação já começou; por isso esta fonte
+ * deve ser usada através de um {@code LazyConnectionDataSourceProxy}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_LOADED
+    }
+
+    static final String PRIMARY = "primary";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final class Replica {
+        final String name;
+        final HikariDataSource dataSource;
+        volatile double lag = Double.NaN;
+        volatile boolean available;
+
+        Replica(HikariDataSource dataSource) {
+            this.name = dataSource.getPoolName();
+            this.dataSource = dataSource;
+        }
+
+        int activeConnections() {
+            var pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final List<String> routedPackages;
+
+    private final Selection selection;
+
+    private final Duration maxLag;
+
+    private final String lagQuery;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param replicas   fontes das réplicas; o nome do pool identifica cada uma
+     * @param lagQuery   consulta que devolve o atraso da réplica em segundos
+     *                   (nulo quando não há atraso)
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, List<String> routedPackages,
+            Selection selection, Duration maxLag, String lagQuery, MeterRegistry registry) {
+        this.routedPackages = routedPackages;
+        this.selection = selection;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+
+        var targets = new HashMap<Object, Object>();
+        targets.put(PRIMARY, primary);
+        for (var dataSource : replicas) {
+            var replica = new Replica(dataSource);
+            this.replicas.add(replica);
+            targets.put(replica.name, dataSource);
+
+            Gauge.builder("bankapi.datasource.replica.lag", replica, r -> r.lag)
+                    .description("Atraso de replicação na última verificação, em segundos")
+                    .tag("replica", replica.name)
+                    .register(registry);
+            Gauge.builder("bankapi.datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("1 se a réplica está recebendo leituras")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        // Nenhuma réplica recebe leituras antes da primeira verificação
+        checkLag();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !routed(TransactionSynchronizationManager.getCurrentTransactionName()))
+            return PRIMARY;
+
+        var replica = select();
+        return replica != null ? replica.name : PRIMARY;
+    }
+
+    private boolean routed(String transactionName) {
+        if (transactionName == null)
+            return false;
+
+        for (var prefix : routedPackages)
+            if (transactionName.startsWith(prefix))
+                return true;
+        return false;
+    }
+
+    private Replica select() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+
+        Replica selected = null;
+        int selectedLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            var replica = replicas.get((start + i) % size);
+            if (!replica.available)
+                continue;
+            if (selection == Selection.ROUND_ROBIN)
+                return replica;
+
+            int load = replica.activeConnections();
+            if (load < selectedLoad) {
+                selected = replica;
+                selectedLoad = load;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Consulta o atraso de cada réplica e atualiza quais recebem leituras.
+     */
+    @Scheduled(fixedDelayString = "${bankapi.datasource.replica.lag-check-interval:PT5S}")
+    public void checkLag() {
+        for (var replica : replicas) {
+            boolean available;
+            try (var connection = replica.dataSource.getConnection();
+                    var statement = connection.createStatement();
+                    var rs = statement.executeQuery(lagQuery)) {
+                replica.lag = rs.next() ? rs.getDouble(1) : 0;
+                available = replica.lag <= maxLag.toMillis() / 1000.0;
+            } catch (SQLException e) {
+                replica.lag = Double.NaN;
+                available = false;
+                if (replica.available)
+                    log.warn("Réplica {} indisponível: {}", replica.name, e.getMessage());
+            }
+
+            if (available != replica.available && !Double.isNaN(replica.lag))
+                log.info("Réplica {} {} (atraso de {} s)", replica.name,
+                        available ? "recebendo leituras" : "fora do rodízio", replica.lag);
+            replica.available = available;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (var replica : replicas)
+            replica.dataSource.close();
+    }
+}
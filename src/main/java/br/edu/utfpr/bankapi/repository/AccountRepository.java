@@ -1,11 +1,141 @@
 package br.edu.utfpr.bankapi.repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.money.Money;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
     public Optional<Account> getByNumber(long number);
+
+    public boolean existsByNumber(long number);
+
+    /**
+     * Busca a conta travando a linha para escrita (SELECT ... FOR UPDATE) até o
+     * fim da transação.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.number = :number")
+    public Optional<Account> findForUpdateByNumber(long number);
+
+    /**
+     * Busca várias contas numa única consulta (IN).
+     */
+    public List<Account> findByNumberIn(Collection<Long> numbers);
+
+    /**
+     * Busca e trava várias contas numa única consulta, sempre em ordem crescente
+     * de número, evitando deadlock entre lotes com contas em comum.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.number in :numbers order by a.number")
+    public List<Account> findForUpdateByNumberIn(Collection<Long> numbers);
+
+    /**
+     * Página seguinte a partir do último id lido (keyset pagination).
+     */
+    public List<Account> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    /**
+     * Percorre todas as contas com um cursor JDBC, buscando 500 linhas por vez.
+     * Deve ser consumido dentro de uma transação.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from Account a order by a.id")
+    public Stream<Account> streamAll();
+
+    /**
+     * Grava o saldo incrementando a versão, para que transações otimistas que
+     * leram o saldo anterior falhem em vez de sobrescrevê-lo.
+     */
+    @Modifying
+    @Query("update Account a set a.balance = :balance, a.version = a.version + 1 where a.id = :id")
+    public int updateBalance(long id, long balance);
+
+    /**
+     * Altera apenas os dados cadastrais da conta, sem gravar o saldo: uma
+     * gravação da entidade inteira poderia sobrescrever um saldo alterado
+     * depois da leitura (no modo ledger, pelo LedgerJournal). A versão é
+     * incrementada para que gravações otimistas da conta lida antes falhem.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Account a set a.name = :name, a.number = :number, a.specialLimit = :specialLimit,
+                a.version = a.version + 1
+            where a.id = :id
+            """)
+    public int updateDetails(long id, String name, long number, long specialLimit);
+
+    /**
+     * Conta como ficou após um UPDATE condicional, lida do próprio comando
+     * ({@code RETURNING}), sem outra consulta.
+     */
+    public interface UpdatedAccount {
+        long getId();
+
+        String getName();
+
+        long getNumber();
+
+        BigDecimal getBalance();
+
+        BigDecimal getSpecialLimit();
+
+        long getVersion();
+
+        default Account toAccount() {
+            return new Account(getId(), getName(), getNumber(), Money.of(getBalance()), Money.of(getSpecialLimit()),
+                    getVersion());
+        }
+    }
+
+    /**
+     * Debita o valor num único comando, apenas se o saldo mais o limite
+     * especial comportarem o débito, devolvendo a conta já debitada. O comando
+     * não passa pelo contexto de persistência: a conta devolvida não é
+     * gerenciada.
+     *
+     * @param amount valor em reais
+     * @return a conta debitada; vazio se ela não existe ou não tem saldo
+     */
+    @Transactional
+    @Query(value = """
+            update tb_account set balance = balance - :amount, version = version + 1
+            where number = :number and balance + special_limit >= :amount
+            returning id, name, number, balance, special_limit as "specialLimit", version
+            """, nativeQuery = true)
+    public Optional<UpdatedAccount> debit(long number, BigDecimal amount);
+
+    /**
+     * Credita o valor num único comando, devolvendo a conta já creditada.
+     *
+     * @param amount valor em reais
+     * @return a conta creditada; vazio se ela não existe
+     */
+    @Transactional
+    @Query(value = """
+            update tb_account set balance = balance + :amount, version = version + 1
+            where number = :number
+            returning id, name, number, balance, special_limit as "specialLimit", version
+            """, nativeQuery = true)
+    public Optional<UpdatedAccount> credit(long number, BigDecimal amount);
 }
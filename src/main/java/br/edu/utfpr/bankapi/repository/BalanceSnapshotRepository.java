@@ -0,0 +1,113 @@
+package br.edu.utfpr.bankapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import br.edu.utfpr.bankapi.model.BalanceSnapshot;
+
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    public Optional<BalanceSnapshot> findFirstByOrderByCutoffDesc();
+
+    @Query("select min(t.dateTime) from Transaction t")
+    public LocalDateTime firstTransactionAt();
+
+    @Query("select coalesce(max(a.id), 0) from Account a")
+    public long maxAccountId();
+
+    /**
+     * Grava em tb_balance_flow, na execução {@code runId}, o movimento líquido
+     * de cada conta nas transações do intervalo [from, to).
+     *
+     * @return quantidade de contas com movimento
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into tb_balance_flow (run_id, chunk, account_id, delta)
+            select cast(:runId as varchar(36)), cast(:chunk as integer), e.account_id, sum(e.delta)
+            from (
+                select source_account_id as account_id, -amount as delta from tb_transaction
+                where source_account_id is not null and date_time >= :from and date_time < :to
+                union all
+                select receiver_account_id, amount from tb_transaction
+                where receiver_account_id is not null and date_time >= :from and date_time < :to
+            ) e
+            group by e.account_id
+            """)
+    public int appendFlows(String runId, int chunk, LocalDateTime from, LocalDateTime to);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "delete from tb_balance_flow where run_id = :runId")
+    public int clearFlows(String runId);
+
+    /**
+     * Grava os saldos do snapshot: os saldos do snapshot anterior mais os
+     * movimentos da execução {@code runId} em tb_balance_flow, agregados no
+     * próprio banco.
+     *
+     * @return quantidade de contas gravadas
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into tb_balance_snapshot_entry (snapshot_id, account_id, balance)
+            select cast(:snapshotId as bigint), e.account_id, sum(e.delta)
+            from (
+                select account_id, balance as delta from tb_balance_snapshot_entry where snapshot_id = :previousId
+                union all
+                select account_id, delta from tb_balance_flow where run_id = :runId
+            ) e
+            group by e.account_id
+            """)
+    public int appendEntries(long snapshotId, long previousId, String runId);
+
+    /**
+     * Saldos de todas as contas: os do snapshot mais as transações a partir de
+     * {@code from}. Cada linha é (account_id, saldo em reais).
+     */
+    @Query(nativeQuery = true, value = """
+            select e.account_id, sum(e.delta)
+            from (
+                select account_id, balance as delta from tb_balance_snapshot_entry where snapshot_id = :snapshotId
+                union all
+                select source_account_id, -amount from tb_transaction
+                where source_account_id is not null and date_time >= :from
+                union all
+                select receiver_account_id, amount from tb_transaction
+                where receiver_account_id is not null and date_time >= :from
+            ) e
+            group by e.account_id
+            """)
+    public List<Object[]> replay(long snapshotId, LocalDateTime from);
+
+    /**
+     * Contas com id em [fromId, toId) cujo saldo em tb_account difere do saldo
+     * do snapshot mais as transações a partir de {@code cutoff}. Lido num
+     * único comando, o saldo e as transações confirmadas vêm do mesmo estado
+     * do banco. Cada linha é (id, número, saldo, saldo esperado), em reais.
+     */
+    @Query(nativeQuery = true, value = """
+            select a.id, a.number, a.balance, coalesce(s.balance, 0) + coalesce(f.delta, 0)
+            from tb_account a
+            left join tb_balance_snapshot_entry s on s.snapshot_id = :snapshotId and s.account_id = a.id
+            left join (
+                select e.account_id, sum(e.delta) as delta
+                from (
+                    select source_account_id as account_id, -amount as delta from tb_transaction
+                    where source_account_id >= :fromId and source_account_id < :toId and date_time >= :cutoff
+                    union all
+                    select receiver_account_id, amount from tb_transaction
+                    where receiver_account_id >= :fromId and receiver_account_id < :toId and date_time >= :cutoff
+                ) e
+                group by e.account_id
+            ) f on f.account_id = a.id
+            where a.id >= :fromId and a.id < :toId
+                and a.balance <> coalesce(s.balance, 0) + coalesce(f.delta, 0)
+            order by a.id
+            """)
+    public List<Object[]> mismatches(long snapshotId, LocalDateTime cutoff, long fromId, long toId);
+}
@@ -0,0 +1,38 @@
+package br.edu.utfpr.bankapi.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.utfpr.bankapi.model.IdempotencyRecord;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Reserva a chave. Falha com violação de chave primária se ela já existir,
+     * inclusive quando reservada ao mesmo tempo por outra instância.
+     */
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into tb_idempotency_key (idempotency_key, fingerprint, status, created_at)
+            values (:key, :fingerprint, 'PENDING', :createdAt)
+            """)
+    public void reserve(String key, String fingerprint, LocalDateTime createdAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update IdempotencyRecord r set r.status = :status, r.response = :response
+            where r.idempotencyKey = :key
+            """)
+    public int complete(String key, IdempotencyRecord.Status status, String response);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :limit")
+    public int deleteCreatedBefore(LocalDateTime limit);
+}
@@ -0,0 +1,24 @@
+package br.edu.utfpr.bankapi.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import br.edu.utfpr.bankapi.model.InterestAccrualRun;
+import jakarta.persistence.LockModeType;
+
+public interface InterestAccrualRunRepository extends JpaRepository<InterestAccrualRun, String> {
+
+    public List<InterestAccrualRun> findByFinishedAtIsNullOrderByPeriod();
+
+    /**
+     * Obtém a execução do mês com SELECT ... FOR UPDATE, travada até o fim da
+     * transação.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from InterestAccrualRun r where r.period = :period")
+    public Optional<InterestAccrualRun> findForUpdateByPeriod(String period);
+}
@@ -0,0 +1,18 @@
+package br.edu.utfpr.bankapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import br.edu.utfpr.bankapi.model.ShardTransfer;
+
+public interface ShardTransferRepository extends JpaRepository<ShardTransfer, String> {
+
+    /**
+     * Transferências no estado informado cuja próxima entrega já venceu.
+     */
+    public List<ShardTransfer> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(
+            ShardTransfer.Status status, LocalDateTime now, Limit limit);
+}
@@ -1,9 +1,46 @@
 package br.edu.utfpr.bankapi.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import br.edu.utfpr.bankapi.dto.StatementEntryDTO;
 import br.edu.utfpr.bankapi.model.Transaction;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    /**
+     * Lançamentos em que a conta é a origem, no intervalo [from, to) e após o
+     * par (afterDate, afterId). Usa o índice (source_account_id, date_time).
+     */
+    @Query("""
+            select new br.edu.utfpr.bankapi.dto.StatementEntryDTO(
+                t.id, t.type, t.amount, t.dateTime, s.number, r.number)
+            from Transaction t left join t.sourceAccount s left join t.receiverAccount r
+            where t.sourceAccount.id = :accountId
+              and t.dateTime >= :from and t.dateTime < :to
+              and (t.dateTime > :afterDate or (t.dateTime = :afterDate and t.id > :afterId))
+            order by t.dateTime, t.id
+            """)
+    public List<StatementEntryDTO> findSentStatement(long accountId, LocalDateTime from, LocalDateTime to,
+            LocalDateTime afterDate, long afterId, Limit limit);
+
+    /**
+     * Lançamentos em que a conta é o destino, no intervalo [from, to) e após o
+     * par (afterDate, afterId). Usa o índice (receiver_account_id, date_time).
+     */
+    @Query("""
+            select new br.edu.utfpr.bankapi.dto.StatementEntryDTO(
+                t.id, t.type, t.amount, t.dateTime, s.number, r.number)
+            from Transaction t left join t.sourceAccount s left join t.receiverAccount r
+            where t.receiverAccount.id = :accountId
+              and t.dateTime >= :from and t.dateTime < :to
+              and (t.dateTime > :afterDate or (t.dateTime = :afterDate and t.id > :afterId))
+            order by t.dateTime, t.id
+            """)
+    public List<StatementEntryDTO> findReceivedStatement(long accountId, LocalDateTime from, LocalDateTime to,
+            LocalDateTime afterDate, long afterId, Limit limit);
 }
@@ -1,16 +1,26 @@
 package br.edu.utfpr.bankapi.service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.edu.utfpr.bankapi.audit.AuditLog;
 import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.PageDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
+import br.edu.utfpr.bankapi.mapper.AccountMapper;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 public class AccountService {
@@ -18,24 +28,94 @@ public class AccountService {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
     public Optional<Account> getByNumber(long number) {
         return accountRepository.getByNumber(number);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Account> getById(long id) {
+        return accountRepository.findById(id);
+    }
+
+    @Transactional(readOnly = true)
     public List<Account> getAll() {
         return accountRepository.findAll();
     }
 
+    /**
+     * Obtém uma página de contas ordenadas por id, a partir do cursor devolvido
+     * pela página anterior.
+     *
+     * @param cursor cursor da página anterior ou nulo para a primeira página
+     * @param size   quantidade máxima de contas na página
+     * @return a página e o cursor da próxima
+     */
+    @Transactional(readOnly = true)
+    public PageDTO<Account> getPage(String cursor, int size) {
+        long after = cursor == null || cursor.isBlank() ? 0 : Long.parseLong(Cursors.decode(cursor, 1)[0]);
+        var accounts = accountRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(size));
+
+        var next = accounts.size() < size
+                ? null
+                : Cursors.encode(accounts.get(accounts.size() - 1).getId());
+        return new PageDTO<>(accounts, next);
+    }
+
+    /**
+     * Junta as páginas lidas em cada shard com o mesmo cursor numa única página,
+     * na ordem por id. Cada shard entrega as suas primeiras {@code size} contas
+     * após o cursor, portanto as {@code size} primeiras do conjunto formam a
+     * página.
+     */
+    public PageDTO<Account> merge(List<PageDTO<Account>> pages, int size) {
+        if (pages.size() == 1)
+            return pages.get(0);
+
+        var accounts = new ArrayList<Account>();
+        for (var page : pages)
+            accounts.addAll(page.items());
+        accounts.sort(Comparator.comparingLong(Account::getId));
+
+        var items = new ArrayList<>(accounts.subList(0, Math.min(size, accounts.size())));
+        var next = items.size() < size
+                ? null
+                : Cursors.encode(items.get(items.size() - 1).getId());
+        return new PageDTO<>(items, next);
+    }
+
+    /**
+     * Entrega todas as contas, uma a uma, lidas de um cursor do banco. Cada conta
+     * é desanexada após o uso para que a memória não cresça com a tabela.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Account> consumer) {
+        try (var accounts = accountRepository.streamAll()) {
+            accounts.forEach(account -> {
+                consumer.accept(account);
+                entityManager.detach(account);
+            });
+        }
+    }
+
     public Account save(AccountDTO dto) {
-        var account = new Account();
-        BeanUtils.copyProperties(dto, account);
+        var account = AccountMapper.toEntity(dto);
 
         account.setBalance(0); // Inicializar a conta com saldo 0.
 
-        System.out.println(account);
-
         // Salva a conta
-        return accountRepository.save(account);
+        var saved = accountRepository.save(account);
+        auditLog.account("create", saved);
+        return saved;
     }
 
     /**
@@ -45,20 +125,24 @@ public class AccountService {
      * @return
      * @throws NotFoundException
      */
+    @Transactional
     public Account update(long id, AccountDTO dto) throws NotFoundException {
         var res = accountRepository.findById(id);
 
         if (res.isEmpty())
             throw new NotFoundException();
 
-        var account = res.get();
-        account.setName(dto.name());
-        account.setNumber(dto.number());
-        account.setSpecialLimit(dto.specialLimit());
+        var previousNumber = res.get().getNumber();
 
-        System.out.println(account);
+        // Grava apenas os dados cadastrais; o saldo só é alterado pelas transações
+        accountRepository.updateDetails(id, dto.name(), dto.number(), dto.specialLimit());
+        var saved = accountRepository.findById(id).orElseThrow();
+        auditLog.account("update", saved);
 
-        // Salva a conta
-        return accountRepository.save(account);
+        // Mantém os dados cadastrais do ledger em memória atualizados
+        if (ledgerEngine != null)
+            ledgerEngine.refresh(previousNumber, saved);
+
+        return saved;
     }
 }
@@ -0,0 +1,43 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica os cursores opacos usados na paginação por keyset.
+ */
+final class Cursors {
+
+    private static final String SEPARATOR = "|";
+
+    private Cursors() {
+    }
+
+    static String encode(Object... parts) {
+        var joined = new StringBuilder();
+        for (var part : parts) {
+            if (!joined.isEmpty())
+                joined.append(SEPARATOR);
+            joined.append(part);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joined.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException se o cursor não tiver o número de partes
+     *                                  esperado
+     */
+    static String[] decode(String cursor, int parts) {
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR);
+            if (decoded.length != parts)
+                throw new IllegalArgumentException();
+            return decoded;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
@@ -8,10 +8,83 @@ import java.math.RoundingMode;
  */
 public class InterestCalculator {
 
+    private static final InterestFactorCache fatores = new InterestFactorCache();
+
     // Método para calcular juros compostos com base na taxa de juros mensal
     public static double calcularJuros(double valor, float taxa, int prazo) {
+        double juros = valor * fator(taxa, prazo) - valor;
+        return arredondar(juros);
+    }
+
+    /**
+     * Juros compostos de vários valores com a mesma taxa e prazo; cada posição
+     * de {@code out} recebe exatamente o resultado de
+     * {@link #calcularJuros(double, float, int)} para a mesma posição de
+     * {@code valores}.
+     */
+    public static void calcularJuros(double[] valores, float taxa, int prazo, double[] out) {
+        double fator = fator(taxa, prazo);
+        for (int i = 0; i < valores.length; i++)
+            out[i] = arredondar(valores[i] * fator - valores[i]);
+    }
+
+    /**
+     * Juros compostos sobre um valor em centavos, sem alocação.
+     *
+     * @param valor valor em centavos
+     * @return juros em centavos, arredondados pelo critério do banqueiro
+     */
+    public static long calcularJurosCentavos(long valor, float taxa, int prazo) {
+        double juros = valor * fator(taxa, prazo) - valor;
+        return (long) Math.rint(juros);
+    }
+
+    /**
+     * Fator de correção {@code (1 + taxa)^prazo}, como usado pelos métodos de
+     * cálculo: juros = valor * fator - valor. Guardado por par (taxa, prazo).
+     *
+     * @param taxa taxa de juros por período, em porcentagem
+     */
+    public static double fator(float taxa, int prazo) {
         float taxaDecimal = taxa / 100; // Convertendo a taxa para decimal
-        double juros = valor * Math.pow(1+taxaDecimal, prazo) - valor;
-        return new BigDecimal(juros).setScale(2, RoundingMode.HALF_EVEN).doubleValue();
+        return fatores.fator(taxaDecimal, prazo);
+    }
+
+    /**
+     * Arredonda para duas casas pelo critério do banqueiro, com o mesmo
+     * resultado de {@code new BigDecimal(valor).setScale(2, HALF_EVEN)
+     * .doubleValue()} mas sem alocação.
+     *
+     * O valor exato de {@code valor * 100} é comparado com os inteiros e os
+     * pontos médios vizinhos por {@link Math#fma}, que calcula
+     * {@code valor * 100 - c} com um único arredondamento e, portanto, com o
+     * sinal exato. O resultado {@code centavos / 100.0} é o double mais
+     * próximo, como o de {@link BigDecimal#doubleValue()}. Valores fora do
+     * intervalo em que os centavos cabem exatamente num double (e NaN ou
+     * infinito, que o BigDecimal recusa) seguem pelo BigDecimal.
+     */
+    static double arredondar(double valor) {
+        double escalado = valor * 100;
+        if (!(Math.abs(escalado) < 0x1p51))
+            return new BigDecimal(valor).setScale(2, RoundingMode.HALF_EVEN).doubleValue();
+
+        // Piso exato de valor * 100: o produto arredondado pode ter passado do inteiro
+        double piso = Math.floor(escalado);
+        if (Math.fma(valor, 100, -piso) < 0)
+            piso -= 1;
+        else if (Math.fma(valor, 100, -(piso + 1)) >= 0)
+            piso += 1;
+
+        double diferenca = Math.fma(valor, 100, -(piso + 0.5));
+        double centavos;
+        if (diferenca > 0)
+            centavos = piso + 1;
+        else if (diferenca < 0)
+            centavos = piso;
+        else
+            centavos = piso % 2 == 0 ? piso : piso + 1;
+
+        // + 0.0 descarta o zero negativo, que o BigDecimal não representa
+        return centavos / 100.0 + 0.0;
     }
 }
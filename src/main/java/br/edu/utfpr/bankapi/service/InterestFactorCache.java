@@ -0,0 +1,110 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache de {@code Math.pow(1 + taxa, prazo)} por par (taxa, prazo), num mapa
+ * de endereçamento aberto sobre arrays de primitivos: a chave é o par num
+ * {@code long} e a busca não aloca nenhum objeto.
+ *
+ * As tabelas são imutáveis depois de publicadas; uma chave nova gera uma cópia
+ * com ela (as consultas a pares novos são raras, as buscas não travam). Com a
+ * tabela cheia os fatores passam a ser calculados a cada chamada.
+ */
+final class InterestFactorCache {
+
+    private static final int MAX_SIZE = 4096;
+
+    private static final class Table {
+        final long[] keys;
+        final double[] values;
+        final int size;
+
+        Table(int capacity, int size) {
+            this.keys = new long[capacity];
+            this.values = new double[capacity];
+            this.size = size;
+        }
+    }
+
+    /**
+     * Serializa as cópias; ReentrantLock em vez de synchronized, que fixaria
+     * threads virtuais na thread portadora.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Table table = new Table(64, 0);
+
+    /**
+     * @param taxaDecimal taxa em decimal (0.015 para 1,5%)
+     */
+    double fator(float taxaDecimal, int prazo) {
+        // A chave 0 marca posição vazia; o par correspondente não é guardado
+        long key = ((long) Float.floatToRawIntBits(taxaDecimal) << 32) | (prazo & 0xffffffffL);
+        if (key == 0)
+            return compute(taxaDecimal, prazo);
+
+        var current = table;
+        int mask = current.keys.length - 1;
+        for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+            long k = current.keys[i];
+            if (k == key)
+                return current.values[i];
+            if (k == 0)
+                break;
+        }
+
+        double value = compute(taxaDecimal, prazo);
+        put(key, value);
+        return value;
+    }
+
+    private void put(long key, double value) {
+        lock.lock();
+        try {
+            var current = table;
+            if (current.size >= MAX_SIZE)
+                return;
+
+            // Até metade ocupada, para manter as sequências de busca curtas
+            int capacity = current.keys.length;
+            if ((current.size + 1) * 2 > capacity)
+                capacity *= 2;
+
+            var next = new Table(capacity, current.size + 1);
+            for (int i = 0; i < current.keys.length; i++)
+                if (current.keys[i] != 0)
+                    insert(next, current.keys[i], current.values[i]);
+            if (!insert(next, key, value))
+                return;
+            table = next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return false se a chave já estava na tabela
+     */
+    private static boolean insert(Table table, long key, double value) {
+        int mask = table.keys.length - 1;
+        for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+            if (table.keys[i] == key)
+                return false;
+            if (table.keys[i] == 0) {
+                table.keys[i] = key;
+                table.values[i] = value;
+                return true;
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static double compute(float taxaDecimal, int prazo) {
+        return Math.pow(1 + taxaDecimal, prazo);
+    }
+}
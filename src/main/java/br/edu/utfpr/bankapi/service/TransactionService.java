@@ -1,62 +1,135 @@
 package br.edu.utfpr.bankapi.service;
 
-import org.springframework.beans.BeanUtils;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.edu.utfpr.bankapi.audit.AuditLog;
 import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.PageDTO;
+import br.edu.utfpr.bankapi.dto.StatementEntryDTO;
+import br.edu.utfpr.bankapi.dto.TransferBatchItemDTO;
+import br.edu.utfpr.bankapi.dto.TransferBatchMode;
+import br.edu.utfpr.bankapi.dto.TransferBatchResultDTO;
 import br.edu.utfpr.bankapi.dto.TransferDTO;
 import br.edu.utfpr.bankapi.dto.WithdrawDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.mapper.TransactionMapper;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics.Phase;
+import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.model.Transaction;
 import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
 import br.edu.utfpr.bankapi.repository.TransactionRepository;
 import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
 import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
-import jakarta.transaction.Transactional;
 
 @Service
 public class TransactionService {
+    private static final Comparator<StatementEntryDTO> STATEMENT_ORDER = Comparator
+            .comparing(StatementEntryDTO::dateTime)
+            .thenComparingLong(StatementEntryDTO::id);
+
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private AccountRepository accountRepository;
+
     @Autowired
     private AvailableBalanceValidation availableBalanceValidation;
 
     @Autowired
     private AvailableAccountValidation availableAccountValidation;
 
-    @Transactional
+    @Autowired
+    private TransactionMetrics transactionMetrics;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    /**
+     * Com bankapi.transaction.conditional-update=true os saldos são alterados
+     * por UPDATEs condicionais, sem ler as contas antes.
+     */
+    @Value("${bankapi.transaction.conditional-update:false}")
+    private boolean conditionalUpdate;
+
+    /**
+     * A falta de saldo é detectada antes de qualquer alteração nas contas, por
+     * isso não precisa marcar a transação (ou o lote do group commit) para
+     * rollback.
+     */
+    @Transactional(noRollbackFor = WithoutBalanceException.class)
     public Transaction transfer(TransferDTO dto) throws NotFoundException {
-        var transaction = new Transaction();
-        transaction.setType(TransactionType.TRANSFER);
-        BeanUtils.copyProperties(dto, transaction);
+        return transfer(dto, false);
+    }
+
+    /**
+     * Transferência com a opção de travar as contas (SELECT ... FOR UPDATE) em
+     * vez de depender da verificação de versão no commit.
+     */
+    @Transactional(noRollbackFor = WithoutBalanceException.class)
+    public Transaction transfer(TransferDTO dto, boolean lock) throws NotFoundException {
+        if (conditionalUpdate)
+            return transferConditional(dto);
+
+        long time = System.nanoTime();
+        var transaction = TransactionMapper.toEntity(dto);
 
-        // Valida e obtém a Conta de ORIGEM da transferência
-        var source = availableAccountValidation.validate(dto.sourceAccountNumber());
-        // Valida e obtém Conta de DESTINO da transferência
-        var receiver = availableAccountValidation.validate(dto.receiverAccountNumber());
+        Account source;
+        Account receiver;
+        if (lock) {
+            // Trava as contas sempre em ordem crescente de número, evitando
+            // deadlock entre transferências em sentidos opostos
+            var first = availableAccountValidation
+                    .validateForUpdate(Math.min(dto.sourceAccountNumber(), dto.receiverAccountNumber()));
+            var second = availableAccountValidation
+                    .validateForUpdate(Math.max(dto.sourceAccountNumber(), dto.receiverAccountNumber()));
+            source = first.getNumber() == dto.sourceAccountNumber() ? first : second;
+            receiver = first.getNumber() == dto.receiverAccountNumber() ? first : second;
+        } else {
+            // Valida e obtém a Conta de ORIGEM da transferência
+            source = availableAccountValidation.validate(dto.sourceAccountNumber());
+            // Valida e obtém Conta de DESTINO da transferência
+            receiver = availableAccountValidation.validate(dto.receiverAccountNumber());
+        }
 
         // Seta a conta de origem da transferência
         transaction.setSourceAccount(source);
         // Seta a conta de destino da transferência
         transaction.setReceiverAccount(receiver);
+        time = transactionMetrics.record(TransactionType.TRANSFER, Phase.ACCOUNT_LOOKUP, time);
 
         // Verifica se a conta de origem possui saldo
         availableBalanceValidation.validate(transaction);
+        time = transactionMetrics.record(TransactionType.TRANSFER, Phase.BALANCE_VALIDATION, time);
 
         // Debitando o valor da conta de origem
         transaction.getSourceAccount()
-                .setBalance(transaction.getSourceAccount().getBalance() - transaction.getAmount());
+                .setBalance(Money.subtract(transaction.getSourceAccount().getBalance(), transaction.getAmount()));
 
         // Creditando o valor na conta de destino
         transaction.getReceiverAccount()
-                .setBalance(transaction.getReceiverAccount().getBalance() + transaction.getAmount());
-
-        System.out.println(transaction);
+                .setBalance(Money.add(transaction.getReceiverAccount().getBalance(), transaction.getAmount()));
 
         // Salvando a transação
-        return transactionRepository.save(transaction);
+        return persisted(TransactionType.TRANSFER, transactionRepository.save(transaction), time);
     }
 
     /**
@@ -68,24 +141,33 @@ public class TransactionService {
      */
     @Transactional
     public Transaction deposit(DepositDTO dto) throws NotFoundException {
-        var transaction = new Transaction();
-        transaction.setType(TransactionType.DEPOSIT);
-        BeanUtils.copyProperties(dto, transaction);
+        return deposit(dto, false);
+    }
+
+    /**
+     * Depósito com a opção de travar a conta de destino.
+     */
+    @Transactional
+    public Transaction deposit(DepositDTO dto, boolean lock) throws NotFoundException {
+        if (conditionalUpdate)
+            return depositConditional(dto);
+
+        long time = System.nanoTime();
+        var transaction = TransactionMapper.toEntity(dto);
 
         // Valida e obtém Conta de DESTINO do depósito
-        var receiver = availableAccountValidation.validate(dto.receiverAccountNumber());
+        var receiver = account(dto.receiverAccountNumber(), lock);
 
         // Seta a conta de destino do depósito
         transaction.setReceiverAccount(receiver);
-
-        System.out.println(transaction);
+        time = transactionMetrics.record(TransactionType.DEPOSIT, Phase.ACCOUNT_LOOKUP, time);
 
         // Creditando o valor do depósito na conta de destino
         transaction.getReceiverAccount()
-                .setBalance(transaction.getReceiverAccount().getBalance() + transaction.getAmount());
+                .setBalance(Money.add(transaction.getReceiverAccount().getBalance(), transaction.getAmount()));
 
         // Salvando a transação
-        return transactionRepository.save(transaction);
+        return persisted(TransactionType.DEPOSIT, transactionRepository.save(transaction), time);
     }
 
     /**
@@ -95,28 +177,294 @@ public class TransactionService {
      * 
      * @throws Exception
      */
-    @Transactional
+    @Transactional(noRollbackFor = WithoutBalanceException.class)
     public Transaction withdraw(WithdrawDTO dto) throws NotFoundException {
-        var transaction = new Transaction();
-        transaction.setType(TransactionType.WITHDRAW);
-        BeanUtils.copyProperties(dto, transaction);
+        return withdraw(dto, false);
+    }
+
+    /**
+     * Saque com a opção de travar a conta de origem.
+     */
+    @Transactional(noRollbackFor = WithoutBalanceException.class)
+    public Transaction withdraw(WithdrawDTO dto, boolean lock) throws NotFoundException {
+        if (conditionalUpdate)
+            return withdrawConditional(dto);
+
+        long time = System.nanoTime();
+        var transaction = TransactionMapper.toEntity(dto);
 
         // Valida e obtém a Conta de ORIGEM do Saque
-        var source = availableAccountValidation.validate(dto.sourceAccountNumber());
+        var source = account(dto.sourceAccountNumber(), lock);
 
         // Setando a conta de origem do saque
         transaction.setSourceAccount(source);
+        time = transactionMetrics.record(TransactionType.WITHDRAW, Phase.ACCOUNT_LOOKUP, time);
 
         // Verifica se a conta de origem possui saldo
         availableBalanceValidation.validate(transaction);
-
-        System.out.println(transaction);
+        time = transactionMetrics.record(TransactionType.WITHDRAW, Phase.BALANCE_VALIDATION, time);
 
         // Debitando o valor da conta de origem do saque
         transaction.getSourceAccount()
-                .setBalance(transaction.getSourceAccount().getBalance() - transaction.getAmount());
+                .setBalance(Money.subtract(transaction.getSourceAccount().getBalance(), transaction.getAmount()));
 
         // Salvando a transação
-        return transactionRepository.save(transaction);
+        return persisted(TransactionType.WITHDRAW, transactionRepository.save(transaction), time);
+    }
+
+    /**
+     * Transferência por UPDATEs condicionais: o débito só é aplicado se a conta
+     * de origem tiver saldo (a verificação do {@link AvailableBalanceValidation}
+     * passa para o próprio comando), sem ler as contas nem travá-las enquanto o
+     * código Java executa. A resposta é montada com as contas devolvidas pelos
+     * próprios comandos ({@code RETURNING}).
+     */
+    private Transaction transferConditional(TransferDTO dto) throws NotFoundException {
+        long time = System.nanoTime();
+        var amount = Money.toBigDecimal(dto.amount());
+
+        var source = debit(dto.sourceAccountNumber(), amount);
+
+        var receiver = accountRepository.credit(dto.receiverAccountNumber(), amount);
+        if (receiver.isEmpty()) {
+            // Desfaz o débito na mesma transação, sem marcá-la para rollback
+            accountRepository.credit(dto.sourceAccountNumber(), amount);
+            throw new NotFoundException("Conta " + dto.receiverAccountNumber() + " inexistente");
+        }
+        time = transactionMetrics.record(TransactionType.TRANSFER, Phase.CONDITIONAL_UPDATE, time);
+
+        var transaction = TransactionMapper.toEntity(dto);
+        transaction.setReceiverAccount(receiver.get().toAccount());
+        // Para a própria conta, o crédito devolve o saldo final
+        transaction.setSourceAccount(dto.sourceAccountNumber() == dto.receiverAccountNumber()
+                ? transaction.getReceiverAccount()
+                : source);
+        return persisted(TransactionType.TRANSFER, transactionRepository.save(transaction), time);
+    }
+
+    private Transaction depositConditional(DepositDTO dto) throws NotFoundException {
+        long time = System.nanoTime();
+        var receiver = accountRepository.credit(dto.receiverAccountNumber(), Money.toBigDecimal(dto.amount()))
+                .orElseThrow(() -> new NotFoundException("Conta " + dto.receiverAccountNumber() + " inexistente"));
+        time = transactionMetrics.record(TransactionType.DEPOSIT, Phase.CONDITIONAL_UPDATE, time);
+
+        var transaction = TransactionMapper.toEntity(dto);
+        transaction.setReceiverAccount(receiver.toAccount());
+        return persisted(TransactionType.DEPOSIT, transactionRepository.save(transaction), time);
+    }
+
+    private Transaction withdrawConditional(WithdrawDTO dto) throws NotFoundException {
+        long time = System.nanoTime();
+        var source = debit(dto.sourceAccountNumber(), Money.toBigDecimal(dto.amount()));
+        time = transactionMetrics.record(TransactionType.WITHDRAW, Phase.CONDITIONAL_UPDATE, time);
+
+        var transaction = TransactionMapper.toEntity(dto);
+        transaction.setSourceAccount(source);
+        return persisted(TransactionType.WITHDRAW, transactionRepository.save(transaction), time);
+    }
+
+    /**
+     * Debita a conta; só quando o comando não altera nenhuma linha é verificado
+     * se a conta existe, para distinguir a falta de saldo.
+     *
+     * @return a conta já debitada
+     */
+    private Account debit(long number, BigDecimal amount) throws NotFoundException {
+        var account = accountRepository.debit(number, amount);
+        if (account.isPresent())
+            return account.get().toAccount();
+
+        if (!accountRepository.existsByNumber(number))
+            throw new NotFoundException("Conta " + number + " inexistente");
+        throw new WithoutBalanceException();
+    }
+
+    /**
+     * Aplica um lote de transferências numa única transação.
+     *
+     * As contas envolvidas são buscadas numa só consulta e cada conta é validada
+     * contra o seu débito líquido no lote (débitos menos créditos). Em modo
+     * ATOMIC qualquer recusa cancela o lote inteiro. Em modo BEST_EFFORT, se
+     * algum débito líquido não couber no saldo, as transferências são validadas
+     * uma a uma, na ordem recebida, e apenas as recusadas ficam de fora.
+     */
+    @Transactional
+    public TransferBatchResultDTO transferBatch(List<TransferDTO> transfers, TransferBatchMode mode) {
+        return transferBatch(transfers, mode, false);
+    }
+
+    /**
+     * Lote com a opção de travar todas as contas envolvidas (SELECT ... FOR
+     * UPDATE, em ordem crescente de número) em vez de depender da verificação de
+     * versão no commit.
+     */
+    @Transactional
+    public TransferBatchResultDTO transferBatch(List<TransferDTO> transfers, TransferBatchMode mode, boolean lock) {
+        var numbers = new HashSet<Long>();
+        for (var dto : transfers) {
+            numbers.add(dto.sourceAccountNumber());
+            numbers.add(dto.receiverAccountNumber());
+        }
+
+        var accounts = new HashMap<Long, Account>();
+        for (var account : lock
+                ? accountRepository.findForUpdateByNumberIn(numbers)
+                : accountRepository.findByNumberIn(numbers))
+            accounts.put(account.getNumber(), account);
+
+        // Contas inexistentes e débito líquido de cada conta
+        var errors = new String[transfers.size()];
+        var netDebits = new HashMap<Long, Long>();
+        for (int i = 0; i < transfers.size(); i++) {
+            var dto = transfers.get(i);
+
+            if (!accounts.containsKey(dto.sourceAccountNumber())) {
+                errors[i] = "Conta " + dto.sourceAccountNumber() + " inexistente";
+            } else if (!accounts.containsKey(dto.receiverAccountNumber())) {
+                errors[i] = "Conta " + dto.receiverAccountNumber() + " inexistente";
+            } else {
+                netDebits.merge(dto.sourceAccountNumber(), dto.amount(), Money::add);
+                netDebits.merge(dto.receiverAccountNumber(), -dto.amount(), Money::add);
+            }
+        }
+
+        // Verifica se cada conta comporta o seu débito líquido
+        var withoutBalance = new HashSet<Long>();
+        netDebits.forEach((number, debit) -> {
+            if (debit <= 0)
+                return;
+
+            try {
+                availableBalanceValidation.validate(accounts.get(number), debit);
+            } catch (WithoutBalanceException e) {
+                withoutBalance.add(number);
+            }
+        });
+
+        if (mode == TransferBatchMode.ATOMIC) {
+            for (int i = 0; i < transfers.size(); i++) {
+                if (errors[i] == null && withoutBalance.contains(transfers.get(i).sourceAccountNumber()))
+                    errors[i] = new WithoutBalanceException().getMessage();
+            }
+
+            if (Arrays.stream(errors).anyMatch(Objects::nonNull))
+                return cancelled(mode, errors);
+        }
+
+        var applied = new ArrayList<Transaction>(transfers.size());
+        var indexes = new ArrayList<Integer>(transfers.size());
+        for (int i = 0; i < transfers.size(); i++) {
+            if (errors[i] != null)
+                continue;
+
+            var dto = transfers.get(i);
+            var source = accounts.get(dto.sourceAccountNumber());
+            var receiver = accounts.get(dto.receiverAccountNumber());
+
+            // Com algum débito líquido descoberto, valida contra o saldo corrente
+            if (!withoutBalance.isEmpty()) {
+                try {
+                    availableBalanceValidation.validate(source, dto.amount());
+                } catch (WithoutBalanceException e) {
+                    errors[i] = e.getMessage();
+                    continue;
+                }
+            }
+
+            source.setBalance(Money.subtract(source.getBalance(), dto.amount()));
+            receiver.setBalance(Money.add(receiver.getBalance(), dto.amount()));
+
+            applied.add(new Transaction(source, receiver, dto.amount(), TransactionType.TRANSFER));
+            indexes.add(i);
+        }
+
+        // Inserções em lote; os saldos são gravados no commit
+        transactionRepository.saveAll(applied);
+
+        var items = new TransferBatchItemDTO[transfers.size()];
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] != null)
+                items[i] = TransferBatchItemDTO.failure(i, errors[i]);
+        }
+        for (int k = 0; k < applied.size(); k++)
+            items[indexes.get(k)] = TransferBatchItemDTO.success(indexes.get(k), applied.get(k).getId());
+
+        return new TransferBatchResultDTO(mode, true, applied.size(), transfers.size() - applied.size(),
+                List.of(items));
+    }
+
+    /**
+     * Agenda o registro da transação no log de auditoria para depois do commit,
+     * registra o tempo de gravação e agenda a medição do commit.
+     */
+    private Transaction persisted(TransactionType type, Transaction transaction, long start) {
+        auditLog.transaction(transaction);
+        transactionMetrics.record(type, Phase.PERSISTENCE, start);
+        transactionMetrics.recordCommit(type);
+        return transaction;
+    }
+
+    private Account account(long number, boolean lock) throws NotFoundException {
+        return lock
+                ? availableAccountValidation.validateForUpdate(number)
+                : availableAccountValidation.validate(number);
+    }
+
+    private static TransferBatchResultDTO cancelled(TransferBatchMode mode, String[] errors) {
+        var items = new ArrayList<TransferBatchItemDTO>(errors.length);
+        for (int i = 0; i < errors.length; i++)
+            items.add(TransferBatchItemDTO.failure(i, errors[i] != null ? errors[i] : "Lote cancelado"));
+
+        return new TransferBatchResultDTO(mode, false, 0, errors.length, items);
+    }
+
+    /**
+     * Extrato de uma conta no intervalo [from, to), paginado por (dateTime, id).
+     *
+     * Os lançamentos enviados e recebidos são buscados em duas consultas, cada
+     * uma servida pelo seu índice, e intercalados mantendo a ordem.
+     *
+     * @throws NotFoundException se a conta não existir
+     */
+    @Transactional(readOnly = true)
+    public PageDTO<StatementEntryDTO> statement(long accountNumber, LocalDateTime from, LocalDateTime to,
+            String cursor, int size) throws NotFoundException {
+        var account = availableAccountValidation.validate(accountNumber);
+
+        // Sem cursor, começa no início do intervalo
+        var afterDate = from;
+        long afterId = -1;
+        if (cursor != null && !cursor.isBlank()) {
+            var parts = Cursors.decode(cursor, 2);
+            afterDate = LocalDateTime.parse(parts[0]);
+            afterId = Long.parseLong(parts[1]);
+        }
+
+        var sent = transactionRepository.findSentStatement(account.getId(), from, to, afterDate, afterId,
+                Limit.of(size));
+        var received = transactionRepository.findReceivedStatement(account.getId(), from, to, afterDate, afterId,
+                Limit.of(size));
+
+        var items = new ArrayList<StatementEntryDTO>(size);
+        int i = 0, j = 0;
+        while (items.size() < size && (i < sent.size() || j < received.size())) {
+            var next = j >= received.size()
+                    || (i < sent.size() && STATEMENT_ORDER.compare(sent.get(i), received.get(j)) <= 0)
+                            ? sent.get(i++)
+                            : received.get(j++);
+
+            // Transferência para a própria conta aparece nas duas consultas
+            if (!items.isEmpty() && items.get(items.size() - 1).id() == next.id())
+                continue;
+
+            items.add(next);
+        }
+
+        String next = null;
+        if (items.size() == size) {
+            var last = items.get(items.size() - 1);
+            next = Cursors.encode(last.dateTime(), last.id());
+        }
+        return new PageDTO<>(items, next);
     }
 }
@@ -0,0 +1,86 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Fontes de dados dos shards, ativadas por {@code bankapi.sharding.urls} (o
+ * shard 0 primeiro). Todos usam o usuário e a senha de
+ * {@code spring.datasource.*}, cuja url deixa de ser usada.
+ */
+@Configuration
+@ConditionalOnProperty("bankapi.sharding.urls")
+public class ShardDataSourceConfig {
+
+    /**
+     * Recursos que leem ou gravam contas fora das chamadas roteadas por shard.
+     */
+    private static final List<String> UNSUPPORTED = List.of(
+            "bankapi.ledger.enabled",
+            "bankapi.group-commit.enabled",
+            "bankapi.interest.enabled",
+            "bankapi.journal.snapshot.enabled",
+            "bankapi.journal.reconciliation.enabled");
+
+    public ShardDataSourceConfig(Environment environment) {
+        for (var property : UNSUPPORTED)
+            if (environment.getProperty(property, Boolean.class, false))
+                throw new IllegalStateException(property + " não é suportado com bankapi.sharding.urls");
+        if (environment.containsProperty("bankapi.datasource.replica.urls"))
+            throw new IllegalStateException("Réplicas de leitura não são suportadas com bankapi.sharding.urls");
+        // A API reativa acessa o banco pelo R2DBC, sem passar pelo ShardRouter
+        if (environment.acceptsProfiles(Profiles.of("reactive")))
+            throw new IllegalStateException("O perfil reactive não é suportado com bankapi.sharding.urls");
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties properties, MeterRegistry registry,
+            @Value("${bankapi.sharding.urls}") List<String> urls,
+            @Value("${bankapi.sharding.maximum-pool-size:10}") int maximumPoolSize) {
+        var shards = new ArrayList<HikariDataSource>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            var shard = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i).trim())
+                    .build();
+            shard.setPoolName("shard-" + i);
+            shard.setMaximumPoolSize(maximumPoolSize);
+            shard.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+            JdbcTemplate jdbcTemplate, ShardRouter router,
+            @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        return new ShardSchemaInitializer(entityManagerFactory, jdbcTemplate, router,
+                ddlAuto.equals("create") || ddlAuto.equals("create-drop"));
+    }
+}
@@ -0,0 +1,129 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Distribui as contas entre os shards de {@code bankapi.sharding.urls} pelo
+ * hash do número da conta, e as transações ficam no shard das suas contas.
+ *
+ * O shard é escolhido pela thread antes de a transação começar ({@link #on},
+ * {@link #route}); a conexão é obtida depois, no primeiro comando, pelo
+ * {@link ShardRoutingDataSource}. Uma transação só acessa um shard. Fora de
+ * {@code on} é usado o shard 0, que guarda também as tabelas não
+ * particionadas (idempotência, snapshots, execuções de juros). Sem shards
+ * configurados há um único shard e as chamadas são feitas direto.
+ */
+@Component
+public class ShardRouter {
+
+    /**
+     * Operação executada num shard.
+     */
+    @FunctionalInterface
+    public interface Operation<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private final int shards;
+
+    public ShardRouter(@Value("${bankapi.sharding.urls:}") List<String> urls) {
+        this.shards = Math.max(1, urls.size());
+    }
+
+    /**
+     * Shard escolhido pela thread atual.
+     */
+    static int current() {
+        var shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    public int shardOf(long number) {
+        return shards == 1 ? 0 : (int) Long.remainderUnsigned(mix(number), shards);
+    }
+
+    /**
+     * @return o shard comum a todas as contas ou -1 se estão em shards diferentes
+     */
+    public int shardOf(Collection<Long> numbers) {
+        int shard = -1;
+        for (long number : numbers) {
+            int next = shardOf(number);
+            if (shard != -1 && next != shard)
+                return -1;
+            shard = next;
+        }
+        return shard == -1 ? 0 : shard;
+    }
+
+    public boolean sameShard(long number, long other) {
+        return shardOf(number) == shardOf(other);
+    }
+
+    /**
+     * Executa a operação no shard da conta.
+     */
+    public <T, E extends Exception> T route(long number, Operation<T, E> operation) throws E {
+        return on(shardOf(number), operation);
+    }
+
+    /**
+     * Executa a operação no shard informado.
+     *
+     * @throws IllegalStateException se já há uma transação aberta em outro shard
+     */
+    public <T, E extends Exception> T on(int shard, Operation<T, E> operation) throws E {
+        var previous = CURRENT.get();
+        if (shard == (previous != null ? previous : 0))
+            return operation.call();
+
+        if (TransactionSynchronizationManager.isActualTransactionActive())
+            throw new IllegalStateException("A transação atual já usa o shard " + current());
+
+        CURRENT.set(shard);
+        try {
+            return operation.call();
+        } finally {
+            if (previous != null)
+                CURRENT.set(previous);
+            else
+                CURRENT.remove();
+        }
+    }
+
+    /**
+     * Executa a operação em cada shard, em ordem.
+     *
+     * @return os resultados, um por shard
+     */
+    public <T, E extends Exception> List<T> each(Operation<T, E> operation) throws E {
+        var results = new ArrayList<T>(shards);
+        for (int shard = 0; shard < shards; shard++)
+            results.add(on(shard, operation));
+        return results;
+    }
+
+    /**
+     * Espalha os bits do número, para que números sequenciais se distribuam
+     * entre os shards (finalizador do MurmurHash3).
+     */
+    private static long mix(long number) {
+        number ^= number >>> 33;
+        number *= 0xff51afd7ed558ccdL;
+        number ^= number >>> 33;
+        number *= 0xc4ceb9fe1a85ec53L;
+        return number ^ (number >>> 33);
+    }
+}
@@ -0,0 +1,41 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.util.HashMap;
+import java.util.List;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Entrega conexões do shard escolhido pela thread no {@link ShardRouter}. Deve
+ * ser usada através de um {@code LazyConnectionDataSourceProxy}, para que a
+ * conexão só seja escolhida no primeiro comando da transação.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private final List<HikariDataSource> shards;
+
+    public ShardRoutingDataSource(List<HikariDataSource> shards) {
+        this.shards = shards;
+
+        var targets = new HashMap<Object, Object>();
+        for (int i = 0; i < shards.size(); i++)
+            targets.put(i, shards.get(i));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardRouter.current();
+    }
+
+    @Override
+    public void destroy() {
+        for (var shard : shards)
+            shard.close();
+    }
+}
@@ -0,0 +1,71 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.util.List;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Prepara os shards na inicialização.
+ *
+ * O Hibernate cria as tabelas (ddl-auto create) apenas no shard 0; nesse caso
+ * elas são criadas também nos demais. Os ids das contas e das transações vêm
+ * das sequences do shard em que o bloco de ids foi reservado, que não é
+ * necessariamente o shard da entidade: para que os ids não se repitam, as
+ * sequences do shard k começam em k * 2^48.
+ */
+class ShardSchemaInitializer implements InitializingBean {
+
+    static final long SEQUENCE_STRIDE = 1L << 48;
+
+    private static final List<String> SEQUENCES = List.of("tb_account_seq", "tb_transaction_seq");
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ShardRouter router;
+
+    private final boolean createSchema;
+
+    ShardSchemaInitializer(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate, ShardRouter router,
+            boolean createSchema) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.jdbcTemplate = jdbcTemplate;
+        this.router = router;
+        this.createSchema = createSchema;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        var sequenceSupport = sessionFactory.getJdbcServices().getDialect().getSequenceSupport();
+
+        for (int i = 1; i < router.shards(); i++) {
+            int shard = i;
+            long start = shard * SEQUENCE_STRIDE;
+            router.on(shard, () -> {
+                if (createSchema) {
+                    sessionFactory.getSchemaManager().dropMappedObjects(false);
+                    sessionFactory.getSchemaManager().exportMappedObjects(false);
+                }
+
+                for (var sequence : SEQUENCES) {
+                    long next = jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(sequence),
+                            Long.class);
+                    if (next < start) {
+                        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (start + 1));
+                        log.info("Sequence {} do shard {} reiniciada em {}", sequence, shard, start + 1);
+                    }
+                }
+                return null;
+            });
+        }
+    }
+}
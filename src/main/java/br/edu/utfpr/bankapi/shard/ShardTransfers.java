@@ -0,0 +1,274 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.audit.AuditLog;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.ShardTransfer;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.ShardTransferRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+
+/**
+ * Transferências entre contas de shards diferentes, como uma saga.
+ *
+ * <ol>
+ * <li>No shard de origem, numa transação: débito, lançamento de saída
+ * ({@code TRANSFER} sem conta de destino) e registro pendente na outbox
+ * ({@link ShardTransfer}).</li>
+ * <li>No shard de destino, numa transação: crédito, lançamento de entrada
+ * ({@code TRANSFER} sem conta de origem) e registro de entrada com o mesmo id,
+ * que torna a entrega idempotente. Se a conta de destino não existir, é gravado
+ * apenas o registro de entrada recusada ({@code REJECTED}), e as entregas
+ * seguintes respeitam essa decisão mesmo que a conta seja criada depois.</li>
+ * <li>No shard de origem: a outbox é marcada como concluída ou, se a entrada
+ * foi recusada, o débito é estornado ({@code REVERSAL}).</li>
+ * </ol>
+ *
+ * A entrega é tentada logo após o débito; as que falham (shard de destino fora
+ * do ar, por exemplo) são repetidas pelo {@link #relay()} com espera
+ * exponencial entre as tentativas ({@code bankapi.sharding.backoff}, até
+ * {@code bankapi.sharding.max-backoff}). Depois de
+ * {@code bankapi.sharding.max-attempts} falhas a transferência é marcada como
+ * {@code FAILED} e deixa de ser repetida. Entre os passos 1 e 3 o valor não
+ * está em nenhuma das contas.
+ */
+@Service
+public class ShardTransfers {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardTransfers.class);
+
+    private final ShardRouter router;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AccountRepository accountRepository;
+
+    private final TransactionRepository transactionRepository;
+
+    private final ShardTransferRepository shardTransferRepository;
+
+    private final AvailableBalanceValidation availableBalanceValidation;
+
+    private final AuditLog auditLog;
+
+    private final int relayBatchSize;
+
+    private final int maxAttempts;
+
+    private final Duration backoff;
+
+    private final Duration maxBackoff;
+
+    public ShardTransfers(ShardRouter router, TransactionTemplate transactionTemplate,
+            AccountRepository accountRepository, TransactionRepository transactionRepository,
+            ShardTransferRepository shardTransferRepository, AvailableBalanceValidation availableBalanceValidation,
+            AuditLog auditLog, @Value("${bankapi.sharding.relay-batch-size:500}") int relayBatchSize,
+            @Value("${bankapi.sharding.max-attempts:20}") int maxAttempts,
+            @Value("${bankapi.sharding.backoff:1s}") Duration backoff,
+            @Value("${bankapi.sharding.max-backoff:10m}") Duration maxBackoff) {
+        this.router = router;
+        this.transactionTemplate = transactionTemplate;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.shardTransferRepository = shardTransferRepository;
+        this.availableBalanceValidation = availableBalanceValidation;
+        this.auditLog = auditLog;
+        this.relayBatchSize = relayBatchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Debita a conta de origem e tenta entregar o crédito.
+     *
+     * @return o lançamento de saída, no shard de origem
+     * @throws NotFoundException se alguma das contas não existir
+     */
+    public Transaction transfer(TransferDTO dto) throws NotFoundException {
+        // Evita o débito (e o estorno) para uma conta de destino inexistente
+        if (!router.route(dto.receiverAccountNumber(),
+                () -> accountRepository.existsByNumber(dto.receiverAccountNumber())))
+            throw new NotFoundException("Conta " + dto.receiverAccountNumber() + " inexistente");
+
+        var transfer = new ShardTransfer(UUID.randomUUID().toString(), dto.sourceAccountNumber(),
+                dto.receiverAccountNumber(), dto.amount(), ShardTransfer.Status.PENDING);
+
+        var transaction = router.route(dto.sourceAccountNumber(), () -> transactionTemplate.execute(status -> {
+            var source = accountRepository.findForUpdateByNumber(dto.sourceAccountNumber()).orElse(null);
+            if (source == null)
+                return null;
+
+            var debit = new Transaction(source, null, dto.amount(), TransactionType.TRANSFER);
+            availableBalanceValidation.validate(debit);
+            source.setBalance(Money.subtract(source.getBalance(), dto.amount()));
+
+            shardTransferRepository.save(transfer);
+            return transactionRepository.save(debit);
+        }));
+        if (transaction == null)
+            throw new NotFoundException("Conta " + dto.sourceAccountNumber() + " inexistente");
+        auditLog.transaction(transaction);
+
+        try {
+            deliver(transfer);
+        } catch (RuntimeException e) {
+            log.warn("Transferência {} pendente: {}", transfer.getId(), e.getMessage());
+            failed(transfer, e);
+        }
+        return transaction;
+    }
+
+    /**
+     * Entrega as transferências pendentes de todos os shards cuja próxima
+     * tentativa já venceu.
+     */
+    @Scheduled(fixedDelayString = "${bankapi.sharding.relay-interval:PT1S}")
+    public void relay() {
+        if (router.shards() == 1)
+            return;
+
+        for (int shard = 0; shard < router.shards(); shard++) {
+            var pending = router.on(shard, () -> shardTransferRepository
+                    .findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(ShardTransfer.Status.PENDING,
+                            LocalDateTime.now(), Limit.of(relayBatchSize)));
+
+            for (var transfer : pending) {
+                try {
+                    deliver(transfer);
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao entregar a transferência {}: {}", transfer.getId(), e.getMessage());
+                    failed(transfer, e);
+                }
+            }
+        }
+    }
+
+    private void deliver(ShardTransfer transfer) {
+        boolean credited;
+        try {
+            credited = router.route(transfer.getReceiverAccountNumber(),
+                    () -> transactionTemplate.execute(status -> credit(transfer)));
+        } catch (DataIntegrityViolationException e) {
+            // Entrada gravada ao mesmo tempo por outra entrega: vale a decisão dela
+            credited = router.route(transfer.getReceiverAccountNumber(),
+                    () -> transactionTemplate.execute(status -> shardTransferRepository.findById(transfer.getId())
+                            .orElseThrow(() -> e)
+                            .getStatus() == ShardTransfer.Status.RECEIVED));
+        }
+
+        boolean completed = credited;
+        router.route(transfer.getSourceAccountNumber(), () -> transactionTemplate.execute(status -> {
+            if (completed)
+                complete(transfer);
+            else
+                compensate(transfer);
+            return null;
+        }));
+    }
+
+    /**
+     * Credita a conta de destino ou, se ela não existe, grava a recusa. Uma
+     * entrega repetida devolve a decisão já gravada.
+     *
+     * @return falso se a entrada foi recusada
+     */
+    private boolean credit(ShardTransfer transfer) {
+        // A trava na conta vem antes da verificação da entrada, para que duas
+        // entregas simultâneas não creditem o valor duas vezes
+        var receiver = accountRepository.findForUpdateByNumber(transfer.getReceiverAccountNumber()).orElse(null);
+        var inbox = shardTransferRepository.findById(transfer.getId());
+        if (inbox.isPresent())
+            return inbox.get().getStatus() == ShardTransfer.Status.RECEIVED;
+
+        if (receiver == null) {
+            shardTransferRepository.save(inbox(transfer, ShardTransfer.Status.REJECTED));
+            return false;
+        }
+
+        receiver.setBalance(Money.add(receiver.getBalance(), transfer.getAmount()));
+        auditLog.transaction(transactionRepository.save(
+                new Transaction(null, receiver, transfer.getAmount(), TransactionType.TRANSFER)));
+        shardTransferRepository.save(inbox(transfer, ShardTransfer.Status.RECEIVED));
+        return true;
+    }
+
+    private static ShardTransfer inbox(ShardTransfer transfer, ShardTransfer.Status status) {
+        return new ShardTransfer(transfer.getId(), transfer.getSourceAccountNumber(),
+                transfer.getReceiverAccountNumber(), transfer.getAmount(), status);
+    }
+
+    private void complete(ShardTransfer transfer) {
+        shardTransferRepository.findById(transfer.getId())
+                .filter(outbox -> outbox.getStatus() == ShardTransfer.Status.PENDING)
+                .ifPresent(outbox -> outbox.setStatus(ShardTransfer.Status.COMPLETED));
+    }
+
+    private void compensate(ShardTransfer transfer) {
+        var source = accountRepository.findForUpdateByNumber(transfer.getSourceAccountNumber()).orElseThrow();
+        var outbox = shardTransferRepository.findById(transfer.getId()).orElseThrow();
+        if (outbox.getStatus() != ShardTransfer.Status.PENDING)
+            return;
+
+        source.setBalance(Money.add(source.getBalance(), transfer.getAmount()));
+        auditLog.transaction(transactionRepository.save(
+                new Transaction(null, source, transfer.getAmount(), TransactionType.REVERSAL)));
+        outbox.setStatus(ShardTransfer.Status.COMPENSATED);
+        outbox.setLastError("Conta " + transfer.getReceiverAccountNumber() + " inexistente");
+    }
+
+    /**
+     * Registra a falha e adia a próxima tentativa; esgotadas as tentativas, a
+     * transferência deixa de ser repetida.
+     */
+    private void failed(ShardTransfer transfer, RuntimeException error) {
+        var message = String.valueOf(error.getMessage());
+        try {
+            router.route(transfer.getSourceAccountNumber(), () -> transactionTemplate.execute(status -> {
+                shardTransferRepository.findById(transfer.getId())
+                        .filter(outbox -> outbox.getStatus() == ShardTransfer.Status.PENDING)
+                        .ifPresent(outbox -> {
+                            int attempts = outbox.getAttempts() + 1;
+                            outbox.setAttempts(attempts);
+                            outbox.setLastError(message.length() > 512 ? message.substring(0, 512) : message);
+
+                            if (attempts >= maxAttempts) {
+                                outbox.setStatus(ShardTransfer.Status.FAILED);
+                                log.error("Transferência {} abandonada após {} tentativas: {}", transfer.getId(),
+                                        attempts, message);
+                            } else {
+                                outbox.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+                            }
+                        });
+                return null;
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao registrar a tentativa da transferência {}", transfer.getId(), e);
+        }
+    }
+
+    /**
+     * backoff * 2^(attempts - 1), limitado a max-backoff.
+     */
+    private Duration backoff(int attempts) {
+        var delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
@@ -0,0 +1,19 @@
+package br.edu.utfpr.bankapi.shard;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.NoneNestedConditions;
+
+/**
+ * Condição dos beans que leem ou gravam contas fora das chamadas roteadas por
+ * shard: só são criados sem {@code bankapi.sharding.urls}.
+ */
+public class ShardingDisabled extends NoneNestedConditions {
+
+    public ShardingDisabled() {
+        super(ConfigurationPhase.REGISTER_BEAN);
+    }
+
+    @ConditionalOnProperty("bankapi.sharding.urls")
+    static class ShardingEnabled {
+    }
+}
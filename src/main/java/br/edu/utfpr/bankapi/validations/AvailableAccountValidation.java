@@ -9,6 +9,10 @@ import br.edu.utfpr.bankapi.repository.AccountRepository;
 
 /**
  * Validar se existe uma conta cadastrada
+ *
+ * Não abre transação própria: a conta é lida no banco da transação de quem
+ * chama (numa réplica, se for uma leitura de serviço encaminhada a ela; ver
+ * ReplicaRoutingDataSource) ou, fora de transação, no banco principal.
  */
 @Component
 public class AvailableAccountValidation {
@@ -25,4 +29,16 @@ public class AvailableAccountValidation {
         return account.get();
     }
 
-}
\ No newline at end of file
+    /**
+     * Obtém a conta travada para escrita até o fim da transação. Deve ser
+     * chamado dentro de uma transação.
+     */
+    public Account validateForUpdate(long number) throws NotFoundException {
+        var account = accountRepository.findForUpdateByNumber(number);
+
+        if (account.isEmpty())
+            throw new NotFoundException("Conta " + number + " inexistente");
+
+        return account.get();
+    }
+}
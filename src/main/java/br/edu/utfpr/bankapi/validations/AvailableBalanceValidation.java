@@ -3,6 +3,7 @@ package br.edu.utfpr.bankapi.validations;
 import org.springframework.stereotype.Component;
 
 import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.model.Transaction;
 
 /**
@@ -13,7 +14,17 @@ public class AvailableBalanceValidation {
 
     public void validate(Transaction transaction) {
         // Verifica se a conta de origem possui saldo
-        if (transaction.getSourceAccount().getBalanceWithLimit() < transaction.getAmount()) {
+        validate(transaction.getSourceAccount(), transaction.getAmount());
+    }
+
+    /**
+     * Verifica se a conta comporta um débito do valor informado, usado também
+     * para o débito líquido de um lote de transferências.
+     *
+     * @param amount valor em centavos
+     */
+    public void validate(Account account, long amount) {
+        if (account.getBalanceWithLimit() < amount) {
             throw new WithoutBalanceException();
         }
     }
@@ -0,0 +1,161 @@
+package br.edu.utfpr.bankapi.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferBatchMode;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.service.TransactionService;
+
+/**
+ * Operações concorrentes sobre as mesmas contas, cada uma em sua própria
+ * transação, num H2 em memória.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrency;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never",
+        "bankapi.concurrency.max-attempts=10",
+        "bankapi.concurrency.backoff=1ms",
+        "bankapi.concurrency.max-backoff=20ms" })
+class ConcurrentTransactionTest {
+
+    static final int THREADS = 8;
+    static final int OPERACOES = 50;
+
+    @Autowired
+    OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    Account account;
+    Account account2;
+
+    @BeforeEach
+    void setup() {
+        account = accountRepository.save(new Account("Lauro Lima", 12347, 100_000, 0));
+        account2 = accountRepository.save(new Account("Pedro Pina", 12348, 100_000, 0));
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void naoDeveriaPerderDepositosConcorrentes() throws Exception {
+        // ### ARRANGE ###
+        var dto = new DepositDTO(12347, 1);
+
+        // ### ACT ###
+        run(() -> retryExecutor.execute(lock -> transactionService.deposit(dto, lock), 12347));
+
+        // ### ASSERT ###
+        var saldo = accountRepository.findById(account.getId()).get().getBalance();
+        Assertions.assertEquals(100_000 + THREADS * OPERACOES, saldo);
+        Assertions.assertEquals(THREADS * OPERACOES, transactionRepository.count());
+    }
+
+    @Test
+    void naoDeveriaPerderTransferenciasConcorrentes() throws Exception {
+        // ### ARRANGE ###
+        // Metade das threads transfere em cada sentido, de valores diferentes
+        var ida = new TransferDTO(12347, 12348, 3);
+        var volta = new TransferDTO(12348, 12347, 1);
+        var threads = new ArrayList<Callable<Object>>();
+        for (int t = 0; t < THREADS; t++) {
+            var dto = t % 2 == 0 ? ida : volta;
+            threads.add(() -> retryExecutor.execute(lock -> transactionService.transfer(dto, lock),
+                    dto.sourceAccountNumber(), dto.receiverAccountNumber()));
+        }
+
+        // ### ACT ###
+        run(threads);
+
+        // ### ASSERT ###
+        long transferido = (THREADS / 2) * OPERACOES * (3 - 1);
+        Assertions.assertEquals(100_000 - transferido, accountRepository.findById(account.getId()).get().getBalance());
+        Assertions.assertEquals(100_000 + transferido,
+                accountRepository.findById(account2.getId()).get().getBalance());
+    }
+
+    @Test
+    void naoDeveriaPerderLotesConcorrentes() throws Exception {
+        // ### ARRANGE ###
+        var lote = List.of(new TransferDTO(12347, 12348, 3), new TransferDTO(12348, 12347, 1));
+
+        // ### ACT ###
+        run(() -> retryExecutor.execute(lock -> transactionService.transferBatch(lote, TransferBatchMode.ATOMIC, lock),
+                12347, 12348));
+
+        // ### ASSERT ###
+        long transferido = THREADS * OPERACOES * (3 - 1);
+        Assertions.assertEquals(100_000 - transferido, accountRepository.findById(account.getId()).get().getBalance());
+        Assertions.assertEquals(100_000 + transferido,
+                accountRepository.findById(account2.getId()).get().getBalance());
+        Assertions.assertEquals(THREADS * OPERACOES * 2, transactionRepository.count());
+    }
+
+    private void run(Callable<Object> operation) throws Exception {
+        var threads = new ArrayList<Callable<Object>>();
+        for (int t = 0; t < THREADS; t++)
+            threads.add(operation);
+        run(threads);
+    }
+
+    /**
+     * Libera as threads ao mesmo tempo; cada uma executa a sua operação
+     * {@link #OPERACOES} vezes.
+     */
+    private void run(List<Callable<Object>> operations) throws Exception {
+        var start = new CountDownLatch(1);
+        var tasks = new ArrayList<Callable<Void>>();
+        for (var operation : operations) {
+            tasks.add(() -> {
+                start.await();
+                for (int i = 0; i < OPERACOES; i++)
+                    operation.call();
+                return null;
+            });
+        }
+
+        var executor = Executors.newFixedThreadPool(operations.size());
+        try {
+            var futures = new ArrayList<Future<Void>>();
+            for (var task : tasks)
+                futures.add(executor.submit(task));
+            start.countDown();
+            for (var future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
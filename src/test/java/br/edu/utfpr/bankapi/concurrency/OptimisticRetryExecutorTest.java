@@ -0,0 +1,88 @@
+package br.edu.utfpr.bankapi.concurrency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import br.edu.utfpr.bankapi.model.Account;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OptimisticRetryExecutorTest {
+
+    AccountContention contention;
+
+    OptimisticRetryExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        contention = new AccountContention(Duration.ofMinutes(1), 100, 0.5, 4);
+        executor = new OptimisticRetryExecutor(contention, new SimpleMeterRegistry(),
+                OptimisticRetryExecutor.Mode.OPTIMISTIC, 3, Duration.ofMillis(1), Duration.ofMillis(2));
+    }
+
+    @Test
+    void deveriaRepetirAposConflitoDeVersao() throws Exception {
+        // ### ARRANGE ###
+        var travas = new ArrayList<Boolean>();
+
+        // ### ACT ###
+        var resultado = executor.execute(lock -> {
+            travas.add(lock);
+            if (travas.size() < 2)
+                throw new ObjectOptimisticLockingFailureException(Account.class, 1L);
+            return "ok";
+        }, 12345);
+
+        // ### ASSERT ###
+        Assertions.assertEquals("ok", resultado);
+        Assertions.assertEquals(List.of(false, false), travas);
+    }
+
+    @Test
+    void deveriaTravarAsContasAposEsgotarAsTentativas() throws Exception {
+        // ### ARRANGE ###
+        var travas = new ArrayList<Boolean>();
+
+        // ### ACT ###
+        executor.execute(lock -> {
+            travas.add(lock);
+            if (!lock)
+                throw new ObjectOptimisticLockingFailureException(Account.class, 1L);
+            return "ok";
+        }, 12345, 12346);
+
+        // ### ASSERT ###
+        Assertions.assertEquals(List.of(false, false, false, true), travas);
+        Assertions.assertEquals(3, contention.top(10).get(0).conflicts());
+    }
+
+    @Test
+    void deveriaTravarDiretamenteAsContasQuentes() throws Exception {
+        // ### ARRANGE ###
+        contention.record(true, 12345);
+        contention.record(true, 12345);
+        contention.record(true, 12345);
+        contention.record(false, 12345);
+
+        // ### ACT ###
+        boolean travou = executor.execute(lock -> lock, 12346, 12345);
+        boolean travouFria = executor.execute(lock -> lock, 12346);
+
+        // ### ASSERT ###
+        Assertions.assertTrue(travou);
+        Assertions.assertFalse(travouFria);
+    }
+
+    @Test
+    void naoDeveriaRepetirOutrasFalhas() {
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(IllegalStateException.class, () -> executor.execute(lock -> {
+            throw new IllegalStateException();
+        }, 12345));
+    }
+}
@@ -20,6 +20,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import br.edu.utfpr.bankapi.dto.AccountDTO;
 import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.money.Money;
 import br.edu.utfpr.bankapi.service.AccountService;
 import jakarta.transaction.Transactional;
 
@@ -41,11 +42,11 @@ class AccountControllerTest {
     @BeforeEach
     void setup() {
         account = new Account("Lauro Lima",
-                12347, 1000, 0);
+                12347, Money.ofUnits(1000), 0);
         entityManager.persist(account); // salvando uma conta
 
         account2 = new Account("Pedro Pina",
-                12348, 1000, 0);
+                12348, Money.ofUnits(1000), 0);
         entityManager.persist(account2); // salvando uma conta
 
     }
@@ -255,4 +256,51 @@ class AccountControllerTest {
                         "$.amount", Matchers.equalTo(200.0)));
     }
 
+    @Test
+    void deveriaRetornarPaginaComCursorDaProxima() throws Exception {
+        // ACT + ASSERT
+        mvc.perform(MockMvcRequestBuilders.get("/account/page").param("size", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items.length()", Matchers.equalTo(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", Matchers.notNullValue()));
+    }
+
+    @Test
+    void deveriaRetornar400ParaCursorInvalido() throws Exception {
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders.get("/account/page").param("cursor", "@@@"))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(400, res.getStatus());
+    }
+
+    @Test
+    void deveriaRetornarContasEmNdjson() throws Exception {
+        // ACT
+        var async = mvc.perform(MockMvcRequestBuilders.get("/account/stream"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        var res = mvc.perform(MockMvcRequestBuilders.asyncDispatch(async))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(200, res.getStatus());
+        Assertions.assertEquals("application/x-ndjson", res.getContentType());
+    }
+
+    @Test
+    void deveriaRetornar400ParaImportacaoCsvSemCabecalho() throws Exception {
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders.post("/account/import")
+                        .content("Lauro Lima,12349,0\n").contentType("text/csv"))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(400, res.getStatus());
+    }
+
 }
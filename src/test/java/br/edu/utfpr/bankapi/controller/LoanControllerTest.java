@@ -0,0 +1,86 @@
+package br.edu.utfpr.bankapi.controller;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LoanControllerTest {
+    @Autowired
+    MockMvc mvc;
+
+    @Test
+    void deveriaRetornarAsParcelasEmNdjson() throws Exception {
+        // ARRANGE
+        var json = """
+                {"principal": 1000.00, "taxa": 1.5, "prazo": 360, "system": "PRICE"}
+                """;
+
+        // ACT
+        var async = mvc.perform(MockMvcRequestBuilders.post("/loan/schedule")
+                .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        var res = mvc.perform(MockMvcRequestBuilders.asyncDispatch(async))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(200, res.getStatus());
+        Assertions.assertEquals("application/x-ndjson", res.getContentType());
+        var linhas = res.getContentAsString().split("\n");
+        Assertions.assertEquals(360, linhas.length);
+        Assertions.assertTrue(linhas[0].startsWith("{\"number\":1,"));
+        Assertions.assertTrue(linhas[359].endsWith("\"balance\":0.00}"));
+    }
+
+    @Test
+    void deveriaRetornar400ParaPrazoInvalido() throws Exception {
+        // ARRANGE
+        var json = """
+                {"principal": 1000.00, "taxa": 1.5, "prazo": 0, "system": "SAC"}
+                """;
+
+        // ACT
+        var res = mvc.perform(MockMvcRequestBuilders.post("/loan/schedule")
+                .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(400, res.getStatus());
+    }
+
+    @Test
+    void deveriaResumirAsSimulacoesEmNdjson() throws Exception {
+        // ARRANGE
+        var json = """
+                {"loans": [
+                    {"principal": 1000.00, "taxa": 1.5, "prazo": 12, "system": "PRICE"},
+                    {"principal": 1000.00, "taxa": 1.5, "prazo": 12, "system": "SAC"}
+                ]}
+                """;
+
+        // ACT
+        var async = mvc.perform(MockMvcRequestBuilders.post("/loan/simulations")
+                .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        var res = mvc.perform(MockMvcRequestBuilders.asyncDispatch(async))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(200, res.getStatus());
+        var linhas = res.getContentAsString().split("\n");
+        Assertions.assertEquals(2, linhas.length);
+        Assertions.assertTrue(linhas[0].contains("\"index\":0,\"system\":\"PRICE\""));
+        Assertions.assertTrue(linhas[1].contains("\"index\":1,\"system\":\"SAC\""));
+    }
+}
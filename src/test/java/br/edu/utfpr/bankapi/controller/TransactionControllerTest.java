@@ -15,6 +15,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.money.Money;
 import jakarta.transaction.Transactional;
 
 @SpringBootTest
@@ -36,11 +37,11 @@ class TransactionControllerTest {
     @BeforeEach
     void setup() {
         account = new Account("Lauro Lima",
-                12347, 1000, 0);
+                12347, Money.ofUnits(1000), 0);
         entityManager.persist(account); // salvando uma conta
 
         account2 = new Account("Pedro Pina",
-                12348, 1000, 0);
+                12348, Money.ofUnits(1000), 0);
         entityManager.persist(account2); // salvando uma conta
     }
 
@@ -288,4 +289,58 @@ class TransactionControllerTest {
                         "$.amount", Matchers.equalTo(200.0)));
     }
 
+    //transfer batch
+
+    @Test
+    void deveriaCancelarLoteAtomicoComSaldoInsuficiente() throws Exception {
+        // ARRANGE
+        var json = """
+                {
+                    "mode": "ATOMIC",
+                    "transfers": [
+                        { "sourceAccountNumber": 12347, "receiverAccountNumber": 12348, "amount": 200 },
+                        { "sourceAccountNumber": 12348, "receiverAccountNumber": 12347, "amount": 200000 }
+                    ]
+                }
+                    """;
+
+        // ACT + ASSERT
+        mvc.perform(
+                MockMvcRequestBuilders.post("/transaction/transfer/batch")
+                        .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().is(422))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.committed", Matchers.equalTo(false)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].success", Matchers.equalTo(false)));
+
+        Assertions.assertEquals(Money.ofUnits(1000), account.getBalance());
+    }
+
+    @Test
+    void deveriaAplicarTransferenciasValidasNoLoteBestEffort() throws Exception {
+        // ARRANGE
+        var json = """
+                {
+                    "mode": "BEST_EFFORT",
+                    "transfers": [
+                        { "sourceAccountNumber": 12347, "receiverAccountNumber": 12348, "amount": 200 },
+                        { "sourceAccountNumber": 12347, "receiverAccountNumber": 99999, "amount": 10 },
+                        { "sourceAccountNumber": 12348, "receiverAccountNumber": 12347, "amount": 200000 }
+                    ]
+                }
+                    """;
+
+        // ACT + ASSERT
+        mvc.perform(
+                MockMvcRequestBuilders.post("/transaction/transfer/batch")
+                        .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.succeeded", Matchers.equalTo(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].success", Matchers.equalTo(true)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].error",
+                        Matchers.equalTo("Conta 99999 inexistente")));
+
+        Assertions.assertEquals(Money.ofUnits(800), account.getBalance());
+        Assertions.assertEquals(Money.ofUnits(1200), account2.getBalance());
+    }
+
 }
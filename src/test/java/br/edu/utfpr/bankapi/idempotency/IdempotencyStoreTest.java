@@ -0,0 +1,179 @@
+package br.edu.utfpr.bankapi.idempotency;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.exception.IdempotencyKeyInProgressException;
+import br.edu.utfpr.bankapi.exception.IdempotencyKeyReuseException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.IdempotencyRecord;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.repository.IdempotencyRecordRepository;
+
+class IdempotencyStoreTest {
+
+    IdempotencyStore store;
+
+    AtomicInteger execucoes;
+
+    ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @BeforeEach
+    void setup() {
+        store = new IdempotencyStore(Duration.ofMinutes(1), 100, false, null, objectMapper);
+        execucoes = new AtomicInteger();
+    }
+
+    @Test
+    void deveriaExecutarUmaUnicaVezPorChave() throws Exception {
+        // ### ARRANGE ###
+        var dto = new DepositDTO(12345, 100);
+        var transaction = new Transaction();
+
+        // ### ACT ###
+        var primeira = store.execute("chave-1", dto, () -> {
+            execucoes.incrementAndGet();
+            return transaction;
+        });
+        var repetida = store.execute("chave-1", dto, () -> {
+            execucoes.incrementAndGet();
+            return new Transaction();
+        });
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1, execucoes.get());
+        Assertions.assertFalse(primeira.replayed());
+        Assertions.assertTrue(repetida.replayed());
+        Assertions.assertSame(transaction, repetida.body());
+    }
+
+    @Test
+    void deveriaRecusarChaveReutilizadaComOutraRequisicao() throws Exception {
+        // ### ARRANGE ###
+        store.execute("chave-1", new DepositDTO(12345, 100), Transaction::new);
+
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(IdempotencyKeyReuseException.class,
+                () -> store.execute("chave-1", new DepositDTO(12345, 999), Transaction::new));
+    }
+
+    @Test
+    void naoDeveriaGuardarFalhas() throws Exception {
+        // ### ARRANGE ###
+        var dto = new DepositDTO(12345, 100);
+
+        // ### ACT ###
+        Assertions.assertThrows(WithoutBalanceException.class, () -> store.execute("chave-1", dto, () -> {
+            throw new WithoutBalanceException();
+        }));
+        var novaTentativa = store.execute("chave-1", dto, () -> {
+            execucoes.incrementAndGet();
+            return new Transaction();
+        });
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1, execucoes.get());
+        Assertions.assertFalse(novaTentativa.replayed());
+    }
+
+    @Test
+    void deveriaReservarChaveNoBancoAntesDeExecutar() throws Exception {
+        // ### ARRANGE ###
+        var repository = mock(IdempotencyRecordRepository.class);
+        store = new IdempotencyStore(Duration.ofMinutes(1), 100, true, repository, objectMapper);
+
+        // ### ACT ###
+        var resultado = store.execute("chave-1", new DepositDTO(12345, 100), () -> {
+            verify(repository).reserve(eq("chave-1"), anyString(), any());
+            execucoes.incrementAndGet();
+            return new Transaction();
+        });
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1, execucoes.get());
+        Assertions.assertFalse(resultado.replayed());
+        verify(repository).complete(eq("chave-1"), eq(IdempotencyRecord.Status.COMPLETED), anyString());
+    }
+
+    @Test
+    void deveriaLiberarChaveQuandoRespostaNaoForPersistida() throws Exception {
+        // ### ARRANGE ###
+        var repository = mock(IdempotencyRecordRepository.class);
+        store = new IdempotencyStore(Duration.ofMinutes(1), 100, true, repository, objectMapper);
+        doThrow(new DataIntegrityViolationException("resposta grande demais"))
+                .when(repository).complete(eq("chave-1"), any(), anyString());
+
+        // ### ACT ###
+        var resultado = store.execute("chave-1", new DepositDTO(12345, 100), Transaction::new);
+
+        // ### ASSERT ###
+        Assertions.assertFalse(resultado.replayed());
+        verify(repository).deleteById("chave-1");
+    }
+
+    @Test
+    void deveriaRecusarChaveReservadaPorOutraInstancia() throws Exception {
+        // ### ARRANGE ###
+        var repository = mock(IdempotencyRecordRepository.class);
+        var outraInstancia = new IdempotencyStore(Duration.ofMinutes(1), 100, true, repository, objectMapper);
+        store = new IdempotencyStore(Duration.ofMinutes(1), 100, true, repository, objectMapper);
+        var dto = new DepositDTO(12345, 100);
+
+        // A outra instância reservou a chave e ainda não concluiu a operação
+        outraInstancia.execute("chave-1", dto, Transaction::new);
+        var fingerprint = ArgumentCaptor.forClass(String.class);
+        verify(repository).reserve(eq("chave-1"), fingerprint.capture(), any());
+        var reservada = new IdempotencyRecord("chave-1", fingerprint.getValue(), IdempotencyRecord.Status.PENDING,
+                null, LocalDateTime.now());
+
+        doThrow(new DataIntegrityViolationException("chave duplicada"))
+                .when(repository).reserve(eq("chave-1"), anyString(), any());
+        when(repository.findById("chave-1")).thenReturn(Optional.of(reservada));
+
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(IdempotencyKeyInProgressException.class, () -> store.execute("chave-1", dto, () -> {
+            execucoes.incrementAndGet();
+            return new Transaction();
+        }));
+        Assertions.assertEquals(0, execucoes.get());
+        verify(repository, never()).deleteById("chave-1");
+    }
+
+    @Test
+    void deveriaLiberarChaveReservadaQuandoOperacaoFalha() throws Exception {
+        // ### ARRANGE ###
+        var repository = mock(IdempotencyRecordRepository.class);
+        store = new IdempotencyStore(Duration.ofMinutes(1), 100, true, repository, objectMapper);
+
+        // ### ACT ###
+        Assertions.assertThrows(WithoutBalanceException.class,
+                () -> store.execute("chave-1", new DepositDTO(12345, 100), () -> {
+                    throw new WithoutBalanceException();
+                }));
+
+        // ### ASSERT ###
+        verify(repository).deleteById("chave-1");
+        verify(repository, never()).complete(anyString(), any(), anyString());
+    }
+}
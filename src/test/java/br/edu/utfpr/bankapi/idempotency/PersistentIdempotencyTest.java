@@ -0,0 +1,61 @@
+package br.edu.utfpr.bankapi.idempotency;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.model.IdempotencyRecord;
+import br.edu.utfpr.bankapi.repository.IdempotencyRecordRepository;
+
+/**
+ * Idempotency-Key reservada e concluída no banco, num H2 em memória, com o
+ * contexto completo da aplicação.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never",
+        "bankapi.idempotency.persistent=true" })
+class PersistentIdempotencyTest {
+
+    @Autowired
+    IdempotencyStore store;
+
+    @Autowired
+    IdempotencyRecordRepository repository;
+
+    @Test
+    void deveriaGravarARespostaDaChaveNoBanco() throws Exception {
+        // ### ARRANGE ###
+        var execucoes = new AtomicInteger();
+        var dto = new DepositDTO(12345, 100);
+
+        // ### ACT ###
+        var primeira = store.execute("chave-persistida", dto, () -> {
+            execucoes.incrementAndGet();
+            return Map.of("amount", 100);
+        });
+        var repetida = store.execute("chave-persistida", dto, () -> {
+            execucoes.incrementAndGet();
+            return Map.of("amount", 999);
+        });
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1, execucoes.get());
+        Assertions.assertFalse(primeira.replayed());
+        Assertions.assertTrue(repetida.replayed());
+
+        var record = repository.findById("chave-persistida").get();
+        Assertions.assertEquals(IdempotencyRecord.Status.COMPLETED, record.getStatus());
+        Assertions.assertEquals("{\"amount\":100}", record.getResponse());
+    }
+}
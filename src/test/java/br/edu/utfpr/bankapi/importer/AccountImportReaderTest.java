@@ -0,0 +1,76 @@
+package br.edu.utfpr.bankapi.importer;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.money.Money;
+
+class AccountImportReaderTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void deveriaLerCsvPeloCabecalho() throws IOException {
+        // ### ARRANGE ###
+        var csv = """
+                number,name,specialLimit
+                12345,"Silva, João",500
+
+                12346,Maria,
+                """;
+
+        // ### ACT ###
+        var reader = new AccountImportReader(new StringReader(csv), AccountImportReader.Format.CSV, objectMapper);
+        var primeira = reader.next();
+        var segunda = reader.next();
+
+        // ### ASSERT ###
+        Assertions.assertEquals(new AccountDTO("Silva, João", 12345L, 0, Money.ofUnits(500)), primeira.account());
+        Assertions.assertEquals(2, primeira.line());
+        // Linhas em branco são ignoradas, mas contam na numeração
+        Assertions.assertEquals(new AccountDTO("Maria", 12346L, 0, 0), segunda.account());
+        Assertions.assertEquals(4, segunda.line());
+        Assertions.assertNull(reader.next());
+    }
+
+    @Test
+    void deveriaRecusarCsvSemColunasObrigatorias() {
+        // ### ACT & ASSERT ###
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new AccountImportReader(new StringReader("nome,numero\n"), AccountImportReader.Format.CSV,
+                        objectMapper));
+    }
+
+    @Test
+    void deveriaReportarLinhaInvalidaSemInterromperALeitura() throws IOException {
+        // ### ARRANGE ###
+        var ndjson = """
+                {"name": "Lauro", "number": 12347, "specialLimit": 100}
+                {"name": "Pedro", "number":
+                {"name": "Ana", "number": 12348}
+                """;
+
+        // ### ACT ###
+        var reader = new AccountImportReader(new StringReader(ndjson), AccountImportReader.Format.NDJSON,
+                objectMapper);
+
+        // ### ASSERT ###
+        Assertions.assertEquals(12347L, reader.next().account().number());
+        var invalida = reader.next();
+        Assertions.assertNull(invalida.account());
+        Assertions.assertNotNull(invalida.error());
+        Assertions.assertEquals(12348L, reader.next().account().number());
+    }
+
+    @Test
+    void deveriaSepararCamposComAspas() {
+        Assertions.assertEquals(List.of("a", "b, \"c\"", ""), AccountImportReader.split("a,\"b, \"\"c\"\"\","));
+    }
+}
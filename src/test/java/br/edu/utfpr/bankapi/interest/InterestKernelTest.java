@@ -0,0 +1,66 @@
+package br.edu.utfpr.bankapi.interest;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import br.edu.utfpr.bankapi.service.InterestCalculator;
+
+/**
+ * Os kernels devem dar exatamente o resultado de
+ * {@link InterestCalculator#calcularJurosCentavos}. Com o perfil vector,
+ * {@link InterestKernel#create()} devolve o kernel vetorial.
+ */
+class InterestKernelTest {
+
+    @Test
+    void deveriaCalcularComoOCalculadorDeJurosNoKernelEscalar() {
+        assertSameAsCalculator(new ScalarInterestKernel());
+    }
+
+    @Test
+    void deveriaCalcularComoOCalculadorDeJurosNoKernelDisponivel() {
+        assertSameAsCalculator(InterestKernel.create());
+    }
+
+    @Test
+    void naoDeveriaRenderJurosParaSaldoNegativoOuZerado() {
+        // ### ARRANGE ###
+        var kernel = InterestKernel.create();
+        long[] balances = { 0, -150_000, 100_000, -1 };
+        long[] interest = new long[balances.length];
+
+        // ### ACT ###
+        kernel.accrue(balances, interest, balances.length, InterestCalculator.fator(1.5f, 1));
+
+        // ### ASSERT ###
+        Assertions.assertArrayEquals(new long[] { 0, 0, 1500, 0 }, interest);
+    }
+
+    private static void assertSameAsCalculator(InterestKernel kernel) {
+        // ### ARRANGE ###
+        var random = new Random(42);
+        // Tamanho que não é múltiplo da largura dos vetores, para passar pelo resto
+        long[] balances = new long[10_007];
+        long[] interest = new long[balances.length];
+        for (int i = 0; i < balances.length; i++)
+            balances[i] = random.nextLong() >>> random.nextInt(64);
+
+        for (float taxa : new float[] { 0.5f, 1.25f, -2f, 99f }) {
+            for (int prazo : new int[] { 1, 12, 360 }) {
+                // ### ACT ###
+                kernel.accrue(balances, interest, balances.length, InterestCalculator.fator(taxa, prazo));
+
+                // ### ASSERT ###
+                for (int i = 0; i < balances.length; i++) {
+                    long expected = balances[i] > 0
+                            ? InterestCalculator.calcularJurosCentavos(balances[i], taxa, prazo)
+                            : 0;
+                    Assertions.assertEquals(expected, interest[i],
+                            kernel + ": saldo " + balances[i] + ", taxa " + taxa + ", prazo " + prazo);
+                }
+            }
+        }
+    }
+}
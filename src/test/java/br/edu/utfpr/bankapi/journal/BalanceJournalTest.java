@@ -0,0 +1,71 @@
+package br.edu.utfpr.bankapi.journal;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.service.TransactionService;
+
+/**
+ * Reconstrução dos saldos a partir dos snapshots e das transações seguintes,
+ * num H2 em memória.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:journal;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never",
+        "bankapi.journal.snapshot.lag=0s" })
+class BalanceJournalTest {
+
+    @Autowired
+    BalanceJournal journal;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Test
+    void deveriaReconstruirOsSaldosDoUltimoSnapshotMaisAsTransacoesSeguintes() throws Exception {
+        // ### ARRANGE ###
+        var account = accountRepository.save(new Account("Lauro Lima", 22347, 0, 0));
+        var account2 = accountRepository.save(new Account("Pedro Pina", 22348, 0, 0));
+
+        transactionService.deposit(new DepositDTO(22347, Money.ofUnits(1000)));
+        transactionService.transfer(new TransferDTO(22347, 22348, Money.ofUnits(300)));
+        var primeiro = journal.snapshot();
+
+        transactionService.withdraw(new WithdrawDTO(22348, Money.ofUnits(100)));
+        var segundo = journal.snapshot();
+
+        transactionService.deposit(new DepositDTO(22348, Money.parse("0.50")));
+
+        // ### ACT ###
+        var saldos = journal.replay();
+
+        // ### ASSERT ###
+        Assertions.assertEquals(2, primeiro.get().getAccounts());
+        Assertions.assertEquals(2, segundo.get().getAccounts());
+        Assertions.assertEquals(Map.of(
+                account.getId(), Money.ofUnits(700),
+                account2.getId(), Money.parse("200.50")), saldos);
+        Assertions.assertEquals(accountRepository.findById(account.getId()).get().getBalance(),
+                saldos.get(account.getId()));
+        Assertions.assertEquals(accountRepository.findById(account2.getId()).get().getBalance(),
+                saldos.get(account2.getId()));
+    }
+}
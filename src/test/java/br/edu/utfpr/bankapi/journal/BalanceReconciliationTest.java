@@ -0,0 +1,72 @@
+package br.edu.utfpr.bankapi.journal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.service.TransactionService;
+
+/**
+ * Conferência dos saldos das contas com o diário, num H2 em memória, com os
+ * intervalos e as faixas de contas processados em paralelo.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reconciliation;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never",
+        "bankapi.journal.snapshot.lag=0s",
+        "bankapi.journal.parallelism=3",
+        "bankapi.journal.chunks=7" })
+class BalanceReconciliationTest {
+
+    @Autowired
+    BalanceReconciliation reconciliation;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Test
+    void deveriaApontarAsContasComSaldoDivergenteDoDiario() throws Exception {
+        // ### ARRANGE ###
+        accountRepository.save(new Account("Lauro Lima", 32347, 0, 0));
+        var pedro = accountRepository.save(new Account("Pedro Pina", 32348, 0, 0));
+        accountRepository.save(new Account("Ana Alves", 32349, 0, 0));
+
+        transactionService.deposit(new DepositDTO(32347, Money.ofUnits(1000)));
+        transactionService.transfer(new TransferDTO(32347, 32348, Money.ofUnits(300)));
+        var primeira = reconciliation.reconcile();
+
+        // Snapshot seguinte soma apenas as transações novas
+        transactionService.deposit(new DepositDTO(32349, Money.ofUnits(50)));
+        var account = accountRepository.findById(pedro.getId()).get();
+        account.setBalance(Money.ofUnits(999));
+        accountRepository.save(account);
+
+        // ### ACT ###
+        var segunda = reconciliation.reconcile();
+
+        // ### ASSERT ###
+        Assertions.assertEquals(0, primeira.get().mismatches());
+        Assertions.assertTrue(segunda.get().snapshotId() > primeira.get().snapshotId());
+        Assertions.assertEquals(1, segunda.get().mismatches());
+
+        var divergente = segunda.get().accounts().get(0);
+        Assertions.assertEquals(32348, divergente.number());
+        Assertions.assertEquals(Money.ofUnits(999), divergente.balance());
+        Assertions.assertEquals(Money.ofUnits(300), divergente.expected());
+        Assertions.assertEquals(segunda, reconciliation.last());
+    }
+}
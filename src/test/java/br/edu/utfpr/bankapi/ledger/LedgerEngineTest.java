@@ -0,0 +1,109 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerEngineTest {
+
+	@Mock
+	AvailableAccountValidation availableAccountValidation;
+
+	@Mock
+	LedgerJournal journal;
+
+	LedgerEngine engine;
+
+	Account account;
+	Account account2;
+
+	@BeforeEach
+	void setup() throws NotFoundException {
+		engine = new LedgerEngine(availableAccountValidation, new AvailableBalanceValidation(), journal, 16);
+
+		// Limite alto para que a ordem de execução das threads não esgote o saldo
+		account = new Account("Lauro Lima", 12347, 1000, 100_000);
+		account2 = new Account("Pedro Pina", 12348, 1000, 100_000);
+
+		BDDMockito.lenient().when(availableAccountValidation.validate(12347)).thenReturn(account);
+		BDDMockito.lenient().when(availableAccountValidation.validate(12348)).thenReturn(account2);
+	}
+
+	@Test
+	void naoDeveriaPerderAtualizacoesEmTransferenciasConcorrentes() throws Exception {
+		// ### ARRANGE ###
+		int threads = 8;
+		int transferencias = 2_000;
+		var tarefas = new ArrayList<Callable<Void>>();
+
+		for (int t = 0; t < threads; t++) {
+			// Metade das threads transfere em cada sentido, forçando a ordem de travas
+			var dto = t % 2 == 0
+					? new TransferDTO(12347, 12348, 1)
+					: new TransferDTO(12348, 12347, 1);
+			tarefas.add(() -> {
+				for (int i = 0; i < transferencias; i++)
+					engine.transfer(dto);
+				return null;
+			});
+		}
+
+		// ### ACT ###
+		var executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (var future : executor.invokeAll(tarefas))
+				future.get();
+		} finally {
+			executor.shutdown();
+		}
+
+		// ### ASSERT ###
+		// Transferências nos dois sentidos se anulam
+		Assertions.assertEquals(1000, account.getBalance());
+		Assertions.assertEquals(1000, account2.getBalance());
+		BDDMockito.then(journal).should(BDDMockito.times(threads * transferencias)).append(BDDMockito.any());
+	}
+
+	@Test
+	void deveriaRecusarSaqueSemSaldo() {
+		// ### ACT & ASSERT ###
+		Assertions.assertThrows(WithoutBalanceException.class,
+				() -> engine.withdraw(new WithdrawDTO(12347, 200_000)));
+
+		Assertions.assertEquals(1000, account.getBalance());
+		BDDMockito.then(journal).shouldHaveNoInteractions();
+	}
+
+	@Test
+	void deveriaManterSaldoAoAtualizarCadastro() throws NotFoundException {
+		// ### ARRANGE ###
+		engine.withdraw(new WithdrawDTO(12347, 100));
+		var atualizada = new Account("Lauro Lima Jr", 22222, 0, 500);
+
+		// ### ACT ###
+		engine.refresh(12347, atualizada);
+		var transaction = engine.withdraw(new WithdrawDTO(22222, 100));
+
+		// ### ASSERT ###
+		Assertions.assertEquals(800, transaction.getSourceAccount().getBalance());
+		Assertions.assertEquals("Lauro Lima Jr", transaction.getSourceAccount().getName());
+		Assertions.assertEquals(500, transaction.getSourceAccount().getSpecialLimit());
+	}
+}
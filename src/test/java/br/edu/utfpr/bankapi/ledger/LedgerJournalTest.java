@@ -0,0 +1,128 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.repository.WalCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerJournalTest {
+
+	static final long RECUSADA = 7;
+
+	@Mock
+	AccountRepository accountRepository;
+
+	@Mock
+	TransactionRepository transactionRepository;
+
+	@Mock
+	TransactionTemplate transactionTemplate;
+
+	@Mock
+	WalCheckpointRepository checkpointRepository;
+
+	@Mock
+	ObjectProvider<WriteAheadLog> wal;
+
+	SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	LedgerJournal journal;
+
+	/**
+	 * Valores das transações gravadas, na ordem de gravação.
+	 */
+	List<Long> gravadas = new ArrayList<>();
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setup() {
+		journal = new LedgerJournal(accountRepository, transactionRepository, transactionTemplate,
+				checkpointRepository, wal, registry, 1000, 500, 3, Duration.ZERO);
+
+		// Executa a gravação do lote diretamente, sem transação
+		BDDMockito.lenient().doAnswer(invocation -> {
+			invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(BDDMockito.any());
+
+		// O banco recusa qualquer lote que contenha a transação de valor RECUSADA
+		BDDMockito.willAnswer(invocation -> {
+			var entities = invocation.<List<Transaction>>getArgument(0);
+			if (entities.stream().anyMatch(transaction -> transaction.getAmount() == RECUSADA))
+				throw new DataIntegrityViolationException("violação de restrição");
+			entities.forEach(transaction -> gravadas.add(transaction.getAmount()));
+			return entities;
+		}).given(transactionRepository).saveAll(BDDMockito.anyList());
+	}
+
+	@Test
+	void deveriaIsolarATransacaoRecusadaEGravarAsDemais() throws Exception {
+		// ### ARRANGE ###
+		for (long valor = 1; valor <= 10; valor++)
+			journal.append(deposito(valor));
+
+		// ### ACT ###
+		journal.start();
+		journal.stop();
+
+		// ### ASSERT ###
+		Assertions.assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 8L, 9L, 10L), gravadas);
+		Assertions.assertEquals(1, registry.get("bankapi.ledger.journal.dead.letters").counter().count());
+		Assertions.assertEquals(0, registry.get("bankapi.ledger.journal.stalled").gauge().value());
+		Assertions.assertEquals(0, journal.pending());
+	}
+
+	@Test
+	void deveriaRepetirOLoteEnquantoOBancoEstiverIndisponivel() throws Exception {
+		// ### ARRANGE ###
+		// Indisponível por mais vezes que max-attempts
+		var falhas = new AtomicInteger(5);
+		BDDMockito.willAnswer(invocation -> {
+			if (falhas.getAndDecrement() > 0)
+				throw new CannotCreateTransactionException("sem conexão");
+			invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+			return null;
+		}).given(transactionTemplate).executeWithoutResult(BDDMockito.any());
+
+		journal.append(deposito(1));
+		journal.append(deposito(2));
+
+		// ### ACT ###
+		journal.start();
+		journal.stop();
+
+		// ### ASSERT ###
+		Assertions.assertEquals(List.of(1L, 2L), gravadas);
+		Assertions.assertEquals(5, registry.get("bankapi.ledger.journal.failures").counter().count());
+		Assertions.assertEquals(0, registry.get("bankapi.ledger.journal.dead.letters").counter().count());
+	}
+
+	private static Transaction deposito(long valor) {
+		var account = new Account("Lauro Lima", 12347, 1000 + valor, 0);
+		account.setId(1L);
+		return new Transaction(null, account, valor, TransactionType.DEPOSIT);
+	}
+}
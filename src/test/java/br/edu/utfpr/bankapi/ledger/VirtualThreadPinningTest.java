@@ -0,0 +1,111 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Garante que as seções críticas do ledger não fixam threads virtuais na
+ * thread portadora (como um bloco {@code synchronized} faria ao bloquear lá
+ * dentro). Só executa em Java 21 ou superior.
+ */
+@ExtendWith(MockitoExtension.class)
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadPinningTest {
+
+	@Mock
+	AvailableAccountValidation availableAccountValidation;
+
+	@Mock
+	LedgerJournal journal;
+
+	LedgerEngine engine;
+
+	@BeforeEach
+	void setup() throws NotFoundException {
+		engine = new LedgerEngine(availableAccountValidation, new AvailableBalanceValidation(), journal, 16);
+
+		BDDMockito.given(availableAccountValidation.validate(12347))
+				.willReturn(new Account("Lauro Lima", 12347, 1000, 100_000));
+		BDDMockito.given(availableAccountValidation.validate(12348))
+				.willReturn(new Account("Pedro Pina", 12348, 1000, 100_000));
+
+		// Simula a fila do diário cheia: a gravação bloqueia com as travas adquiridas
+		BDDMockito.willAnswer(invocation -> {
+			Thread.sleep(1);
+			return null;
+		}).given(journal).append(BDDMockito.any());
+	}
+
+	@Test
+	void naoDeveriaFixarThreadsVirtuaisNasTransferencias() throws Exception {
+		// ### ARRANGE ###
+		var tarefas = new ArrayList<Callable<Void>>();
+		for (int t = 0; t < 64; t++) {
+			var dto = t % 2 == 0
+					? new TransferDTO(12347, 12348, 1)
+					: new TransferDTO(12348, 12347, 1);
+			tarefas.add(() -> {
+				for (int i = 0; i < 20; i++)
+					engine.transfer(dto);
+				return null;
+			});
+		}
+
+		// ### ACT ###
+		List<RecordedEvent> eventos;
+		try (var recording = new Recording()) {
+			recording.enable("jdk.VirtualThreadPinned").withoutThreshold();
+			recording.start();
+
+			// Compilado para Java 17: o executor de threads virtuais é obtido por reflexão
+			var executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+					.invoke(null);
+			try {
+				for (var future : executor.invokeAll(tarefas))
+					future.get();
+			} finally {
+				executor.shutdown();
+			}
+
+			recording.stop();
+			var arquivo = Files.createTempFile("pinning", ".jfr");
+			try {
+				recording.dump(arquivo);
+				eventos = RecordingFile.readAllEvents(arquivo);
+			} finally {
+				Files.delete(arquivo);
+			}
+		}
+
+		// ### ASSERT ###
+		var fixadas = eventos.stream()
+				.filter(evento -> evento.getStackTrace() != null && evento.getStackTrace().getFrames().stream()
+						.anyMatch(frame -> frame.getMethod().getType().getName().startsWith("br.edu.utfpr.bankapi")))
+				.map(RecordedEvent::toString)
+				.toList();
+		Assertions.assertEquals(List.of(), fixadas);
+	}
+}
@@ -0,0 +1,34 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.util.unit.DataSize;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Processo usado pelo {@link WriteAheadLogTest}: grava depósitos no
+ * write-ahead log sem parar e informa na saída padrão cada LSN gravado, até
+ * ser encerrado à força.
+ */
+public class WalWriterProcess {
+
+	public static void main(String[] args) throws Exception {
+		var wal = new WriteAheadLog(Path.of(args[0]), DataSize.ofKilobytes(64),
+				WriteAheadLog.FsyncPolicy.valueOf(args[1]), Duration.ofMillis(10));
+		wal.recover(0, (lsn, transaction) -> {
+		});
+
+		var account = new Account("Lauro Lima", 12347, 0, 0);
+		account.setId(1);
+		for (long i = 1;; i++) {
+			account.setBalance(i);
+			long lsn = wal.write(new Transaction(null, account, 1, TransactionType.DEPOSIT));
+			wal.sync(lsn);
+			System.out.println(lsn);
+		}
+	}
+}
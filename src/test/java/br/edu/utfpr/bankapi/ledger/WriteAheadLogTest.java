@@ -0,0 +1,202 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+class WriteAheadLogTest {
+
+	@TempDir
+	Path dir;
+
+	List<WriteAheadLog> abertos = new ArrayList<>();
+
+	@AfterEach
+	void cleanup() throws InterruptedException {
+		for (var wal : abertos)
+			wal.close();
+	}
+
+	@Test
+	void deveriaRecuperarOsRegistrosAposOCheckpoint() {
+		// ### ARRANGE ###
+		var wal = open(WriteAheadLog.FsyncPolicy.GROUP, 1024);
+		wal.recover(0, (lsn, transaction) -> Assertions.fail("Nada a recuperar"));
+
+		var data = LocalDateTime.of(2024, 5, 10, 14, 30, 15, 123_456_000);
+		for (int i = 1; i <= 5; i++) {
+			var transaction = new Transaction(account(1, 1000 - i), account(2, 2000 + i), i,
+					TransactionType.TRANSFER);
+			transaction.setDateTime(data);
+			wal.sync(wal.write(transaction));
+		}
+
+		// ### ACT ###
+		var recuperados = new ArrayList<Transaction>();
+		var lsns = new ArrayList<Long>();
+		var reaberto = open(WriteAheadLog.FsyncPolicy.GROUP, 1024);
+		long ultimo = reaberto.recover(2, (lsn, transaction) -> {
+			lsns.add(lsn);
+			recuperados.add(transaction);
+		});
+
+		// ### ASSERT ###
+		Assertions.assertEquals(5, ultimo);
+		Assertions.assertEquals(List.of(3L, 4L, 5L), lsns);
+
+		var terceiro = recuperados.get(0);
+		Assertions.assertEquals(TransactionType.TRANSFER, terceiro.getType());
+		Assertions.assertEquals(3, terceiro.getAmount());
+		Assertions.assertEquals(data, terceiro.getDateTime());
+		Assertions.assertEquals(1, terceiro.getSourceAccount().getId());
+		Assertions.assertEquals(997, terceiro.getSourceAccount().getBalance());
+		Assertions.assertEquals(2, terceiro.getReceiverAccount().getId());
+		Assertions.assertEquals(2003, terceiro.getReceiverAccount().getBalance());
+
+		// As gravações continuam após o último LSN
+		Assertions.assertEquals(6, reaberto.write(deposit(1, 10)));
+	}
+
+	@Test
+	void deveriaPararNoPrimeiroRegistroIncompleto() throws Exception {
+		// ### ARRANGE ###
+		var wal = open(WriteAheadLog.FsyncPolicy.PER_WRITE, 1024);
+		wal.recover(0, (lsn, transaction) -> {
+		});
+		for (int i = 1; i <= 3; i++)
+			wal.write(deposit(1, i));
+
+		// Corrompe o saldo do terceiro registro, como numa gravação interrompida
+		try (var file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+			file.seek(2 * WriteAheadLog.RECORD_SIZE + 40);
+			file.writeLong(-1);
+		}
+
+		// ### ACT ###
+		var lsns = new ArrayList<Long>();
+		long ultimo = open(WriteAheadLog.FsyncPolicy.PER_WRITE, 1024).recover(0, (lsn, transaction) -> lsns.add(lsn));
+
+		// ### ASSERT ###
+		Assertions.assertEquals(2, ultimo);
+		Assertions.assertEquals(List.of(1L, 2L), lsns);
+	}
+
+	@Test
+	void deveriaApagarOsSegmentosJaGravadosNoBanco() throws Exception {
+		// ### ARRANGE ###
+		// Quatro registros por segmento
+		var wal = open(WriteAheadLog.FsyncPolicy.INTERVAL, 4 * WriteAheadLog.RECORD_SIZE);
+		wal.recover(0, (lsn, transaction) -> {
+		});
+		for (int i = 1; i <= 10; i++)
+			wal.write(deposit(1, i));
+		Assertions.assertEquals(3, segments().size());
+
+		// ### ACT ###
+		wal.release(8);
+
+		// ### ASSERT ###
+		Assertions.assertEquals(List.of("wal-00000000000000000009.log"),
+				segments().stream().map(path -> path.getFileName().toString()).toList());
+	}
+
+	@Test
+	void deveriaRecuperarDuasVezesQuandoOLogTerminaAntesDoCheckpoint() throws Exception {
+		// ### ARRANGE ###
+		var wal = open(WriteAheadLog.FsyncPolicy.PER_WRITE, 1024);
+		wal.recover(0, (lsn, transaction) -> {
+		});
+		for (int i = 1; i <= 3; i++)
+			wal.write(deposit(1, i));
+
+		// O banco já gravou até o LSN 10 (log antigo perdido ou substituído)
+		var aposSalto = open(WriteAheadLog.FsyncPolicy.PER_WRITE, 1024);
+		Assertions.assertEquals(3, aposSalto.recover(10, (lsn, transaction) -> Assertions.fail("Nada a recuperar")));
+		Assertions.assertEquals(11, aposSalto.write(deposit(1, 11)));
+		Assertions.assertEquals(12, aposSalto.write(deposit(1, 12)));
+
+		// ### ACT ###
+		var lsns = new ArrayList<Long>();
+		long ultimo = open(WriteAheadLog.FsyncPolicy.PER_WRITE, 1024).recover(10, (lsn, transaction) -> lsns.add(lsn));
+
+		// ### ASSERT ###
+		Assertions.assertEquals(12, ultimo);
+		Assertions.assertEquals(List.of(11L, 12L), lsns);
+		Assertions.assertEquals("wal-00000000000000000011.log", segments().get(0).getFileName().toString());
+	}
+
+	@Test
+	void naoDeveriaPerderRegistrosConfirmadosQuandoOProcessoEMorto() throws Exception {
+		// ### ARRANGE ###
+		var java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+		var processo = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+				WalWriterProcess.class.getName(), dir.toString(), "INTERVAL")
+				.redirectErrorStream(false)
+				.start();
+
+		// ### ACT ###
+		// Mata o processo no meio das gravações, sem encerramento normal
+		long confirmado = 0;
+		try (var saida = new BufferedReader(new InputStreamReader(processo.getInputStream()))) {
+			String linha;
+			while ((linha = saida.readLine()) != null && confirmado < 50_000)
+				confirmado = Long.parseLong(linha.trim());
+			processo.destroyForcibly();
+			processo.waitFor();
+		}
+
+		var lsns = new ArrayList<Long>();
+		var saldos = new ArrayList<Long>();
+		long ultimo = open(WriteAheadLog.FsyncPolicy.GROUP, 64 * 1024).recover(0, (lsn, transaction) -> {
+			lsns.add(lsn);
+			saldos.add(transaction.getReceiverAccount().getBalance());
+		});
+
+		// ### ASSERT ###
+		Assertions.assertTrue(confirmado >= 50_000, "O processo terminou antes do esperado");
+		Assertions.assertTrue(ultimo >= confirmado, "Registros confirmados perdidos: " + ultimo + " < " + confirmado);
+		for (int i = 0; i < lsns.size(); i++) {
+			Assertions.assertEquals(i + 1, lsns.get(i));
+			Assertions.assertEquals(i + 1, saldos.get(i));
+		}
+	}
+
+	private WriteAheadLog open(WriteAheadLog.FsyncPolicy fsync, long segmentSize) {
+		var wal = new WriteAheadLog(dir, DataSize.ofBytes(segmentSize), fsync, Duration.ofMillis(5));
+		abertos.add(wal);
+		return wal;
+	}
+
+	private List<Path> segments() throws Exception {
+		try (var files = Files.list(dir)) {
+			return files.sorted().toList();
+		}
+	}
+
+	private static Transaction deposit(long accountId, long balance) {
+		return new Transaction(null, account(accountId, balance), 1, TransactionType.DEPOSIT);
+	}
+
+	private static Account account(long id, long balance) {
+		var account = new Account();
+		account.setId(id);
+		account.setBalance(balance);
+		return account;
+	}
+}
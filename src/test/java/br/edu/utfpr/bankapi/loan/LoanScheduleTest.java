@@ -0,0 +1,103 @@
+package br.edu.utfpr.bankapi.loan;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import br.edu.utfpr.bankapi.dto.AmortizationSystem;
+import br.edu.utfpr.bankapi.dto.LoanDTO;
+import br.edu.utfpr.bankapi.money.Money;
+
+class LoanScheduleTest {
+
+    @Test
+    void deveriaGerarParcelasIguaisNaTabelaPrice() {
+        // ### ARRANGE ###
+        var loan = new LoanDTO(Money.ofUnits(1000), 1.5f, 6, AmortizationSystem.PRICE);
+
+        // ### ACT ###
+        var parcelas = LoanSchedule.stream(loan).toList();
+
+        // ### ASSERT ###
+        Assertions.assertEquals(6, parcelas.size());
+        // 1000 * 0,015 * 1,015^6 / (1,015^6 - 1) = 175,53
+        for (var parcela : parcelas.subList(0, 5))
+            Assertions.assertEquals(Money.parse("175.53"), parcela.payment());
+        Assertions.assertEquals(Money.parse("15.00"), parcelas.get(0).interest());
+        Assertions.assertEquals(Money.parse("160.53"), parcelas.get(0).amortization());
+        Assertions.assertEquals(0, parcelas.get(5).balance());
+        Assertions.assertEquals(Money.ofUnits(1000), parcelas.stream().mapToLong(p -> p.amortization()).sum());
+    }
+
+    @Test
+    void deveriaAmortizarValoresIguaisNoSac() {
+        // ### ARRANGE ###
+        var loan = new LoanDTO(Money.ofUnits(1000), 1f, 3, AmortizationSystem.SAC);
+
+        // ### ACT ###
+        var parcelas = LoanSchedule.stream(loan).toList();
+
+        // ### ASSERT ###
+        Assertions.assertEquals(List.of(Money.parse("343.33"), Money.parse("340.00"), Money.parse("336.67")),
+                parcelas.stream().map(p -> p.payment()).toList());
+        // A última parcela amortiza o centavo que sobrou da divisão
+        Assertions.assertEquals(Money.parse("333.34"), parcelas.get(2).amortization());
+        Assertions.assertEquals(0, parcelas.get(2).balance());
+    }
+
+    @Test
+    void deveriaGerarAsParcelasSobDemanda() {
+        // ### ARRANGE ###
+        var schedule = new LoanSchedule(new LoanDTO(Money.ofUnits(100_000), 0.05f, 36_500, AmortizationSystem.PRICE));
+        var primeiras = new ArrayList<Long>();
+
+        // ### ACT ###
+        for (int i = 0; i < 3; i++)
+            primeiras.add(schedule.next().balance());
+
+        // ### ASSERT ###
+        Assertions.assertTrue(schedule.hasNext());
+        Assertions.assertTrue(primeiras.get(0) > primeiras.get(1) && primeiras.get(1) > primeiras.get(2));
+    }
+
+    @Test
+    void deveriaResumirVariasSimulacoesNaOrdemRecebida() throws Exception {
+        // ### ARRANGE ###
+        var simulator = new LoanSimulator(4, 1000);
+        var loans = new ArrayList<LoanDTO>();
+        for (int i = 1; i <= 500; i++)
+            loans.add(new LoanDTO(Money.ofUnits(1000), 1.5f, i,
+                    i % 2 == 0 ? AmortizationSystem.PRICE : AmortizationSystem.SAC));
+
+        // ### ACT ###
+        var resumos = simulator.summarize(loans);
+
+        // ### ASSERT ###
+        Assertions.assertEquals(500, resumos.size());
+        for (int i = 0; i < resumos.size(); i++) {
+            Assertions.assertEquals(i, resumos.get(i).index());
+            Assertions.assertEquals(simulator.summarize(i, loans.get(i)), resumos.get(i));
+            Assertions.assertEquals(Money.ofUnits(1000), resumos.get(i).totalPaid() - resumos.get(i).totalInterest());
+        }
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new LoanSimulator(1, 10).summarize(loans));
+    }
+
+    @Test
+    void deveriaSimularNosLimitesDeTaxaEPrazoSemEstourar() {
+        // ### ARRANGE ###
+        // (1 + 100%)^36500 não cabe num double
+        var principal = Money.ofUnits(10_000_000_000L);
+        var loan = new LoanDTO(principal, 100, 36_500, AmortizationSystem.PRICE);
+
+        // ### ACT ###
+        var resumo = new LoanSimulator(1, 10).summarize(0, loan);
+
+        // ### ASSERT ###
+        // Juros da primeira parcela mais o centavo mínimo de amortização
+        Assertions.assertEquals(principal + 1, resumo.firstPayment());
+        Assertions.assertEquals(principal, resumo.totalPaid() - resumo.totalInterest());
+    }
+}
@@ -0,0 +1,45 @@
+package br.edu.utfpr.bankapi.mapper;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+class TransactionMapperTest {
+
+    @Test
+    void deveriaConverterTransferenciaEmEntidade() {
+        // ### ACT ###
+        var transaction = TransactionMapper.toEntity(new TransferDTO(12345, 12346, 150));
+
+        // ### ASSERT ###
+        Assertions.assertEquals(150, transaction.getAmount());
+        Assertions.assertEquals(TransactionType.TRANSFER, transaction.getType());
+        Assertions.assertNotNull(transaction.getDateTime());
+        Assertions.assertNull(transaction.getSourceAccount());
+    }
+
+    @Test
+    void deveriaConverterTransacaoEmResposta() {
+        // ### ARRANGE ###
+        var account = new Account("John Doe", 12345, 1000, 500);
+        account.setId(7);
+        var transaction = TransactionMapper.toEntity(new WithdrawDTO(12345, 100));
+        transaction.setId(42);
+        transaction.setSourceAccount(account);
+
+        // ### ACT ###
+        var res = TransactionMapper.toResponse(transaction);
+
+        // ### ASSERT ###
+        Assertions.assertEquals(42, res.id());
+        Assertions.assertEquals(7, res.sourceAccount().id());
+        Assertions.assertEquals(1500, res.sourceAccount().balanceWithLimit());
+        Assertions.assertNull(res.receiverAccount());
+        Assertions.assertEquals(TransactionType.WITHDRAW, res.type());
+        Assertions.assertEquals(transaction.getDateTime(), res.dateTime());
+    }
+}
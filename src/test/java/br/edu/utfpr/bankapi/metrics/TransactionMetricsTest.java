@@ -0,0 +1,98 @@
+package br.edu.utfpr.bankapi.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics.Phase;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TransactionMetricsTest {
+
+    SimpleMeterRegistry registry;
+
+    TransactionMetrics metrics;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        metrics = new TransactionMetrics(registry);
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void deveriaRegistrarAsFases() {
+        // ### ACT ###
+        long time = metrics.record(TransactionType.TRANSFER, Phase.ACCOUNT_LOOKUP, System.nanoTime());
+        metrics.record(TransactionType.TRANSFER, Phase.BALANCE_VALIDATION, time);
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1, phase("transfer", "account-lookup"));
+        Assertions.assertEquals(1, phase("transfer", "balance-validation"));
+        Assertions.assertEquals(0, phase("deposit", "account-lookup"));
+    }
+
+    @Test
+    void deveriaContarOsResultados() throws Exception {
+        // ### ACT ###
+        metrics.count(TransactionType.WITHDRAW, () -> "ok");
+        Assertions.assertThrows(WithoutBalanceException.class, () -> metrics.count(TransactionType.WITHDRAW, () -> {
+            throw new WithoutBalanceException();
+        }));
+        Assertions.assertThrows(NotFoundException.class, () -> metrics.count(TransactionType.WITHDRAW, () -> {
+            throw new NotFoundException("Conta 999 inexistente");
+        }));
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1, outcome("withdraw", "success"));
+        Assertions.assertEquals(1, outcome("withdraw", "without-balance"));
+        Assertions.assertEquals(1, outcome("withdraw", "not-found"));
+        Assertions.assertEquals(0, outcome("withdraw", "error"));
+    }
+
+    @Test
+    void deveriaMedirApenasOsCommits() {
+        // ### ARRANGE ###
+        TransactionSynchronizationManager.initSynchronization();
+        metrics.recordCommit(TransactionType.DEPOSIT);
+        metrics.recordCommit(TransactionType.DEPOSIT);
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+        // ### ACT ###
+        synchronizations.get(0).beforeCommit(false);
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1, phase("deposit", "commit"));
+    }
+
+    @Test
+    void naoDeveriaMedirOCommitForaDeTransacao() {
+        // ### ACT ###
+        metrics.recordCommit(TransactionType.DEPOSIT);
+
+        // ### ASSERT ###
+        Assertions.assertFalse(TransactionSynchronizationManager.isSynchronizationActive());
+        Assertions.assertEquals(0, phase("deposit", "commit"));
+    }
+
+    private long phase(String type, String phase) {
+        return registry.get("bankapi.transaction.phase").tags("type", type, "phase", phase).timer().count();
+    }
+
+    private double outcome(String type, String outcome) {
+        return registry.get("bankapi.transaction.outcome").tags("type", type, "outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,60 @@
+package br.edu.utfpr.bankapi.money;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+
+class MoneyTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void deveriaConverterValoresDecimaisSemPerderPrecisao() {
+        Assertions.assertEquals(15_085, Money.parse("150.85"));
+        Assertions.assertEquals(-1, Money.parse("-0.01"));
+        Assertions.assertEquals(new BigDecimal("0.30"), Money.toBigDecimal(Money.add(Money.parse("0.1"),
+                Money.parse("0.2"))));
+        Assertions.assertThrows(ArithmeticException.class, () -> Money.parse("1.001"));
+    }
+
+    @Test
+    void deveriaFormatarCentavos() {
+        Assertions.assertEquals("150.85", Money.toString(15_085));
+        Assertions.assertEquals("0.05", Money.toString(5));
+        Assertions.assertEquals("-0.05", Money.toString(-5));
+        Assertions.assertEquals("-92233720368547758.08", Money.toString(Long.MIN_VALUE));
+    }
+
+    @Test
+    void deveriaFalharNoEstouro() {
+        Assertions.assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1));
+    }
+
+    @Test
+    void deveriaLerEEscreverJsonEmReais() throws Exception {
+        // ### ACT ###
+        var dto = objectMapper.readValue("{\"sourceAccountNumber\": 1, \"receiverAccountNumber\": 2, \"amount\": 150.85}",
+                TransferDTO.class);
+        var json = objectMapper.writeValueAsString(dto);
+
+        // ### ASSERT ###
+        Assertions.assertEquals(15_085, dto.amount());
+        Assertions.assertTrue(json.contains("\"amount\":150.85"));
+        Assertions.assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"amount\": 1.001}", TransferDTO.class));
+    }
+
+    @Test
+    void deveriaConverterParaColunaNumeric() {
+        var converter = new MoneyConverter();
+
+        Assertions.assertEquals(new BigDecimal("150.85"), converter.convertToDatabaseColumn(15_085L));
+        Assertions.assertEquals(15_085L, converter.convertToEntityAttribute(new BigDecimal("150.85")));
+    }
+}
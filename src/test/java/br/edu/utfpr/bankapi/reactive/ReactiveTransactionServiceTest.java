@@ -0,0 +1,113 @@
+package br.edu.utfpr.bankapi.reactive;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.money.Money;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTransactionServiceTest {
+
+    @Mock
+    ReactiveAccountRepository accountRepository;
+
+    @Mock
+    ReactiveTransactionRepository transactionRepository;
+
+    @Mock
+    TransactionalOperator transactionalOperator;
+
+    ReactiveTransactionService service;
+
+    BigDecimal valor = Money.toBigDecimal(Money.ofUnits(150));
+
+    @BeforeEach
+    void setup() {
+        service = new ReactiveTransactionService(accountRepository, transactionRepository, transactionalOperator);
+
+        // Sem banco, a transação apenas repassa a operação
+        BDDMockito.given(transactionalOperator.transactional(BDDMockito.<Mono<Object>>any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void deveriaTransferir() {
+        // ### ARRANGE ###
+        var source = new AccountRow(1L, "José", 12345, new BigDecimal("350.00"), BigDecimal.ZERO.setScale(2), 1);
+        var receiver = new AccountRow(2L, "Juca Jones", 777, new BigDecimal("350.00"), new BigDecimal("100.00"), 1);
+
+        BDDMockito.given(accountRepository.debit(12345, valor)).willReturn(Mono.just(1));
+        BDDMockito.given(accountRepository.credit(777, valor)).willReturn(Mono.just(1));
+        BDDMockito.given(accountRepository.findByNumber(12345)).willReturn(Mono.just(source));
+        BDDMockito.given(accountRepository.findByNumber(777)).willReturn(Mono.just(receiver));
+        BDDMockito.given(transactionRepository.nextId()).willReturn(Mono.just(50L));
+        BDDMockito.given(transactionRepository.insert(BDDMockito.eq(50L), BDDMockito.eq(1L), BDDMockito.eq(2L),
+                BDDMockito.eq(valor), BDDMockito.eq("TRANSFER"), BDDMockito.any()))
+                .willReturn(Mono.just(1));
+
+        // ### ACT ###
+        var transaction = service.transfer(new TransferDTO(12345, 777, Money.ofUnits(150))).block();
+
+        // ### ASSERT ###
+        Assertions.assertEquals(50, transaction.id());
+        Assertions.assertEquals(Money.ofUnits(150), transaction.amount());
+        Assertions.assertEquals(Money.ofUnits(350), transaction.sourceAccount().balance());
+        Assertions.assertEquals(Money.ofUnits(450), transaction.receiverAccount().balanceWithLimit());
+    }
+
+    @Test
+    void deveriaRecusarTransferenciaSemSaldo() {
+        // ### ARRANGE ###
+        BDDMockito.given(accountRepository.debit(12345, valor)).willReturn(Mono.just(0));
+        BDDMockito.given(accountRepository.existsByNumber(12345)).willReturn(Mono.just(true));
+        BDDMockito.given(accountRepository.existsByNumber(777)).willReturn(Mono.just(true));
+
+        // ### ACT & ASSERT ###
+        StepVerifier.create(service.transfer(new TransferDTO(12345, 777, Money.ofUnits(150))))
+                .expectError(WithoutBalanceException.class)
+                .verify();
+        BDDMockito.then(transactionRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void deveriaRecusarTransferenciaParaContaInexistenteAntesDoSaldo() {
+        // ### ARRANGE ###
+        // Como no AvailableAccountValidation, a conta de destino é verificada
+        // antes do saldo
+        BDDMockito.given(accountRepository.debit(12345, valor)).willReturn(Mono.just(0));
+        BDDMockito.given(accountRepository.existsByNumber(12345)).willReturn(Mono.just(true));
+        BDDMockito.given(accountRepository.existsByNumber(888)).willReturn(Mono.just(false));
+
+        // ### ACT & ASSERT ###
+        StepVerifier.create(service.transfer(new TransferDTO(12345, 888, Money.ofUnits(150))))
+                .expectErrorMatches(e -> e instanceof NotFoundException
+                        && e.getMessage().equals("Conta 888 inexistente"))
+                .verify();
+    }
+
+    @Test
+    void deveriaRecusarSaqueDeContaInexistente() {
+        // ### ARRANGE ###
+        BDDMockito.given(accountRepository.debit(999, valor)).willReturn(Mono.just(0));
+        BDDMockito.given(accountRepository.existsByNumber(999)).willReturn(Mono.just(false));
+
+        // ### ACT & ASSERT ###
+        StepVerifier.create(service.withdraw(new WithdrawDTO(999, Money.ofUnits(150))))
+                .expectError(NotFoundException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,109 @@
+package br.edu.utfpr.bankapi.replica;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.service.AccountService;
+
+/**
+ * Leituras dos serviços encaminhadas à réplica, com dois H2 em memória (o
+ * principal e a réplica) que não replicam entre si: uma conta gravada só num
+ * deles mostra qual banco atendeu a leitura.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never",
+        "bankapi.datasource.replica.urls=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+        "bankapi.datasource.replica.lag-query=select seconds from tb_replica_lag",
+        "bankapi.datasource.replica.max-lag=10s",
+        "bankapi.datasource.replica.lag-check-interval=PT1H" })
+class ReplicaRoutingDataSourceTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    ReplicaRoutingDataSource routingDataSource;
+
+    JdbcTemplate replica;
+
+    @BeforeEach
+    void setup() {
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("drop table if exists tb_account");
+        replica.execute("drop table if exists tb_replica_lag");
+        replica.execute("create table tb_account (id bigint primary key, name varchar(255) not null, "
+                + "number bigint not null unique, balance numeric(19,2) not null, "
+                + "special_limit numeric(19,2) not null, version bigint not null)");
+        replica.execute("create table tb_replica_lag (seconds double precision)");
+        replica.update("insert into tb_replica_lag values (0)");
+    }
+
+    @Test
+    void deveriaLerDaReplicaNasLeiturasDosServicos() {
+        // ### ARRANGE ###
+        accountRepository.save(new Account("Lauro Lima", 52347, Money.ofUnits(100), 0));
+        replica.update("insert into tb_account values (1000, 'Pedro Pina', 52348, 50.00, 0, 0)");
+        routingDataSource.checkLag();
+
+        // ### ACT ###
+        var daReplica = accountService.getByNumber(52348);
+        var doPrincipal = accountService.getByNumber(52347);
+
+        // ### ASSERT ###
+        Assertions.assertTrue(daReplica.isPresent());
+        Assertions.assertEquals(Money.ofUnits(50), daReplica.get().getBalance());
+        Assertions.assertTrue(doPrincipal.isEmpty());
+        Assertions.assertEquals(1, accountService.getAll().size());
+
+        // Fora das transações dos serviços, a leitura é feita no principal
+        Assertions.assertTrue(accountRepository.getByNumber(52347).isPresent());
+        Assertions.assertTrue(accountRepository.getByNumber(52348).isEmpty());
+    }
+
+    @Test
+    void deveriaVoltarAoPrincipalComAReplicaAtrasada() {
+        // ### ARRANGE ###
+        accountRepository.save(new Account("Ana Alves", 52349, Money.ofUnits(100), 0));
+        replica.update("insert into tb_account values (1001, 'Rui Reis', 52350, 50.00, 0, 0)");
+        replica.update("update tb_replica_lag set seconds = 60");
+
+        // ### ACT ###
+        routingDataSource.checkLag();
+
+        // ### ASSERT ###
+        Assertions.assertTrue(accountService.getByNumber(52349).isPresent());
+        Assertions.assertTrue(accountService.getByNumber(52350).isEmpty());
+    }
+
+    @Test
+    void deveriaVoltarAoPrincipalComAReplicaFora() {
+        // ### ARRANGE ###
+        accountRepository.save(new Account("Caio Costa", 52351, Money.ofUnits(100), 0));
+        replica.execute("drop table tb_replica_lag");
+
+        // ### ACT ###
+        routingDataSource.checkLag();
+
+        // ### ASSERT ###
+        Assertions.assertTrue(accountService.getByNumber(52351).isPresent());
+    }
+}
@@ -21,6 +21,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import br.edu.utfpr.bankapi.audit.AuditLog;
 import br.edu.utfpr.bankapi.dto.AccountDTO;
 import br.edu.utfpr.bankapi.dto.DepositDTO;
 import br.edu.utfpr.bankapi.dto.TransferDTO;
@@ -31,6 +32,7 @@ import br.edu.utfpr.bankapi.repository.AccountRepository;
 import br.edu.utfpr.bankapi.repository.TransactionRepository;
 import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
 import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+import br.edu.utfpr.bankapi.money.Money;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -40,6 +42,9 @@ public class AccountServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AuditLog auditLog;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -48,24 +53,26 @@ public class AccountServiceTest {
 
     @BeforeEach
     void setUp() {
-        account = new Account("John Doe", 12345, 500.00, 100.00);
-        account2 = new Account("Jane Doe", 67890, 1000.00, 200.00);
+        account = new Account("John Doe", 12345, Money.ofUnits(500), Money.ofUnits(100));
+        account2 = new Account("Jane Doe", 67890, Money.ofUnits(1000), Money.ofUnits(200));
     }
 
     @Test
     void deveriaAtualizarConta() throws Exception {
         // ### ARRANGE ###
         long id = 1L;
-        Account contaAtualizada = new Account("Jane Doe", 54321L, 100.0, 1000.0);
-        AccountDTO novaContaDTO = new AccountDTO("Jane Doe", 54321L, 100.0, 1000.0);
+        Account contaAtualizada = new Account("Jane Doe", 54321L, Money.ofUnits(100), Money.ofUnits(1000));
+        AccountDTO novaContaDTO = new AccountDTO("Jane Doe", 54321L, Money.ofUnits(100), Money.ofUnits(1000));
 
-        BDDMockito.given(accountRepository.findById(id)).willReturn(Optional.of(account));
-        BDDMockito.given(accountRepository.save(BDDMockito.any(Account.class))).willReturn(contaAtualizada);
+        BDDMockito.given(accountRepository.findById(id)).willReturn(Optional.of(account), Optional.of(contaAtualizada));
 
         // ### ACT ###
         Account resultado = accountService.update(id, novaContaDTO);
 
         // ### ASSERT ###
+        // O saldo não é gravado junto com os dados cadastrais
+        BDDMockito.then(accountRepository).should().updateDetails(id, "Jane Doe", 54321L, Money.ofUnits(1000));
+        BDDMockito.then(accountRepository).should(BDDMockito.never()).save(BDDMockito.any(Account.class));
         Assertions.assertNotNull(resultado);
         Assertions.assertEquals(novaContaDTO.name(), resultado.getName());
         Assertions.assertEquals(novaContaDTO.number(), resultado.getNumber());
@@ -76,7 +83,7 @@ public class AccountServiceTest {
     void deveriaLancarExcecaoQuandoContaNaoExistir() throws Exception{
         // ### ARRANGE ###
         long id = 999L;
-        AccountDTO novaContaDTO = new AccountDTO("Jane Doe", 54321L, 1000.00, 1000.0);
+        AccountDTO novaContaDTO = new AccountDTO("Jane Doe", 54321L, Money.ofUnits(1000), Money.ofUnits(1000));
 
         BDDMockito.given(accountRepository.findById(id)).willReturn(Optional.empty());
 
@@ -138,7 +145,7 @@ public class AccountServiceTest {
         accountEsperada.setName(accountDTO.name());
         accountEsperada.setNumber(accountDTO.number());
         accountEsperada.setSpecialLimit(accountDTO.specialLimit());
-        accountEsperada.setBalance(0.00);
+        accountEsperada.setBalance(0);
 
         BDDMockito.given(accountRepository.save(BDDMockito.any(Account.class))).willReturn(account);
 
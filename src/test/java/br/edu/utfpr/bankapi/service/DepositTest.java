@@ -11,14 +11,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import br.edu.utfpr.bankapi.audit.AuditLog;
 import br.edu.utfpr.bankapi.dto.DepositDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.model.Transaction;
 import br.edu.utfpr.bankapi.model.TransactionType;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
 import br.edu.utfpr.bankapi.repository.TransactionRepository;
 import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.money.Money;
 
 //@SpringBootTest
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +36,12 @@ class DepositTest {
 	@Mock
 	TransactionRepository transactionRepository;
 
+	@Mock
+	TransactionMetrics transactionMetrics;
+
+	@Mock
+	AuditLog auditLog;
+
 	@InjectMocks
 	TransactionService service;
 
@@ -56,9 +65,9 @@ class DepositTest {
 	@Test
 	void deveriaDepositar() throws NotFoundException {
 		// ### ARRANGE ###
-		double saldoInicial = 150.85;
+		long saldoInicial = Money.parse("150.85");
 
-		depositDTO = new DepositDTO(12345, 1000);
+		depositDTO = new DepositDTO(12345, Money.ofUnits(1000));
 		receiverAccount = new Account("John Smith", 12345, saldoInicial, 0);
 
 		// Comportamento do availableAccountValidation
@@ -1,6 +1,12 @@
 //TESTE 01
 package br.edu.utfpr.bankapi.service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -35,4 +41,49 @@ class InterestCalculatorTest {
 		Assertions.assertEquals(93.44, jurosPorMes);
 	}
 
+	@Test
+	void deveriaArredondarComoOBigDecimal() {
+		// ### ARRANGE ###
+		// Pontos médios exatos em binário, valores próximos deles e valores grandes
+		var valores = new ArrayList<Double>(List.of(0.125, -0.125, 0.375, 2.675, 1.005, 0.005,
+				-0.005, 0.0, -0.0, 1e-300, 22517998136852.485, 1e14 + 0.125));
+		var random = new Random(42);
+		for (int i = 0; i < 100_000; i++) {
+			valores.add((random.nextInt(2_000_000) - 1_000_000) / 1000.0);
+			valores.add((random.nextInt(1 << 20) + 0.5) / 100);
+			valores.add(random.nextDouble() * 1e9);
+		}
+
+		for (double valor : valores) {
+			// ### ACT ###
+			double arredondado = InterestCalculator.arredondar(valor);
+
+			// ### ASSERT ###
+			double esperado = new BigDecimal(valor).setScale(2, RoundingMode.HALF_EVEN).doubleValue();
+			Assertions.assertEquals(Double.doubleToRawLongBits(esperado), Double.doubleToRawLongBits(arredondado),
+					"valor " + valor);
+		}
+	}
+
+	@Test
+	void deveriaCalcularJurosEmLoteComoUmPorVez() {
+		// ### ARRANGE ###
+		var random = new Random(42);
+		double[] valores = new double[1000];
+		double[] juros = new double[valores.length];
+		for (int i = 0; i < valores.length; i++)
+			valores[i] = random.nextInt(10_000_000) / 100.0;
+
+		for (float taxa : new float[] { 0.05f, 1.5f, 12.3f }) {
+			for (int prazo : new int[] { 1, 30, 360 }) {
+				// ### ACT ###
+				InterestCalculator.calcularJuros(valores, taxa, prazo, juros);
+
+				// ### ASSERT ###
+				for (int i = 0; i < valores.length; i++)
+					Assertions.assertEquals(InterestCalculator.calcularJuros(valores[i], taxa, prazo), juros[i]);
+			}
+		}
+	}
+
 }
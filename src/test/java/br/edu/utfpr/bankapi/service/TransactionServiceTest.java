@@ -1,5 +1,10 @@
 package br.edu.utfpr.bankapi.service;
 
+import java.time.LocalDateTime;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,11 +16,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import br.edu.utfpr.bankapi.audit.AuditLog;
 import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.StatementEntryDTO;
+import br.edu.utfpr.bankapi.dto.TransferBatchMode;
 import br.edu.utfpr.bankapi.dto.TransferDTO;
 import br.edu.utfpr.bankapi.dto.WithdrawDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.model.Transaction;
 import br.edu.utfpr.bankapi.model.TransactionType;
@@ -23,6 +34,7 @@ import br.edu.utfpr.bankapi.repository.AccountRepository;
 import br.edu.utfpr.bankapi.repository.TransactionRepository;
 import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
 import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+import br.edu.utfpr.bankapi.money.Money;
 
 //@SpringBootTest
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +52,12 @@ class TransactionServiceTest {
 	@Mock
 	TransactionRepository transactionRepository;
 
+	@Mock
+	TransactionMetrics transactionMetrics;
+
+	@Mock
+	AuditLog auditLog;
+
 	@InjectMocks
 	TransactionService service;
 
@@ -66,9 +84,9 @@ class TransactionServiceTest {
 		// Garantir que a transação foi salva
 
 		// ### ARRANGE ###
-		double saldoInicial = 150.85;
+		long saldoInicial = Money.parse("150.85");
 
-		depositDTO = new DepositDTO(12345, 1000);
+		depositDTO = new DepositDTO(12345, Money.ofUnits(1000));
 		receiverAccount = new Account("John Smith", 12345, saldoInicial, 0);
 
 		// Comportamento do availableAccountValidation
@@ -107,9 +125,9 @@ class TransactionServiceTest {
 		// Garantir que a transação foi salva
 
 		// ### ARRANGE ###
-		double saldoInicial = 150.85;
+		long saldoInicial = Money.parse("150.85");
 
-		withdrawDTO = new WithdrawDTO(12345, 100);
+		withdrawDTO = new WithdrawDTO(12345, Money.ofUnits(100));
 		sourceAccount = new Account("John Smith", 12345, saldoInicial, 0);
 
 		// Comportamento do availableAccountValidation
@@ -145,9 +163,9 @@ class TransactionServiceTest {
 		// Garantir que a transação foi salva
 
 		// ### ARRANGE ###
-		double saldoInicialSource = 500.00;
-		double saldoInicialReceiver = 200.00;
-		double valorTransferencia = 150.00;
+		long saldoInicialSource = Money.ofUnits(500);
+		long saldoInicialReceiver = Money.ofUnits(200);
+		long valorTransferencia = Money.ofUnits(150);
 
 		transferDTO = new TransferDTO(12345, 777, valorTransferencia);
 
@@ -178,4 +196,185 @@ class TransactionServiceTest {
 		Assertions.assertEquals(saldoInicialReceiver + valorTransferencia, receiverAccount.getBalance());
 	}
 
-}
\ No newline at end of file
+	@Test
+	void deveriaIntercalarExtratoEmOrdemDeData() throws NotFoundException {
+		// ### ARRANGE ###
+		var conta = new Account("José", 12345, 500, 0);
+		conta.setId(1);
+		var inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+		var fim = inicio.plusDays(30);
+
+		var saque = new StatementEntryDTO(10, TransactionType.WITHDRAW, 50, inicio.plusDays(1), 12345L, null);
+		var propria = new StatementEntryDTO(11, TransactionType.TRANSFER, 20, inicio.plusDays(2), 12345L, 12345L);
+		var deposito = new StatementEntryDTO(12, TransactionType.DEPOSIT, 80, inicio.plusDays(3), null, 12345L);
+
+		BDDMockito.given(availableAccountValidation.validate(12345)).willReturn(conta);
+		BDDMockito.given(transactionRepository.findSentStatement(BDDMockito.eq(1L), BDDMockito.eq(inicio),
+				BDDMockito.eq(fim), BDDMockito.any(), BDDMockito.anyLong(), BDDMockito.any()))
+				.willReturn(List.of(saque, propria));
+		BDDMockito.given(transactionRepository.findReceivedStatement(BDDMockito.eq(1L), BDDMockito.eq(inicio),
+				BDDMockito.eq(fim), BDDMockito.any(), BDDMockito.anyLong(), BDDMockito.any()))
+				.willReturn(List.of(propria, deposito));
+
+		// ### ACT ###
+		var pagina = service.statement(12345, inicio, fim, null, 2);
+
+		// ### ASSERT ###
+		// A transferência para a própria conta aparece uma única vez
+		Assertions.assertEquals(List.of(saque, propria), pagina.items());
+		Assertions.assertNotNull(pagina.nextCursor());
+	}
+
+	@Test
+	void deveriaValidarLoteAtomicoPeloDebitoLiquido() {
+		// ### ARRANGE ###
+		// A conta 777 não tem saldo para a primeira transferência isolada, mas
+		// recebe no mesmo lote mais do que envia
+		sourceAccount = new Account("José", 12345, 500, 0);
+		receiverAccount = new Account("Juca Jones", 777, 0, 0);
+		var lote = List.of(new TransferDTO(777, 12345, 100), new TransferDTO(12345, 777, 150));
+
+		BDDMockito.given(accountRepository.findByNumberIn(BDDMockito.anyCollection()))
+				.willReturn(List.of(sourceAccount, receiverAccount));
+		BDDMockito.willCallRealMethod().given(availableBalanceValidation)
+				.validate(BDDMockito.any(Account.class), BDDMockito.anyLong());
+
+		// ### ACT ###
+		var resultado = service.transferBatch(lote, TransferBatchMode.ATOMIC);
+
+		// ### ASSERT ###
+		Assertions.assertTrue(resultado.committed());
+		Assertions.assertEquals(2, resultado.succeeded());
+		Assertions.assertEquals(450, sourceAccount.getBalance());
+		Assertions.assertEquals(50, receiverAccount.getBalance());
+		// Apenas o débito líquido da conta 12345 precisa ser validado
+		BDDMockito.then(availableBalanceValidation).should().validate(sourceAccount, 50);
+		BDDMockito.then(transactionRepository).should().saveAll(BDDMockito.anyList());
+	}
+
+	@Test
+	void deveriaCancelarLoteAtomicoComContaInexistente() {
+		// ### ARRANGE ###
+		sourceAccount = new Account("José", 12345, 500, 0);
+		var lote = List.of(new TransferDTO(12345, 888, 100));
+
+		BDDMockito.given(accountRepository.findByNumberIn(BDDMockito.anyCollection()))
+				.willReturn(List.of(sourceAccount));
+
+		// ### ACT ###
+		var resultado = service.transferBatch(lote, TransferBatchMode.ATOMIC);
+
+		// ### ASSERT ###
+		Assertions.assertFalse(resultado.committed());
+		Assertions.assertEquals("Conta 888 inexistente", resultado.items().get(0).error());
+		Assertions.assertEquals(500, sourceAccount.getBalance());
+		BDDMockito.then(transactionRepository).shouldHaveNoInteractions();
+	}
+
+	@Test
+	void deveriaTravarAsContasDoLote() {
+		// ### ARRANGE ###
+		sourceAccount = new Account("José", 12345, 500, 0);
+		receiverAccount = new Account("Juca Jones", 777, 0, 0);
+		var lote = List.of(new TransferDTO(12345, 777, 100));
+
+		BDDMockito.given(accountRepository.findForUpdateByNumberIn(BDDMockito.anyCollection()))
+				.willReturn(List.of(sourceAccount, receiverAccount));
+
+		// ### ACT ###
+		var resultado = service.transferBatch(lote, TransferBatchMode.ATOMIC, true);
+
+		// ### ASSERT ###
+		Assertions.assertTrue(resultado.committed());
+		Assertions.assertEquals(400, sourceAccount.getBalance());
+		Assertions.assertEquals(100, receiverAccount.getBalance());
+		BDDMockito.then(accountRepository).should(BDDMockito.never()).findByNumberIn(BDDMockito.anyCollection());
+	}
+
+	@Test
+	void deveriaTransferirComUpdateCondicional() throws NotFoundException {
+		// ### ARRANGE ###
+		ReflectionTestUtils.setField(service, "conditionalUpdate", true);
+		var valor = Money.toBigDecimal(Money.ofUnits(150));
+		transferDTO = new TransferDTO(12345, 777, Money.ofUnits(150));
+		sourceAccount = new Account("José", 12345, Money.ofUnits(350), 0);
+		receiverAccount = new Account("Juca Jones", 777, Money.ofUnits(350), 0);
+
+		BDDMockito.given(accountRepository.debit(12345, valor)).willReturn(updated(sourceAccount));
+		BDDMockito.given(accountRepository.credit(777, valor)).willReturn(updated(receiverAccount));
+
+		// ### ACT ###
+		service.transfer(transferDTO);
+
+		// ### ASSERT ###
+		BDDMockito.then(transactionRepository).should().save(transactionCaptor.capture());
+		Assertions.assertEquals(sourceAccount, transactionCaptor.getValue().getSourceAccount());
+		Assertions.assertEquals(receiverAccount, transactionCaptor.getValue().getReceiverAccount());
+		// O saldo é verificado e as contas devolvidas pelo próprio UPDATE
+		BDDMockito.then(accountRepository).shouldHaveNoMoreInteractions();
+		BDDMockito.then(availableAccountValidation).shouldHaveNoInteractions();
+		BDDMockito.then(availableBalanceValidation).shouldHaveNoInteractions();
+	}
+
+	@Test
+	void deveriaRecusarSaqueSemSaldoComUpdateCondicional() {
+		// ### ARRANGE ###
+		ReflectionTestUtils.setField(service, "conditionalUpdate", true);
+		withdrawDTO = new WithdrawDTO(12345, Money.ofUnits(150));
+
+		BDDMockito.given(accountRepository.debit(12345, Money.toBigDecimal(Money.ofUnits(150))))
+				.willReturn(Optional.empty());
+		BDDMockito.given(accountRepository.existsByNumber(12345)).willReturn(true);
+
+		// ### ACT & ASSERT ###
+		Assertions.assertThrows(WithoutBalanceException.class, () -> service.withdraw(withdrawDTO));
+		BDDMockito.then(transactionRepository).shouldHaveNoInteractions();
+	}
+
+	@Test
+	void deveriaDesfazerDebitoComContaDestinoInexistente() {
+		// ### ARRANGE ###
+		ReflectionTestUtils.setField(service, "conditionalUpdate", true);
+		var valor = Money.toBigDecimal(Money.ofUnits(150));
+		transferDTO = new TransferDTO(12345, 888, Money.ofUnits(150));
+
+		BDDMockito.given(accountRepository.debit(12345, valor)).willReturn(updated(new Account("José", 12345, 0, 0)));
+		BDDMockito.given(accountRepository.credit(888, valor)).willReturn(Optional.empty());
+
+		// ### ACT & ASSERT ###
+		Assertions.assertThrows(NotFoundException.class, () -> service.transfer(transferDTO));
+		BDDMockito.then(accountRepository).should().credit(12345, valor);
+		BDDMockito.then(transactionRepository).shouldHaveNoInteractions();
+	}
+
+	/**
+	 * Conta como devolvida pelo RETURNING de um UPDATE condicional.
+	 */
+	private static Optional<AccountRepository.UpdatedAccount> updated(Account account) {
+		return Optional.of(new AccountRepository.UpdatedAccount() {
+			public long getId() {
+				return account.getId();
+			}
+
+			public String getName() {
+				return account.getName();
+			}
+
+			public long getNumber() {
+				return account.getNumber();
+			}
+
+			public BigDecimal getBalance() {
+				return Money.toBigDecimal(account.getBalance());
+			}
+
+			public BigDecimal getSpecialLimit() {
+				return Money.toBigDecimal(account.getSpecialLimit());
+			}
+
+			public long getVersion() {
+				return account.getVersion();
+			}
+		});
+	}
+}
@@ -0,0 +1,67 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ShardRouterTest {
+
+    ShardRouter router = new ShardRouter(List.of("jdbc:h2:mem:a", "jdbc:h2:mem:b", "jdbc:h2:mem:c", "jdbc:h2:mem:d"));
+
+    @Test
+    void deveriaDistribuirNumerosSequenciaisEntreOsShards() {
+        // ### ACT ###
+        var counts = new int[router.shards()];
+        for (long number = 10_000; number < 50_000; number++)
+            counts[router.shardOf(number)]++;
+
+        // ### ASSERT ###
+        for (int count : counts)
+            Assertions.assertTrue(Math.abs(count - 10_000) < 500, "Shard com " + count + " contas");
+        Assertions.assertEquals(router.shardOf(12347), router.shardOf(12347));
+    }
+
+    @Test
+    void deveriaUsarUmUnicoShardSemUrls() {
+        // ### ARRANGE ###
+        var single = new ShardRouter(List.of());
+
+        // ### ACT ###
+        var shard = single.shardOf(List.of(12347L, 12348L, 99999L));
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1, single.shards());
+        Assertions.assertEquals(0, shard);
+    }
+
+    @Test
+    void deveriaRestaurarOShardAnterior() {
+        // ### ACT ###
+        var shards = router.on(2, () -> List.of(ShardRouter.current(), router.on(3, ShardRouter::current),
+                ShardRouter.current()));
+
+        // ### ASSERT ###
+        Assertions.assertEquals(List.of(2, 3, 2), shards);
+        Assertions.assertEquals(0, ShardRouter.current());
+        Assertions.assertEquals(List.of(0, 1, 2, 3), router.each(ShardRouter::current));
+    }
+
+    @Test
+    void naoDeveriaTrocarDeShardDentroDeUmaTransacao() {
+        // ### ARRANGE ###
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        try {
+            // ### ACT ###
+            var sameShard = router.on(0, () -> "ok");
+
+            // ### ASSERT ###
+            Assertions.assertEquals("ok", sameShard);
+            Assertions.assertThrows(IllegalStateException.class, () -> router.on(1, () -> "erro"));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package br.edu.utfpr.bankapi.shard;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import br.edu.utfpr.bankapi.model.ShardTransfer;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.ShardTransferRepository;
+
+/**
+ * Contas e transações distribuídas em dois shards, cada um num H2 em memória.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ShardingTest.SHARD_0,
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never",
+        "bankapi.sharding.urls=" + ShardingTest.SHARD_0 + "," + ShardingTest.SHARD_1,
+        "bankapi.sharding.relay-interval=PT1H" })
+@AutoConfigureMockMvc
+class ShardingTest {
+
+    static final String SHARD_0 = "jdbc:h2:mem:sharding-0;DB_CLOSE_DELAY=-1";
+
+    static final String SHARD_1 = "jdbc:h2:mem:sharding-1;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    ShardRouter router;
+
+    @Autowired
+    ShardTransfers shardTransfers;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    ShardTransferRepository shardTransferRepository;
+
+    @Test
+    void deveriaGravarCadaContaNoShardDoNumero() throws Exception {
+        // ### ARRANGE ###
+        long number = number(0, 72000);
+        long number2 = number(1, 72000);
+
+        // ### ACT ###
+        create(number);
+        create(number2);
+
+        // ### ASSERT ###
+        Assertions.assertEquals(1, count(SHARD_0, number));
+        Assertions.assertEquals(0, count(SHARD_1, number));
+        Assertions.assertEquals(0, count(SHARD_0, number2));
+        Assertions.assertEquals(1, count(SHARD_1, number2));
+        Assertions.assertEquals(200, get("/account/" + number2).getStatus());
+
+        var all = get("/account").getContentAsString();
+        Assertions.assertTrue(all.contains("\"number\":" + number + ","));
+        Assertions.assertTrue(all.contains("\"number\":" + number2 + ","));
+
+        // Ids das contas não se repetem entre os shards
+        Assertions.assertTrue(id(SHARD_0, number) != id(SHARD_1, number2));
+    }
+
+    @Test
+    void deveriaTransferirEntreShards() throws Exception {
+        // ### ARRANGE ###
+        long source = number(0, 73000);
+        long receiver = number(1, 73000);
+        create(source);
+        create(receiver);
+        post("/transaction/deposit", "{\"receiverAccountNumber\": " + source + ", \"amount\": 1000.00}");
+
+        // ### ACT ###
+        var res = post("/transaction/transfer", "{\"sourceAccountNumber\": " + source
+                + ", \"receiverAccountNumber\": " + receiver + ", \"amount\": 300.00}");
+
+        // ### ASSERT ###
+        Assertions.assertEquals(201, res.getStatus());
+        Assertions.assertEquals(Money.ofUnits(700), balance(source));
+        Assertions.assertEquals(Money.ofUnits(300), balance(receiver));
+        Assertions.assertEquals("COMPLETED", transferStatus(SHARD_0, source));
+        Assertions.assertEquals("RECEIVED", transferStatus(SHARD_1, source));
+    }
+
+    @Test
+    void deveriaEntregarUmaUnicaVezAsTransferenciasPendentes() throws Exception {
+        // ### ARRANGE ###
+        long source = number(1, 74000);
+        long receiver = number(0, 74000);
+        create(source);
+        create(receiver);
+        pending(source, receiver);
+
+        // ### ACT ###
+        shardTransfers.relay();
+        shardTransfers.relay();
+
+        // ### ASSERT ###
+        Assertions.assertEquals(Money.ofUnits(50), balance(receiver));
+        Assertions.assertEquals("COMPLETED", transferStatus(SHARD_1, source));
+    }
+
+    @Test
+    void deveriaEstornarATransferenciaParaContaInexistente() throws Exception {
+        // ### ARRANGE ###
+        long source = number(0, 75000);
+        long receiver = number(1, 75000);
+        create(source);
+        pending(source, receiver);
+
+        // ### ACT ###
+        shardTransfers.relay();
+
+        // ### ASSERT ###
+        Assertions.assertEquals(Money.ofUnits(50), balance(source));
+        Assertions.assertEquals("COMPENSATED", transferStatus(SHARD_0, source));
+        Assertions.assertEquals(1, new JdbcTemplate(dataSource(SHARD_0)).queryForObject(
+                "select count(*) from tb_transaction where type = 'REVERSAL'", Integer.class));
+        // A recusa fica no shard de destino: criada a conta, uma nova entrega (como
+        // se o estorno não tivesse sido confirmado) não credita o valor
+        Assertions.assertEquals("REJECTED", transferStatus(SHARD_1, source));
+        create(receiver);
+        router.route(source, () -> shardTransferRepository.findById(transferId(SHARD_0, source)).map(outbox -> {
+            outbox.setStatus(ShardTransfer.Status.PENDING);
+            return shardTransferRepository.save(outbox);
+        }));
+        shardTransfers.relay();
+        Assertions.assertEquals(0, balance(receiver));
+    }
+
+    @Test
+    void deveriaRecusarTrocaDeNumeroParaOutroShard() throws Exception {
+        // ### ARRANGE ###
+        long number = number(0, 77000);
+        long otherShard = number(1, 77000);
+        create(number);
+        long id = id(SHARD_0, number);
+
+        // ### ACT ###
+        var res = mvc.perform(MockMvcRequestBuilders.put("/account/" + id)
+                .content("{\"name\": \"Conta\", \"number\": " + otherShard + ", \"specialLimit\": 0}")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ### ASSERT ###
+        Assertions.assertEquals(400, res.getStatus());
+        Assertions.assertEquals(1, count(SHARD_0, number));
+    }
+
+    @Test
+    void deveriaRecusarLoteAtomicoEntreShards() throws Exception {
+        // ### ARRANGE ###
+        long source = number(0, 76000);
+        long receiver = number(1, 76000);
+        create(source);
+        create(receiver);
+
+        // ### ACT ###
+        var res = post("/transaction/transfer/batch", "{\"mode\": \"ATOMIC\", \"transfers\": [{\"sourceAccountNumber\": "
+                + source + ", \"receiverAccountNumber\": " + receiver + ", \"amount\": 1.00}]}");
+
+        // ### ASSERT ###
+        Assertions.assertEquals(400, res.getStatus());
+    }
+
+    /**
+     * Outbox pendente de 50,00 sem o débito correspondente, como se a entrega
+     * tivesse falhado logo após o débito.
+     */
+    private void pending(long source, long receiver) {
+        router.route(source, () -> shardTransferRepository.save(new ShardTransfer(UUID.randomUUID().toString(),
+                source, receiver, Money.ofUnits(50), ShardTransfer.Status.PENDING)));
+    }
+
+    /**
+     * Primeiro número a partir de {@code from} que fica no shard informado.
+     */
+    private long number(int shard, long from) {
+        long number = from;
+        while (router.shardOf(number) != shard)
+            number++;
+        return number;
+    }
+
+    private long balance(long number) {
+        return router.route(number, () -> accountRepository.getByNumber(number).orElseThrow().getBalance());
+    }
+
+    private static int count(String url, long number) {
+        return new JdbcTemplate(dataSource(url)).queryForObject(
+                "select count(*) from tb_account where number = ?", Integer.class, number);
+    }
+
+    private static long id(String url, long number) {
+        return new JdbcTemplate(dataSource(url)).queryForObject(
+                "select id from tb_account where number = ?", Long.class, number);
+    }
+
+    private static String transferStatus(String url, long source) {
+        return new JdbcTemplate(dataSource(url)).queryForObject(
+                "select status from tb_shard_transfer where source_account_number = ?", String.class, source);
+    }
+
+    private static String transferId(String url, long source) {
+        return new JdbcTemplate(dataSource(url)).queryForObject(
+                "select id from tb_shard_transfer where source_account_number = ?", String.class, source);
+    }
+
+    private static DriverManagerDataSource dataSource(String url) {
+        return new DriverManagerDataSource(url, "sa", "");
+    }
+
+    private void create(long number) throws Exception {
+        var res = post("/account", "{\"name\": \"Conta " + number + "\", \"number\": " + number
+                + ", \"specialLimit\": 0}");
+        Assertions.assertEquals(201, res.getStatus());
+    }
+
+    private org.springframework.mock.web.MockHttpServletResponse post(String path, String json) throws Exception {
+        return mvc.perform(MockMvcRequestBuilders.post(path).content(json).contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+    }
+
+    private org.springframework.mock.web.MockHttpServletResponse get(String path) throws Exception {
+        return mvc.perform(MockMvcRequestBuilders.get(path)).andReturn().getResponse();
+    }
+}
@@ -15,6 +15,7 @@ import org.mockito.MockitoAnnotations;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.money.Money;
 
 class AvailableAccountValidationTest {
 
@@ -35,8 +36,8 @@ class AvailableAccountValidationTest {
         account.setId(1L);
         account.setName("John Doe");
         account.setNumber(12345L);
-        account.setBalance(1000.0);
-        account.setSpecialLimit(500.0);
+        account.setBalance(Money.ofUnits(1000));
+        account.setSpecialLimit(Money.ofUnits(500));
     }
 
     @Test
@@ -11,6 +11,7 @@ import org.mockito.*;
 import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.money.Money;
 
 class AvailableBalanceValidationTest {
 
@@ -31,13 +32,13 @@ class AvailableBalanceValidationTest {
         sourceAccount.setId(1L);
         sourceAccount.setName("John Doe");
         sourceAccount.setNumber(12345L);
-        sourceAccount.setBalance(1000.0);
-        sourceAccount.setSpecialLimit(500.0);
+        sourceAccount.setBalance(Money.ofUnits(1000));
+        sourceAccount.setSpecialLimit(Money.ofUnits(500));
 
         // Inicializa a transação
         transaction = new Transaction();
         transaction.setSourceAccount(sourceAccount);
-        transaction.setAmount(500.0);
+        transaction.setAmount(Money.ofUnits(500));
     }
 
     @Test
@@ -49,7 +50,7 @@ class AvailableBalanceValidationTest {
     @Test
     void deveriaLancarExcecaoQuandoSaldoInsuficiente() {
         // Alterar o saldo para que a transação exceda o limite
-        transaction.setAmount(1600.0); // Valor maior que o saldo com limite
+        transaction.setAmount(Money.ofUnits(1600)); // Valor maior que o saldo com limite
 
         // ### ACT & ASSERT ###
         WithoutBalanceException exception = assertThrows(WithoutBalanceException.class, 
@@ -57,4 +58,12 @@ class AvailableBalanceValidationTest {
 
         assertNotNull(exception);
     }
+
+    @Test
+    void deveriaValidarDebitoDiretoNaConta() {
+        // ### ACT & ASSERT ###
+        assertDoesNotThrow(() -> availableBalanceValidation.validate(sourceAccount, Money.parse("1500.00")));
+        assertThrows(WithoutBalanceException.class,
+                () -> availableBalanceValidation.validate(sourceAccount, Money.parse("1500.01")));
+    }
 }
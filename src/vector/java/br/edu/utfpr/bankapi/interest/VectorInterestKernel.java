@@ -0,0 +1,51 @@
+package br.edu.utfpr.bankapi.interest;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel sobre a Vector API (incubadora): várias posições por instrução,
+ * conforme a largura dos registradores da máquina. Compilado apenas com o
+ * perfil {@code vector}.
+ *
+ * A Vector API não tem arredondamento para o inteiro mais próximo; abaixo de
+ * 2^52 ele é obtido somando e subtraindo 2^52, que arredonda pelo critério do
+ * banqueiro como {@link Math#rint}. Acima disso todo double já é inteiro.
+ */
+public class VectorInterestKernel implements InterestKernel {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    private static final double TWO_52 = 0x1p52;
+
+    @Override
+    public void accrue(long[] balances, long[] interest, int length, double factor) {
+        int i = 0;
+        for (int bound = LONGS.loopBound(length); i < bound; i += LONGS.length()) {
+            var balance = (DoubleVector) LongVector.fromArray(LONGS, balances, i)
+                    .convert(VectorOperators.L2D, 0);
+            var juros = balance.mul(factor).sub(balance);
+
+            var abs = juros.abs();
+            var rounded = abs.add(TWO_52).sub(TWO_52)
+                    .blend(abs, abs.compare(VectorOperators.GE, TWO_52));
+            rounded = rounded.blend(rounded.neg(), juros.compare(VectorOperators.LT, 0))
+                    .blend(0, balance.compare(VectorOperators.LE, 0));
+
+            rounded.convert(VectorOperators.D2L, 0).reinterpretAsLongs().intoArray(interest, i);
+        }
+        for (; i < length; i++) {
+            long balance = balances[i];
+            interest[i] = balance > 0 ? (long) Math.rint(balance * factor - balance) : 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "vector(" + DOUBLES.length() + ")";
+    }
+}